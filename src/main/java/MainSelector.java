@@ -1,6 +1,8 @@
 import tool.urlChecker.UrlChecker;
 import tool.whiteLabel.WhiteLabelTool;
 
+import java.util.Arrays;
+
 public class MainSelector {
 	public static void main(String[] args) {
 		if (args.length == 0) {
@@ -12,14 +14,14 @@ public class MainSelector {
 		
 		switch (option.toUpperCase()) {
 			case "A":
-				if (args.length != 2) {
+				if (args.length < 2) {
 					System.out.println("MainSelector A, 需有第二個參數指定檔案");
 					return;
 				}
-				WhiteLabelTool.main(new String[]{args[1]}); // 可傳遞額外參數
+				WhiteLabelTool.main(Arrays.copyOfRange(args, 1, args.length)); // 可傳遞額外參數（如 --no-cache）
 				break;
 			case "B":
-				UrlChecker.main(new String[]{});
+				UrlChecker.main(Arrays.copyOfRange(args, 1, args.length)); // 可傳遞額外參數（如 --monitor）
 				break;
 			default:
 				System.out.println("未知選項: " + option);
@@ -2,6 +2,7 @@ package tool.http;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.*;
+import util.Console;
 
 import java.io.File;
 import java.io.IOException;
@@ -77,7 +78,6 @@ public class HttpClient {
 				.get()
 				.build();
 
-		System.out.println("GET " + url);
 		return executeRequest(request);
 	}
 
@@ -101,7 +101,6 @@ public class HttpClient {
 				.post(body)
 				.build();
 
-		System.out.println("POST " + url);
 		return executeRequest(request);
 	}
 
@@ -120,9 +119,11 @@ public class HttpClient {
 
 	/**
 	 * 執行 HTTP 請求並包裝回應
+	 * 每個請求完成後輸出一行（方法、URL 與結果），多個 thread 同時呼叫時各請求的日誌不會拆開或交錯
 	 */
 	private HttpResponse executeRequest(Request request) throws IOException {
 		long startTime = System.currentTimeMillis();
+		String target = request.method() + " " + request.url();
 
 		try (Response response = client.newCall(request).execute()) {
 			long duration = System.currentTimeMillis() - startTime;
@@ -138,12 +139,15 @@ public class HttpClient {
 
 			// 輸出結果，模仿 UrlChecker.java 的風格
 			if (response.isSuccessful()) {
-				System.out.println("✅ [OK] " + response.code() + " (" + duration + "ms)");
+				Console.out().println(target + " ... ✅ [OK] " + response.code() + " (" + duration + "ms)");
 			} else {
-				System.err.println("❌ [FAILED] " + response.code() + " " + response.message() + " (" + duration + "ms)");
+				Console.err().println(target + " ... ❌ [FAILED] " + response.code() + " " + response.message() + " (" + duration + "ms)");
 			}
 
 			return httpResponse;
+		} catch (IOException e) {
+			Console.err().println(target + " ... ❌ [ERROR] " + e.getMessage() + " (" + (System.currentTimeMillis() - startTime) + "ms)");
+			throw e;
 		}
 	}
 
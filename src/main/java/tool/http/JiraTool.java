@@ -1,6 +1,8 @@
 package tool.http;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import util.Console;
+import util.TaskExecutors;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -11,6 +13,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Jira Tool - CLI 範例工具
@@ -18,6 +22,8 @@ import java.util.Map;
  */
 public class JiraTool {
 
+	private static final int BULK_CONCURRENCY = 8;
+
 	public static void main(String[] args) {
 		// 處理 help 參數
 		if (args.length == 0 || "--help".equals(args[0]) || "-h".equals(args[0])) {
@@ -28,6 +34,8 @@ public class JiraTool {
 		try {
 			// Set up UTF-8 encoding for console output (Java 8 compatible)
 			System.setOut(new PrintStream(System.out, true, "UTF-8"));
+			// HttpClient 的請求日誌與其餘輸出經由同一個 console-writer 依序寫出
+			Console.install();
 
 			// 解析 testMode 參數
 			boolean testMode = false;
@@ -108,12 +116,42 @@ public class JiraTool {
 		String issueKey = args[1];
 		Map<String, String> queryParams = new HashMap<>();
 		queryParams.put("fields", "id,key,assignee,fixVersions,status,customfield_10072,customfield_10037,comment,description,summary");
+		if (issueKey.contains(",")) {
+			handleGetIssues(jira, issueKey.split(","), queryParams);
+			return;
+		}
 		JsonNode issue = jira.getIssue(issueKey, queryParams);
 
 		// 直接輸出完整 JSON response（已格式化）
 		System.out.println(issue.toPrettyString());
 	}
 
+	/**
+	 * 同時取得多個 issue，依輸入順序輸出；單一 issue 失敗不影響其他 issue
+	 */
+	private static void handleGetIssues(JiraClient jira, String[] issueKeys, Map<String, String> queryParams) {
+		ExecutorService executor = TaskExecutors.newBlockingExecutor("jira", BULK_CONCURRENCY);
+		try {
+			List<CompletableFuture<String>> futures = new ArrayList<>();
+			for (String key : issueKeys) {
+				String issueKey = key.trim();
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return jira.getIssue(issueKey, queryParams).toPrettyString();
+					} catch (IOException e) {
+						return "❌ Failed to get issue " + issueKey + ": " + e.getMessage();
+					}
+				}, executor));
+			}
+			for (int i = 0; i < issueKeys.length; i++) {
+				System.out.println("=== " + issueKeys[i].trim() + " ===");
+				System.out.println(futures.get(i).join());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private static List<String> handleGetComments(JiraClient jira, String[] args) throws Exception {
 		if (args.length < 2) {
 			System.err.println("Usage: JiraTool get-comments <issueKey>");
@@ -494,9 +532,11 @@ public class JiraTool {
 		System.out.println("\nAvailable Commands:");
 		System.out.println();
 
-		System.out.println("  get-issue <issueKey>");
+		System.out.println("  get-issue <issueKey>[,<issueKey>...]");
 		System.out.println("      Retrieve detailed information of the specified issue (JSON format)");
+		System.out.println("      Multiple comma-separated keys are fetched concurrently");
 		System.out.println("      Example: java -jar JiraTool.jar get-issue PROJ-123");
+		System.out.println("      Example: java -jar JiraTool.jar get-issue PROJ-123,PROJ-124");
 		System.out.println();
 
 		System.out.println("  get-comments <issueKey>");
@@ -0,0 +1,73 @@
+package tool.urlChecker;
+
+/**
+ * AIMD 同時檢查數上限
+ * 每完成一筆健康的檢查上限增加 1 / limit（約每輪增加 1）；最近 WINDOW 筆中錯誤或過慢的比例超過 CONGESTED_RATIO 時上限乘以 DECREASE，
+ * 之後重新累計 WINDOW 筆才會再次下修，避免同一波失敗連續砍半。
+ * 錯誤指沒有 HTTP 回應，或 429 / 503；過慢指耗時超過 slowMs。
+ */
+public class AdaptiveLimit {
+
+	static final int WINDOW = 32;
+	static final double CONGESTED_RATIO = 0.3;
+	static final double DECREASE = 0.7;
+
+	private final int min;
+	private final int max;
+	private final long slowMs;
+	private double limit;
+	private int inFlight;
+	private int samples;
+	private int congested;
+
+	public AdaptiveLimit(int initial, int min, int max, long slowMs) {
+		this.min = Math.max(1, min);
+		this.max = Math.max(this.min, max);
+		this.slowMs = slowMs;
+		this.limit = Math.max(this.min, Math.min(this.max, initial));
+	}
+
+	/**
+	 * 等到進行中的檢查數低於目前上限
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (inFlight >= (int) limit) {
+			wait();
+		}
+		inFlight++;
+	}
+
+	/**
+	 * 一筆檢查完成，依結果調整上限
+	 */
+	public synchronized void release(CheckResult result) {
+		inFlight--;
+		samples++;
+		if (isCongested(result)) {
+			congested++;
+		} else {
+			limit = Math.min(max, limit + 1.0 / limit);
+		}
+		if (samples >= WINDOW) {
+			if (congested > samples * CONGESTED_RATIO) {
+				limit = Math.max(min, limit * DECREASE);
+			}
+			samples = 0;
+			congested = 0;
+		}
+		notifyAll();
+	}
+
+	private boolean isCongested(CheckResult result) {
+		int code = result.getStatusCode();
+		return code < 0 || code == 429 || code == 503 || result.getElapsedMs() > slowMs;
+	}
+
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	public int getMax() {
+		return max;
+	}
+}
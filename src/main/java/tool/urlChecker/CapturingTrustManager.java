@@ -0,0 +1,131 @@
+package tool.urlChecker;
+
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+/**
+ * 包裝 JDK 預設的 TrustManager，驗證前先記下伺服器送出的憑證鏈
+ * 憑證過期或主機名稱不符導致握手失敗時仍可取得憑證資訊。阻塞式 SSLSocket 在呼叫 startHandshake 的 thread 上驗證，
+ * 以 ThreadLocal 保存，由同一 thread 以 take 取出。
+ */
+class CapturingTrustManager extends X509ExtendedTrustManager {
+
+	private final X509ExtendedTrustManager delegate;
+	private final ThreadLocal<X509Certificate[]> captured = new ThreadLocal<>();
+	/**
+	 * 送出憑證鏈的 host，跟隨轉址時呼叫端不一定知道最後連線的 host
+	 */
+	private final ThreadLocal<String> capturedHost = new ThreadLocal<>();
+
+	CapturingTrustManager() throws GeneralSecurityException {
+		TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		factory.init((KeyStore) null);
+		X509ExtendedTrustManager found = null;
+		for (TrustManager trustManager : factory.getTrustManagers()) {
+			if (trustManager instanceof X509ExtendedTrustManager) {
+				found = (X509ExtendedTrustManager) trustManager;
+				break;
+			}
+		}
+		if (found == null) {
+			throw new GeneralSecurityException("No X509ExtendedTrustManager available");
+		}
+		this.delegate = found;
+	}
+
+	/**
+	 * 以此 TrustManager 建立的 TLS context
+	 */
+	SSLContext newSslContext() throws GeneralSecurityException {
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(null, new TrustManager[]{this}, null);
+		return context;
+	}
+
+	/**
+	 * 取出並清除此 thread 最近一次記下的憑證鏈，沒有時回傳 null
+	 */
+	X509Certificate[] take() {
+		X509Certificate[] chain = captured.get();
+		captured.remove();
+		capturedHost.remove();
+		return chain;
+	}
+
+	/**
+	 * 取出並清除此 thread 最近一次記下的憑證，以握手時的 host 判斷 SAN；握手未提供 host 時使用 fallbackHost
+	 */
+	CertInfo takeCert(String fallbackHost) {
+		String host = capturedHost.get();
+		return CertInfo.of(take(), host != null ? host : fallbackHost);
+	}
+
+	/**
+	 * 恢復先前的 session 時不會重新驗證憑證，改由呼叫端從 session 補上
+	 */
+	void capture(X509Certificate[] chain) {
+		captured.set(chain);
+		capturedHost.remove();
+	}
+
+	@Override
+	public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {
+		capture(chain);
+		if (socket instanceof SSLSocket) {
+			capturePeerHost(((SSLSocket) socket).getHandshakeSession());
+		}
+		delegate.checkServerTrusted(chain, authType, socket);
+	}
+
+	@Override
+	public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {
+		capture(chain);
+		if (engine != null) {
+			capturePeerHost(engine.getHandshakeSession());
+		}
+		delegate.checkServerTrusted(chain, authType, engine);
+	}
+
+	private void capturePeerHost(SSLSession session) {
+		if (session != null && session.getPeerHost() != null) {
+			capturedHost.set(session.getPeerHost());
+		}
+	}
+
+	@Override
+	public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+		capture(chain);
+		delegate.checkServerTrusted(chain, authType);
+	}
+
+	@Override
+	public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {
+		delegate.checkClientTrusted(chain, authType, socket);
+	}
+
+	@Override
+	public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {
+		delegate.checkClientTrusted(chain, authType, engine);
+	}
+
+	@Override
+	public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+		delegate.checkClientTrusted(chain, authType);
+	}
+
+	@Override
+	public X509Certificate[] getAcceptedIssuers() {
+		return delegate.getAcceptedIssuers();
+	}
+}
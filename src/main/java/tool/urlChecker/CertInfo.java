@@ -0,0 +1,154 @@
+package tool.urlChecker;
+
+import lombok.Getter;
+
+import java.security.cert.Certificate;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+
+/**
+ * 檢查時 TLS 握手取得的伺服器憑證摘要（只看 leaf 憑證），不另外建立連線
+ */
+@Getter
+public class CertInfo {
+
+	private static final int SAN_DNS = 2;
+	private static final int SAN_IP = 7;
+
+	/**
+	 * 實際握手的 host（跟隨轉址時為最後一個 host，可能與檢查的 URL 不同）
+	 */
+	private final String host;
+	private final String subject;
+	private final String issuer;
+	/**
+	 * 到期時間，epoch 毫秒
+	 */
+	private final long notAfter;
+	private final List<String> sans;
+	/**
+	 * SAN（沒有 DNS SAN 時為 CN）是否涵蓋握手的 host
+	 */
+	private final boolean hostMatch;
+	private final int chainLength;
+
+	CertInfo(String host, String subject, String issuer, long notAfter, List<String> sans, boolean hostMatch, int chainLength) {
+		this.host = host;
+		this.subject = subject;
+		this.issuer = issuer;
+		this.notAfter = notAfter;
+		this.sans = sans;
+		this.hostMatch = hostMatch;
+		this.chainLength = chainLength;
+	}
+
+	/**
+	 * chain 為伺服器送出的憑證鏈，第一張為 leaf；chain 為空時回傳 null
+	 *
+	 * @param host 送出這個憑證鏈的 host
+	 */
+	public static CertInfo of(X509Certificate[] chain, String host) {
+		if (chain == null || chain.length == 0) {
+			return null;
+		}
+		X509Certificate leaf = chain[0];
+		String subject = commonName(leaf.getSubjectX500Principal().getName());
+		List<String> sans = subjectAltNames(leaf);
+		boolean hostMatch = sans.isEmpty() ? matches(host, subject) : matchesAny(host, sans);
+		return new CertInfo(host, subject, commonName(leaf.getIssuerX500Principal().getName()), leaf.getNotAfter().getTime(), sans, hostMatch,
+			chain.length);
+	}
+
+	/**
+	 * 只保留 X.509 憑證（SSLSession / OkHttp Handshake 回傳的型別為 Certificate）
+	 */
+	static X509Certificate[] x509(Certificate[] certs) {
+		List<X509Certificate> x509 = new ArrayList<>();
+		if (certs != null) {
+			for (Certificate cert : certs) {
+				if (cert instanceof X509Certificate) {
+					x509.add((X509Certificate) cert);
+				}
+			}
+		}
+		return x509.toArray(new X509Certificate[0]);
+	}
+
+	/**
+	 * 距離到期的天數（無條件捨去），已過期為負數
+	 */
+	public long daysToExpiry(long now) {
+		return Math.floorDiv(notAfter - now, TimeUnit.DAYS.toMillis(1));
+	}
+
+	static boolean matchesAny(String host, List<String> names) {
+		for (String name : names) {
+			if (matches(host, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 萬用字元只能在最左段且只涵蓋一層（*.abc.com 涵蓋 www.abc.com，不涵蓋 abc.com 與 a.b.abc.com）
+	 */
+	static boolean matches(String host, String name) {
+		if (name == null) {
+			return false;
+		}
+		String h = host.toLowerCase(Locale.ROOT);
+		String n = name.toLowerCase(Locale.ROOT);
+		if (!n.startsWith("*.")) {
+			return h.equals(n);
+		}
+		int dot = h.indexOf('.');
+		return dot > 0 && h.substring(dot + 1).equals(n.substring(2));
+	}
+
+	private static List<String> subjectAltNames(X509Certificate cert) {
+		Collection<List<?>> entries;
+		try {
+			entries = cert.getSubjectAlternativeNames();
+		} catch (CertificateParsingException e) {
+			return Collections.emptyList();
+		}
+		if (entries == null) {
+			return Collections.emptyList();
+		}
+		List<String> names = new ArrayList<>();
+		for (List<?> entry : entries) {
+			int type = (Integer) entry.get(0);
+			if (type == SAN_DNS || type == SAN_IP) {
+				names.add(String.valueOf(entry.get(1)));
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * 取 DN 中的 CN，沒有 CN 時回傳完整 DN
+	 */
+	static String commonName(String dn) {
+		try {
+			for (Rdn rdn : new LdapName(dn).getRdns()) {
+				if ("CN".equalsIgnoreCase(rdn.getType())) {
+					return String.valueOf(rdn.getValue());
+				}
+			}
+		} catch (InvalidNameException e) {
+			// 無法解析時回傳原字串
+		}
+		return dn;
+	}
+}
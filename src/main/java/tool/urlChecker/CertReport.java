@@ -0,0 +1,89 @@
+package tool.urlChecker;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 依緊急程度列出各 host 的憑證：已過期 → SAN 不符 → 剩餘天數由少到多
+ */
+public class CertReport {
+
+	private final Map<String, CertInfo> certs = new LinkedHashMap<>();
+	private final long now;
+	private final int warnDays;
+
+	/**
+	 * 依實際握手的 host 分組（轉址到其他 host 時不會記在原本的 host 底下），同一 host 只保留第一筆帶有憑證的結果
+	 */
+	public CertReport(List<CheckResult> results, long now, int warnDays) {
+		this.now = now;
+		this.warnDays = warnDays;
+		for (CheckResult result : results) {
+			if (result.getCert() != null) {
+				certs.putIfAbsent(result.getCert().getHost(), result.getCert());
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return certs.isEmpty();
+	}
+
+	/**
+	 * 依緊急程度排序的 host
+	 */
+	public List<String> hosts() {
+		List<String> hosts = new ArrayList<>(certs.keySet());
+		hosts.sort(Comparator.comparingInt((String host) -> urgency(certs.get(host)))
+			.thenComparingLong(host -> certs.get(host).getNotAfter()));
+		return hosts;
+	}
+
+	/**
+	 * 0 已過期，1 SAN 不符，2 即將到期（warnDays 內），3 正常
+	 */
+	private int urgency(CertInfo cert) {
+		long days = cert.daysToExpiry(now);
+		if (days < 0) {
+			return 0;
+		}
+		if (!cert.isHostMatch()) {
+			return 1;
+		}
+		return days <= warnDays ? 2 : 3;
+	}
+
+	String status(CertInfo cert) {
+		switch (urgency(cert)) {
+			case 0:
+				return "❌ expired";
+			case 1:
+				return "❌ SAN mismatch";
+			case 2:
+				return "⚠️ expiring";
+			default:
+				return "✅ ok";
+		}
+	}
+
+	public void print() {
+		int hostWidth = "host".length();
+		for (String host : certs.keySet()) {
+			hostWidth = Math.max(hostWidth, host.length());
+		}
+		String format = "%-" + hostWidth + "s %6s %-10s %-16s %s";
+		SimpleDateFormat date = new SimpleDateFormat("yyyy-MM-dd");
+		System.out.println("\nCertificates (most urgent first)");
+		System.out.println(String.format(format, "host", "days", "expires", "status", "issuer"));
+		for (String host : hosts()) {
+			CertInfo cert = certs.get(host);
+			System.out.println(String.format(format, host, cert.daysToExpiry(now), date.format(new Date(cert.getNotAfter())), status(cert),
+				cert.getIssuer()));
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package tool.urlChecker;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * URL 檢查引擎
+ * check 必須立即回傳，實際檢查在引擎自己的執行緒上完成；future 一律正常完成（失敗以 CheckResult 表示）
+ */
+public interface CheckEngine extends AutoCloseable {
+
+	/**
+	 * @param index 在 domainList 中的位置
+	 * @param url   完整 URL
+	 */
+	CompletableFuture<CheckResult> check(int index, String url);
+
+	/**
+	 * 檢查結束後要輸出的統計（例：重試次數），包裝其他引擎時需附上被包裝引擎的統計
+	 */
+	default List<String> summary() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * 釋放執行緒與連線資源
+	 */
+	@Override
+	void close();
+}
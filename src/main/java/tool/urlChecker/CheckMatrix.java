@@ -0,0 +1,112 @@
+package tool.urlChecker;
+
+import constant.EnvEnumType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * domainList × 環境 × {static, api} 子網域的檢查矩陣
+ * 子網域取自 EnvEnumType 的 subDomainStatic / subDomainApi；展開後相同的 URL 只檢查一次，報表中各格共用結果。
+ */
+public class CheckMatrix {
+
+	private static final int CELL_WIDTH = 12;
+
+	private final List<String> domains;
+	private final List<EnvEnumType> envs;
+	private final String protocol;
+
+	public CheckMatrix(List<String> domains, List<EnvEnumType> envs, boolean https) {
+		this.domains = domains;
+		this.envs = envs;
+		this.protocol = https ? "https" : "http";
+	}
+
+	/**
+	 * matrixEnvs 未設定時使用全部環境
+	 */
+	public static CheckMatrix fromConfig(UrlCheckerConfig urlCheckerConfig) {
+		List<EnvEnumType> envs = new ArrayList<>();
+		if (urlCheckerConfig.matrixEnvs == null || urlCheckerConfig.matrixEnvs.isEmpty()) {
+			envs.addAll(Arrays.asList(EnvEnumType.values()));
+		} else {
+			for (String name : urlCheckerConfig.matrixEnvs) {
+				try {
+					envs.add(EnvEnumType.valueOf(name.trim().toUpperCase()));
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Unknown env in matrixEnvs: " + name + " " + Arrays.toString(EnvEnumType.values()));
+				}
+			}
+		}
+		return new CheckMatrix(urlCheckerConfig.domainList, envs, urlCheckerConfig.isHttps);
+	}
+
+	public String url(String domain, EnvEnumType env, boolean api) {
+		return protocol + "://" + (api ? env.getSubDomainApi() : env.getSubDomainStatic()) + "." + domain;
+	}
+
+	/**
+	 * 去除重複後的 URL，依 domain → 環境 → static / api 順序
+	 */
+	public List<String> urls() {
+		Set<String> urls = new LinkedHashSet<>();
+		for (String domain : domains) {
+			for (EnvEnumType env : envs) {
+				urls.add(url(domain, env, false));
+				urls.add(url(domain, env, true));
+			}
+		}
+		return new ArrayList<>(urls);
+	}
+
+	/**
+	 * 每列一個 domain、每欄一個環境 × 子網域，cell 由 cellText 依 URL 提供
+	 */
+	public void printGrid(Function<String, String> cellText) {
+		int domainWidth = "domain".length();
+		for (String domain : domains) {
+			domainWidth = Math.max(domainWidth, domain.length());
+		}
+
+		StringBuilder header = new StringBuilder(pad("domain", domainWidth));
+		for (EnvEnumType env : envs) {
+			header.append(' ').append(pad(env.name() + " static", CELL_WIDTH)).append(' ').append(pad(env.name() + " api", CELL_WIDTH));
+		}
+		System.out.println("\nMatrix");
+		System.out.println(header);
+		for (String domain : domains) {
+			StringBuilder row = new StringBuilder(pad(domain, domainWidth));
+			for (EnvEnumType env : envs) {
+				row.append(' ').append(pad(cellText.apply(url(domain, env, false)), CELL_WIDTH));
+				row.append(' ').append(pad(cellText.apply(url(domain, env, true)), CELL_WIDTH));
+			}
+			System.out.println(row);
+		}
+	}
+
+	/**
+	 * 例：OK 200 / FAIL 502 / ERR DNS
+	 */
+	public static String cell(CheckResult result) {
+		if (result.isSuccess()) {
+			return "OK " + result.getStatusCode();
+		}
+		if (result.getStatusCode() > 0) {
+			return "FAIL " + result.getStatusCode();
+		}
+		return "ERR " + ErrorClass.of(result).name();
+	}
+
+	private static String pad(String text, int width) {
+		StringBuilder sb = new StringBuilder(text);
+		while (sb.length() < width) {
+			sb.append(' ');
+		}
+		return sb.toString();
+	}
+}
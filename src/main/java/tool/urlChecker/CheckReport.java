@@ -0,0 +1,192 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import util.AsyncLineWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 檢查結果報告（JSON Lines，一行一個 URL）
+ * 一邊檢查一邊寫出並累計摘要，不保留個別結果；多個分片的報告可用 merge 合併成一份摘要（與選擇性的合併檔）。
+ * 序列化在呼叫端 thread 進行，寫檔交給報告專用的 AsyncLineWriter，引擎的 thread 不會等待磁碟。
+ */
+public class CheckReport implements Closeable {
+
+	static final String FILE_PREFIX = "url-report";
+
+	private final ObjectMapper mapper;
+	private final BufferedWriter writer;
+	private final AsyncLineWriter asyncWriter;
+	private final AsyncLineWriter.Channel lines;
+	private final Summary summary = new Summary();
+
+	public CheckReport(Path file, ObjectMapper mapper) throws IOException {
+		this.mapper = mapper;
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		this.asyncWriter = new AsyncLineWriter("url-report");
+		this.lines = asyncWriter.channel(writer);
+	}
+
+	/**
+	 * 例：url-report.jsonl、url-report.shard-2-of-4.jsonl
+	 */
+	public static String fileName(Shard shard) {
+		return FILE_PREFIX + (shard != null ? "." + shard.label() : "") + ".jsonl";
+	}
+
+	/**
+	 * 可由多個 thread 同時呼叫；序列化失敗拋出 UncheckedIOException，寫檔失敗於 close 拋出
+	 */
+	public void write(long checkedAt, CheckResult result) {
+		Line line = new Line();
+		line.setCheckedAt(checkedAt);
+		line.setUrl(result.getUrl());
+		line.setHost(result.getHost());
+		line.setSuccess(result.isSuccess());
+		line.setStatusCode(result.getStatusCode());
+		line.setReason(result.getReason());
+		line.setElapsedMs(result.getElapsedMs());
+		write(line);
+	}
+
+	private void write(Line line) {
+		try {
+			lines.println(mapper.writeValueAsString(line));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		synchronized (this) {
+			summary.add(line);
+		}
+	}
+
+	public synchronized Summary getSummary() {
+		return summary;
+	}
+
+	/**
+	 * 等待佇列中的內容寫完後關閉檔案
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			asyncWriter.close();
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * 依序讀取各報告檔並累計摘要；out 不為 null 時同時寫出合併後的報告。分片報告互不重疊，不另外去除重複 URL
+	 */
+	public static Summary merge(List<Path> files, ObjectMapper mapper, CheckReport out) throws IOException {
+		Summary summary = new Summary();
+		for (Path file : files) {
+			try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+				String text;
+				while ((text = reader.readLine()) != null) {
+					if (text.trim().isEmpty()) {
+						continue;
+					}
+					Line line = mapper.readValue(text, Line.class);
+					summary.add(line);
+					if (out != null) {
+						out.write(line);
+					}
+				}
+			}
+		}
+		return summary;
+	}
+
+	@Data
+	public static class Line {
+		/**
+		 * epoch 毫秒
+		 */
+		private long checkedAt;
+		private String url;
+		private String host;
+		private boolean success;
+		private int statusCode;
+		private String reason;
+		private long elapsedMs;
+	}
+
+	/**
+	 * 總數、失敗數與整體延遲；失敗明細只保留前 MAX_LISTED 筆，其餘見報告檔
+	 */
+	public static class Summary {
+
+		static final int MAX_LISTED = 1000;
+
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final List<String> failures = new ArrayList<>();
+		private long total;
+		private long failed;
+		private long errors;
+
+		void add(Line line) {
+			total++;
+			if (line.getStatusCode() > 0) {
+				latency.record(line.getElapsedMs());
+			} else {
+				errors++;
+			}
+			if (!line.isSuccess()) {
+				failed++;
+				if (failures.size() < MAX_LISTED) {
+					failures.add(line.getHost() + " - " + line.getReason());
+				}
+			}
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		public long getFailed() {
+			return failed;
+		}
+
+		public LatencyHistogram getLatency() {
+			return latency;
+		}
+
+		public List<String> getFailures() {
+			return failures;
+		}
+
+		public void print() {
+			if (failed > 0) {
+				System.out.println("\n========================================");
+				System.out.println("Total failed: " + failed + " out of " + total);
+				System.out.println("========================================");
+				for (String failure : failures) {
+					System.out.println(failure);
+				}
+				if (failed > failures.size()) {
+					System.out.println("... and " + (failed - failures.size()) + " more (see report)");
+				}
+				System.out.println("========================================");
+			} else {
+				System.out.println("\nAll " + total + " URLs checked successfully!");
+			}
+			System.out.println(String.format("Latency (ms): count %d, errors %d, p50 %d, p90 %d, p99 %d, max %d", latency.getCount(), errors,
+				latency.valueAtPercentile(50), latency.valueAtPercentile(90), latency.valueAtPercentile(99), latency.getMax()));
+		}
+	}
+}
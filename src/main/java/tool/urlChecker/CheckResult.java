@@ -0,0 +1,127 @@
+package tool.urlChecker;
+
+import lombok.Getter;
+
+/**
+ * 單一 domain 的檢查結果
+ */
+@Getter
+public class CheckResult {
+
+	/**
+	 * 在 domainList 中的位置（從 0 開始），報表依此排序
+	 */
+	private final int index;
+	private final String url;
+	private final String host;
+	private final boolean success;
+	private final int statusCode;
+	private final String reason;
+	private final long elapsedMs;
+	/**
+	 * 各階段耗時，僅 probe 引擎提供，其他引擎為 null
+	 */
+	private final PhaseTimings timings;
+	/**
+	 * 失敗的階段，僅 phaseError 提供
+	 */
+	private final ProbePhase failedPhase;
+	/**
+	 * HTTPS 握手取得的憑證摘要，HTTP 或未完成握手時為 null
+	 */
+	private final CertInfo cert;
+	/**
+	 * 依例外類型判斷的錯誤分類，僅 error(..., Throwable, ...) 提供
+	 */
+	private final ErrorClass errorClass;
+
+	private CheckResult(int index, String url, String host, boolean success, int statusCode, String reason, long elapsedMs) {
+		this(index, url, host, success, statusCode, reason, elapsedMs, null, null, null, null);
+	}
+
+	private CheckResult(int index, String url, String host, boolean success, int statusCode, String reason, long elapsedMs,
+		PhaseTimings timings, ProbePhase failedPhase, CertInfo cert, ErrorClass errorClass) {
+		this.index = index;
+		this.url = url;
+		this.host = host;
+		this.success = success;
+		this.statusCode = statusCode;
+		this.reason = reason;
+		this.elapsedMs = elapsedMs;
+		this.timings = timings;
+		this.failedPhase = failedPhase;
+		this.cert = cert;
+		this.errorClass = errorClass;
+	}
+
+	public static CheckResult ok(int index, String url, String host, int statusCode, long elapsedMs) {
+		return new CheckResult(index, url, host, true, statusCode, null, elapsedMs);
+	}
+
+	/**
+	 * 伺服器有回應但狀態碼不是 200
+	 */
+	public static CheckResult failed(int index, String url, String host, int statusCode, long elapsedMs) {
+		return new CheckResult(index, url, host, false, statusCode, "Response code: " + statusCode, elapsedMs);
+	}
+
+	/**
+	 * 連線過程發生例外
+	 */
+	public static CheckResult error(int index, String url, String host, String message, long elapsedMs) {
+		return new CheckResult(index, url, host, false, -1, "Connection failed: " + message, elapsedMs);
+	}
+
+	/**
+	 * 連線過程發生例外，依例外類型記下錯誤分類（DNS / TLS / 連線被拒 / 逾時），不靠訊息文字判斷
+	 */
+	public static CheckResult error(int index, String url, String host, Throwable e, long elapsedMs) {
+		return new CheckResult(index, url, host, false, -1, "Connection failed: " + e.getMessage(), elapsedMs, null, null, null,
+			ErrorClass.ofException(e));
+	}
+
+	/**
+	 * probe 引擎於某階段失敗，後續階段不再執行
+	 */
+	public static CheckResult phaseError(int index, String url, String host, ProbePhase phase, String message, long elapsedMs,
+		PhaseTimings timings) {
+		return new CheckResult(index, url, host, false, -1, phase.getLabel() + " failed: " + message, elapsedMs, timings, phase, null, null);
+	}
+
+	/**
+	 * 附上各階段耗時的副本
+	 */
+	public CheckResult withTimings(PhaseTimings timings) {
+		return new CheckResult(index, url, host, success, statusCode, reason, elapsedMs, timings, failedPhase, cert, errorClass);
+	}
+
+	/**
+	 * 附上憑證摘要，cert 為 null 時回傳自己
+	 */
+	public CheckResult withCert(CertInfo cert) {
+		if (cert == null) {
+			return this;
+		}
+		return new CheckResult(index, url, host, success, statusCode, reason, elapsedMs, timings, failedPhase, cert, errorClass);
+	}
+
+	public boolean isError() {
+		return !success && statusCode < 0;
+	}
+
+	/**
+	 * 單行狀態描述（✅ 200 OK / ❌ 錯誤碼 / ⚠️ 連線失敗），有階段耗時時附在後方
+	 */
+	public String statusLine() {
+		String line;
+		if (success) {
+			line = "✅ [OK] " + statusCode + " OK";
+		} else {
+			line = (isError() ? "⚠️ [ERROR] " : "❌ [FAILED] ") + reason;
+		}
+		if (timings == null || timings.describe().isEmpty()) {
+			return line;
+		}
+		return line + " [" + timings.describe() + "]";
+	}
+}
@@ -0,0 +1,81 @@
+package tool.urlChecker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 以 host 為單位的斷路器，供 --monitor 模式使用
+ * 連續 failureThreshold 次沒有 HTTP 回應（DNS / 連線 / TLS / 逾時失敗）即斷開，之後每 probeIntervalMs 才放行一輪試探；
+ * 試探成功（任何 HTTP 回應）恢復正常，仍失敗則再斷開一個週期。
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long probeIntervalNanos;
+	private final LongSupplier clock;
+	private final Map<String, Circuit> circuits = new HashMap<>();
+
+	public CircuitBreaker(int failureThreshold, long probeIntervalMs) {
+		this(failureThreshold, probeIntervalMs, System::nanoTime);
+	}
+
+	CircuitBreaker(int failureThreshold, long probeIntervalMs, LongSupplier clock) {
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMs);
+		this.clock = clock;
+	}
+
+	/**
+	 * 是否應檢查此 host；斷開期間已滿時轉為 HALF_OPEN 並放行
+	 */
+	public synchronized boolean allow(String host) {
+		Circuit circuit = circuits.get(host);
+		if (circuit == null || circuit.state != State.OPEN) {
+			return true;
+		}
+		if (clock.getAsLong() - circuit.openUntil < 0) {
+			return false;
+		}
+		circuit.state = State.HALF_OPEN;
+		return true;
+	}
+
+	/**
+	 * 記錄一筆檢查結果，回傳此次是否使斷路器由 CLOSED 轉為 OPEN（試探失敗再次斷開不算）
+	 */
+	public synchronized boolean record(String host, CheckResult result) {
+		Circuit circuit = circuits.computeIfAbsent(host, k -> new Circuit());
+		if (!result.isError()) {
+			circuit.state = State.CLOSED;
+			circuit.failures = 0;
+			return false;
+		}
+		circuit.failures++;
+		if (circuit.state == State.HALF_OPEN || circuit.failures >= failureThreshold) {
+			boolean opened = circuit.state == State.CLOSED;
+			circuit.state = State.OPEN;
+			circuit.openUntil = clock.getAsLong() + probeIntervalNanos;
+			return opened;
+		}
+		return false;
+	}
+
+	public synchronized State getState(String host) {
+		Circuit circuit = circuits.get(host);
+		return circuit != null ? circuit.state : State.CLOSED;
+	}
+
+	private static class Circuit {
+		private State state = State.CLOSED;
+		private int failures;
+		private long openUntil;
+	}
+}
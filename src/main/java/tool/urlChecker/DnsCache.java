@@ -0,0 +1,144 @@
+package tool.urlChecker;
+
+import util.TaskExecutors;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * 有存活時間的 DNS 快取
+ * 成功結果保留 ttl，解析失敗（UnknownHostException）保留較短的 negativeTtl，期間內同一 host 直接回傳相同結果；
+ * 同一 host 同時被多個 thread 查詢時只實際解析一次。InetAddress 不提供記錄本身的 TTL，存活時間以設定值為上限。
+ */
+public class DnsCache {
+
+	private final HostResolver resolver;
+	private final long ttlNanos;
+	private final long negativeTtlNanos;
+	private final LongSupplier clock;
+	private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+
+	public DnsCache(HostResolver resolver, long ttlMs, long negativeTtlMs) {
+		this(resolver, ttlMs, negativeTtlMs, System::nanoTime);
+	}
+
+	DnsCache(HostResolver resolver, long ttlMs, long negativeTtlMs, LongSupplier clock) {
+		this.resolver = resolver;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+		this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+		this.clock = clock;
+	}
+
+	/**
+	 * 解析 host，快取有效時直接回傳；解析失敗（含快取中的失敗結果）拋出 UnknownHostException
+	 */
+	public InetAddress[] resolve(String host) throws UnknownHostException {
+		Entry entry = lookup(host);
+		if (entry.error != null) {
+			throw new UnknownHostException(entry.error);
+		}
+		return entry.addresses.clone();
+	}
+
+	/**
+	 * 以 parallelism 個 thread 同時解析所有不重複的 host，每個 host 最多等 timeoutMs
+	 * 回傳解析失敗的 host 與原因（依輸入順序），逾時的 host 也視為失敗但不寫入快取
+	 */
+	public Map<String, String> prefetch(Collection<String> hosts, int parallelism, long timeoutMs) {
+		List<String> distinct = new ArrayList<>(new LinkedHashSet<>(hosts));
+		Map<String, String> failures = new LinkedHashMap<>();
+		if (distinct.isEmpty()) {
+			return failures;
+		}
+		ExecutorService pool = TaskExecutors.newBlockingExecutor("dns", Math.min(parallelism, distinct.size()));
+		try {
+			List<Future<Entry>> futures = new ArrayList<>(distinct.size());
+			for (String host : distinct) {
+				futures.add(pool.submit(() -> lookup(host)));
+			}
+			// 各 host 同時開始解析，逾時以整批開始時間起算
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+			for (int i = 0; i < distinct.size(); i++) {
+				String host = distinct.get(i);
+				try {
+					Entry entry = futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					if (entry.error != null) {
+						failures.put(host, entry.error);
+					}
+				} catch (TimeoutException e) {
+					failures.put(host, "DNS resolution timed out after " + timeoutMs + " ms");
+				} catch (ExecutionException e) {
+					failures.put(host, String.valueOf(e.getCause().getMessage()));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failures.put(host, "DNS resolution interrupted");
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return failures;
+	}
+
+	private Entry lookup(String host) {
+		CompletableFuture<Entry> created = new CompletableFuture<>();
+		CompletableFuture<Entry> current = entries.compute(host, (key, old) -> old != null && isFresh(old) ? old : created);
+		if (current == created) {
+			try {
+				created.complete(Entry.resolved(resolver.resolve(host), clock.getAsLong() + ttlNanos));
+			} catch (UnknownHostException e) {
+				String message = e.getMessage() != null ? e.getMessage() : host;
+				created.complete(Entry.failed(message, clock.getAsLong() + negativeTtlNanos));
+			} catch (RuntimeException e) {
+				// 非 DNS 本身的錯誤不快取，下次重新解析
+				entries.remove(host, created);
+				created.completeExceptionally(e);
+			}
+		}
+		return current.join();
+	}
+
+	private boolean isFresh(CompletableFuture<Entry> future) {
+		if (!future.isDone()) {
+			return true;
+		}
+		if (future.isCompletedExceptionally()) {
+			return false;
+		}
+		return future.join().expiresAt - clock.getAsLong() > 0;
+	}
+
+	private static final class Entry {
+		private final InetAddress[] addresses;
+		private final String error;
+		private final long expiresAt;
+
+		private Entry(InetAddress[] addresses, String error, long expiresAt) {
+			this.addresses = addresses;
+			this.error = error;
+			this.expiresAt = expiresAt;
+		}
+
+		static Entry resolved(InetAddress[] addresses, long expiresAt) {
+			return new Entry(addresses, null, expiresAt);
+		}
+
+		static Entry failed(String error, long expiresAt) {
+			return new Entry(null, error, expiresAt);
+		}
+	}
+}
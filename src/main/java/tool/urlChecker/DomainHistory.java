@@ -0,0 +1,71 @@
+package tool.urlChecker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 單一 URL 最近 N 次檢查結果的環狀緩衝區，滿了之後覆寫最舊的一筆
+ * 另記錄目前狀態（UP / DOWN）與進入此狀態的時間，用於判斷狀態轉換
+ */
+public class DomainHistory {
+
+	private final CheckResult[] results;
+	private final long[] checkedAt;
+	private int next;
+	private int size;
+	private Boolean up;
+	private long stateSince;
+
+	public DomainHistory(int capacity) {
+		this.results = new CheckResult[capacity];
+		this.checkedAt = new long[capacity];
+	}
+
+	/**
+	 * 記錄一筆結果；狀態與上一筆不同時回傳 true（第一筆不算轉換）
+	 */
+	public synchronized boolean record(long timestamp, CheckResult result) {
+		results[next] = result;
+		checkedAt[next] = timestamp;
+		next = (next + 1) % results.length;
+		size = Math.min(size + 1, results.length);
+
+		boolean changed = up != null && up != result.isSuccess();
+		if (up == null || changed) {
+			up = result.isSuccess();
+			stateSince = timestamp;
+		}
+		return changed;
+	}
+
+	public synchronized boolean isUp() {
+		return up != null && up;
+	}
+
+	/**
+	 * 進入目前狀態的時間（epoch 毫秒）
+	 */
+	public synchronized long getStateSince() {
+		return stateSince;
+	}
+
+	public synchronized CheckResult latest() {
+		return size == 0 ? null : results[(next - 1 + results.length) % results.length];
+	}
+
+	/**
+	 * 由舊到新的結果副本
+	 */
+	public synchronized List<CheckResult> snapshot() {
+		List<CheckResult> list = new ArrayList<>(size);
+		int oldest = (next - size + results.length) % results.length;
+		for (int i = 0; i < size; i++) {
+			list.add(results[(oldest + i) % results.length]);
+		}
+		return list;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+}
@@ -0,0 +1,118 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * 逐筆讀取 domain 的來源，不一次載入整份清單
+ * - 「-」：標準輸入，一行一個 domain
+ * - *.json：JSON 字串陣列，或含 domainList 欄位的物件（與 sample-urlChecker.json 相同格式）
+ * - 其他檔案：一行一個 domain
+ * 文字格式略過空行與 # 開頭的註解行。
+ */
+public abstract class DomainSource implements Closeable {
+
+	/**
+	 * 下一個 domain，讀完回傳 null
+	 */
+	public abstract String next() throws IOException;
+
+	public static DomainSource open(String spec) throws IOException {
+		if ("-".equals(spec)) {
+			return new Lines(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+		}
+		if (spec.toLowerCase(Locale.ROOT).endsWith(".json")) {
+			return new Json(new JsonFactory().createParser(Files.newInputStream(Paths.get(spec))));
+		}
+		return new Lines(Files.newBufferedReader(Paths.get(spec), StandardCharsets.UTF_8));
+	}
+
+	private static class Lines extends DomainSource {
+		private final BufferedReader reader;
+
+		private Lines(BufferedReader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		public String next() throws IOException {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					return line;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+
+	private static class Json extends DomainSource {
+		private final JsonParser parser;
+		private boolean started;
+
+		private Json(JsonParser parser) {
+			this.parser = parser;
+		}
+
+		@Override
+		public String next() throws IOException {
+			if (!started) {
+				started = true;
+				seekArray();
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+				if (token == JsonToken.VALUE_STRING && !parser.getText().trim().isEmpty()) {
+					return parser.getText().trim();
+				}
+				if (token.isStructStart()) {
+					throw new IOException("Expected domain string at " + parser.getCurrentLocation());
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * 移到頂層陣列或 domainList 陣列的開頭
+		 */
+		private void seekArray() throws IOException {
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY) {
+				return;
+			}
+			if (token != JsonToken.START_OBJECT) {
+				throw new IOException("Expected a JSON array or an object with domainList");
+			}
+			while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+				String name = parser.getCurrentName();
+				token = parser.nextToken();
+				if ("domainList".equals(name) && token == JsonToken.START_ARRAY) {
+					return;
+				}
+				parser.skipChildren();
+			}
+			throw new IOException("domainList not found");
+		}
+
+		@Override
+		public void close() throws IOException {
+			parser.close();
+		}
+	}
+}
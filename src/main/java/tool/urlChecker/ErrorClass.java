@@ -0,0 +1,70 @@
+package tool.urlChecker;
+
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Locale;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * 檢查結果的錯誤分類，寫入歷史紀錄時以 ordinal 儲存，新增項目只能加在最後
+ */
+public enum ErrorClass {
+	NONE,
+	HTTP_STATUS,
+	DNS,
+	CONNECT,
+	TLS,
+	TIMEOUT,
+	CONNECTION;
+
+	public static ErrorClass of(CheckResult result) {
+		if (result.isSuccess()) {
+			return NONE;
+		}
+		if (result.getStatusCode() > 0) {
+			return HTTP_STATUS;
+		}
+		if (result.getErrorClass() != null) {
+			return result.getErrorClass();
+		}
+		if (result.getFailedPhase() == ProbePhase.RESOLVE) {
+			return DNS;
+		}
+		if (result.getFailedPhase() == ProbePhase.CONNECT) {
+			return CONNECT;
+		}
+		if (result.getFailedPhase() == ProbePhase.TLS) {
+			return TLS;
+		}
+		String reason = result.getReason() != null ? result.getReason().toLowerCase(Locale.ROOT) : "";
+		if (reason.contains("timed out") || reason.contains("timeout")) {
+			return TIMEOUT;
+		}
+		return CONNECTION;
+	}
+
+	/**
+	 * 依例外（含 cause）類型分類；無法判斷時回傳 null
+	 * SocketTimeoutException 與 OkHttp 的 call timeout 都是 InterruptedIOException
+	 */
+	static ErrorClass ofException(Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+			if (t instanceof UnknownHostException) {
+				return DNS;
+			}
+			if (t instanceof SSLException) {
+				return TLS;
+			}
+			if (t instanceof ConnectException || t instanceof NoRouteToHostException) {
+				return CONNECT;
+			}
+			if (t instanceof InterruptedIOException) {
+				return TIMEOUT;
+			}
+		}
+		return null;
+	}
+}
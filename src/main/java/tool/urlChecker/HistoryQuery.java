@@ -0,0 +1,144 @@
+package tool.urlChecker;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 由歷史紀錄統計單一 domain 在時間窗內的可用率與延遲趨勢
+ * target 可為完整 URL 或 host，指定 host 時比對該 host 的所有 URL（例如不同 port）；時間格以本地時區對齊。
+ */
+public class HistoryQuery {
+
+	private static final Pattern DURATION = Pattern.compile("(\\d+)([smhd])");
+
+	private final String target;
+	private final long from;
+	private final long to;
+	private final long bucketMs;
+	private final Map<Long, Bucket> buckets = new TreeMap<>();
+	private final Bucket total = new Bucket();
+
+	public HistoryQuery(String target, long from, long to) {
+		this.target = target;
+		this.from = from;
+		this.to = to;
+		this.bucketMs = bucketSize(to - from);
+	}
+
+	/**
+	 * 時間窗 2 小時內以 5 分鐘、2 天內以 1 小時、其餘以 1 天為一格
+	 */
+	static long bucketSize(long windowMs) {
+		if (windowMs <= TimeUnit.HOURS.toMillis(2)) {
+			return TimeUnit.MINUTES.toMillis(5);
+		}
+		if (windowMs <= TimeUnit.DAYS.toMillis(2)) {
+			return TimeUnit.HOURS.toMillis(1);
+		}
+		return TimeUnit.DAYS.toMillis(1);
+	}
+
+	/**
+	 * 例：30m、24h、7d
+	 */
+	public static long parseDuration(String text) {
+		Matcher matcher = DURATION.matcher(text.trim());
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Invalid duration: " + text + " (e.g. 30m, 24h, 7d)");
+		}
+		long amount = Long.parseLong(matcher.group(1));
+		switch (matcher.group(2)) {
+			case "s":
+				return TimeUnit.SECONDS.toMillis(amount);
+			case "m":
+				return TimeUnit.MINUTES.toMillis(amount);
+			case "h":
+				return TimeUnit.HOURS.toMillis(amount);
+			default:
+				return TimeUnit.DAYS.toMillis(amount);
+		}
+	}
+
+	public HistoryQuery run(HistoryStore store) throws IOException {
+		store.scan(from, to, record -> {
+			if (matches(record.getUrl())) {
+				long timestamp = record.getTimestamp();
+				long bucketStart = timestamp - Math.floorMod(timestamp + TimeZone.getDefault().getOffset(timestamp), bucketMs);
+				buckets.computeIfAbsent(bucketStart, key -> new Bucket()).add(record);
+				total.add(record);
+			}
+		});
+		return this;
+	}
+
+	private boolean matches(String url) {
+		return url.equals(target) || UrlChecker.hostOf(url).equals(target);
+	}
+
+	public long getChecks() {
+		return total.checks;
+	}
+
+	public double getUptime() {
+		return total.uptime();
+	}
+
+	public LatencyHistogram getLatency() {
+		return total.latency;
+	}
+
+	public void print() {
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+		System.out.println("📜 History for " + target + " from " + format.format(new Date(from)) + " to " + format.format(new Date(to))
+			+ " (" + TimeUnit.MILLISECONDS.toMinutes(bucketMs) + " min buckets)");
+		if (total.checks == 0) {
+			System.out.println("No records found");
+			return;
+		}
+		System.out.println(String.format("%-18s %7s %8s %7s %7s %7s  %s", "period", "checks", "uptime", "p50", "p90", "max", "errors"));
+		for (Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+			System.out.println(entry.getValue().row(format.format(new Date(entry.getKey()))));
+		}
+		System.out.println(total.row("TOTAL"));
+	}
+
+	private static final class Bucket {
+		private long checks;
+		private long up;
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final Map<ErrorClass, Long> errors = new EnumMap<>(ErrorClass.class);
+
+		void add(HistoryRecord record) {
+			checks++;
+			if (record.isSuccess()) {
+				up++;
+			} else {
+				errors.merge(record.getErrorClass(), 1L, Long::sum);
+			}
+			if (record.getStatusCode() > 0) {
+				latency.record(record.getElapsedMs());
+			}
+		}
+
+		double uptime() {
+			return checks == 0 ? 0 : up * 100.0 / checks;
+		}
+
+		String row(String label) {
+			StringBuilder errorText = new StringBuilder();
+			for (Map.Entry<ErrorClass, Long> entry : errors.entrySet()) {
+				errorText.append(entry.getKey()).append('×').append(entry.getValue()).append(' ');
+			}
+			return String.format("%-18s %7d %7.1f%% %7d %7d %7d  %s", label, checks, uptime(),
+				latency.valueAtPercentile(50), latency.valueAtPercentile(90), latency.getMax(), errorText.toString().trim());
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package tool.urlChecker;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 歷史紀錄中的一筆檢查結果
+ * 二進位格式：int 長度（不含自身）| long timestamp | short url 長度 + UTF-8 url | short statusCode |
+ * byte success | byte errorClass | int elapsedMs | 各階段耗時 int × ProbePhase 數（未執行為 -1）
+ */
+@Getter
+public class HistoryRecord {
+
+	private static final int FIXED_BYTES = Long.BYTES + Short.BYTES + Short.BYTES + 2 + Integer.BYTES
+		+ ProbePhase.values().length * Integer.BYTES;
+
+	private final long timestamp;
+	private final String url;
+	private final int statusCode;
+	private final boolean success;
+	private final ErrorClass errorClass;
+	private final int elapsedMs;
+	/**
+	 * 依 ProbePhase 順序，-1 表示該階段未執行或引擎未提供
+	 */
+	private final int[] phaseMs;
+
+	HistoryRecord(long timestamp, String url, int statusCode, boolean success, ErrorClass errorClass, int elapsedMs, int[] phaseMs) {
+		this.timestamp = timestamp;
+		this.url = url;
+		this.statusCode = statusCode;
+		this.success = success;
+		this.errorClass = errorClass;
+		this.elapsedMs = elapsedMs;
+		this.phaseMs = phaseMs;
+	}
+
+	public static HistoryRecord of(long timestamp, CheckResult result) {
+		int[] phaseMs = new int[ProbePhase.values().length];
+		for (ProbePhase phase : ProbePhase.values()) {
+			Long ms = result.getTimings() != null ? result.getTimings().get(phase) : null;
+			phaseMs[phase.ordinal()] = ms != null ? (int) Math.min(ms, Integer.MAX_VALUE) : -1;
+		}
+		return new HistoryRecord(timestamp, result.getUrl(), result.getStatusCode(), result.isSuccess(), ErrorClass.of(result),
+			(int) Math.min(result.getElapsedMs(), Integer.MAX_VALUE), phaseMs);
+	}
+
+	/**
+	 * 編碼後的總長度（含長度欄位）
+	 */
+	int encodedSize() {
+		return Integer.BYTES + FIXED_BYTES + url.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	void writeTo(ByteBuffer buffer) {
+		byte[] urlBytes = url.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(FIXED_BYTES + urlBytes.length);
+		buffer.putLong(timestamp);
+		buffer.putShort((short) urlBytes.length);
+		buffer.put(urlBytes);
+		buffer.putShort((short) statusCode);
+		buffer.put((byte) (success ? 1 : 0));
+		buffer.put((byte) errorClass.ordinal());
+		buffer.putInt(elapsedMs);
+		for (int ms : phaseMs) {
+			buffer.putInt(ms);
+		}
+	}
+
+	/**
+	 * 由 buffer 目前位置讀取一筆，讀完後位置移到下一筆開頭；剩餘資料不足一筆（寫到一半）時回傳 null 且不移動位置
+	 */
+	static HistoryRecord readFrom(ByteBuffer buffer) {
+		if (buffer.remaining() < Integer.BYTES) {
+			return null;
+		}
+		int start = buffer.position();
+		int length = buffer.getInt();
+		if (length < FIXED_BYTES || buffer.remaining() < length) {
+			buffer.position(start);
+			return null;
+		}
+		long timestamp = buffer.getLong();
+		byte[] urlBytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(urlBytes);
+		int statusCode = buffer.getShort();
+		boolean success = buffer.get() == 1;
+		ErrorClass errorClass = ErrorClass.values()[buffer.get()];
+		int elapsedMs = buffer.getInt();
+		int[] phaseMs = new int[ProbePhase.values().length];
+		for (int i = 0; i < phaseMs.length; i++) {
+			phaseMs[i] = buffer.getInt();
+		}
+		return new HistoryRecord(timestamp, new String(urlBytes, StandardCharsets.UTF_8), statusCode, success, errorClass, elapsedMs, phaseMs);
+	}
+
+	/**
+	 * 跳過一筆完整紀錄（不解碼），回傳其 timestamp；剩餘資料不足一筆時回傳 -1 且不移動位置
+	 */
+	static long skip(ByteBuffer buffer) {
+		if (buffer.remaining() < Integer.BYTES + Long.BYTES) {
+			return -1;
+		}
+		int start = buffer.position();
+		int length = buffer.getInt(start);
+		if (length < FIXED_BYTES || buffer.remaining() - Integer.BYTES < length) {
+			return -1;
+		}
+		long timestamp = buffer.getLong(start + Integer.BYTES);
+		buffer.position(start + Integer.BYTES + length);
+		return timestamp;
+	}
+}
@@ -0,0 +1,231 @@
+package tool.urlChecker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 只追加的檢查結果歷史紀錄
+ * 結果依序寫入 segment-<第一筆時間>.log（格式見 HistoryRecord），超過 segmentBytes 換新檔；
+ * 每個 segment 另有 .idx 稀疏時間索引，約每 64 KB 記一筆 (timestamp, offset)，查詢時先依檔名略過時間窗外的 segment，
+ * 再以索引跳到起始位置，以 memory-mapped 方式掃描。紀錄假設時間大致遞增（同一台機器依序寫入）。
+ */
+public class HistoryStore implements Closeable {
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String INDEX_SUFFIX = ".idx";
+	private static final int INDEX_ENTRY_BYTES = Long.BYTES * 2;
+	static final int INDEX_INTERVAL_BYTES = 64 * 1024;
+
+	private final Path dir;
+	private final long segmentBytes;
+	private FileChannel segment;
+	private FileChannel index;
+	private long segmentSize;
+	private long lastIndexedOffset = -1;
+
+	public HistoryStore(Path dir, long segmentBytes) throws IOException {
+		this.dir = dir;
+		this.segmentBytes = segmentBytes;
+		Files.createDirectories(dir);
+
+		List<Path> segments = listSegments();
+		if (!segments.isEmpty()) {
+			Path latest = segments.get(segments.size() - 1);
+			if (Files.size(latest) < segmentBytes) {
+				openSegment(latest);
+			}
+		}
+	}
+
+	/**
+	 * 以同一個 timestamp 追加一輪結果
+	 */
+	public synchronized void append(long timestamp, List<CheckResult> results) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		for (CheckResult result : results) {
+			HistoryRecord record = HistoryRecord.of(timestamp, result);
+			int size = record.encodedSize();
+			if (segment == null || (segmentSize > 0 && segmentSize + size > segmentBytes)) {
+				roll(timestamp);
+			}
+			if (lastIndexedOffset < 0 || segmentSize - lastIndexedOffset >= INDEX_INTERVAL_BYTES) {
+				ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+				entry.putLong(timestamp).putLong(segmentSize).flip();
+				writeFully(index, entry);
+				lastIndexedOffset = segmentSize;
+			}
+			if (buffer.capacity() < size) {
+				buffer = ByteBuffer.allocate(size);
+			}
+			buffer.clear();
+			record.writeTo(buffer);
+			buffer.flip();
+			writeFully(segment, buffer);
+			segmentSize += size;
+		}
+	}
+
+	/**
+	 * 依時間順序讀出 [from, to]（epoch 毫秒，含兩端）內的紀錄
+	 */
+	public void scan(long from, long to, Consumer<HistoryRecord> consumer) throws IOException {
+		List<Path> segments = listSegments();
+		for (int i = 0; i < segments.size(); i++) {
+			long first = firstTimestamp(segments.get(i));
+			long nextFirst = i + 1 < segments.size() ? firstTimestamp(segments.get(i + 1)) : Long.MAX_VALUE;
+			if (first > to || nextFirst < from) {
+				continue;
+			}
+			scanSegment(segments.get(i), from, to, consumer);
+		}
+	}
+
+	private void scanSegment(Path path, long from, long to, Consumer<HistoryRecord> consumer) throws IOException {
+		long startOffset = startOffset(indexPath(path), from);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size <= startOffset) {
+				return;
+			}
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			buffer.position((int) startOffset);
+			while (buffer.hasRemaining()) {
+				int position = buffer.position();
+				long timestamp = HistoryRecord.skip(buffer);
+				if (timestamp < 0) {
+					break;
+				}
+				if (timestamp >= from && timestamp <= to) {
+					buffer.position(position);
+					consumer.accept(HistoryRecord.readFrom(buffer));
+				}
+			}
+		}
+	}
+
+	/**
+	 * 索引中最後一筆 timestamp 小於 from 的位置；該位置之前的紀錄都早於 from
+	 */
+	private static long startOffset(Path indexPath, long from) throws IOException {
+		if (!Files.exists(indexPath)) {
+			return 0;
+		}
+		ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+		int low = 0;
+		int high = entries.capacity() / INDEX_ENTRY_BYTES - 1;
+		long offset = 0;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (entries.getLong(mid * INDEX_ENTRY_BYTES) < from) {
+				offset = entries.getLong(mid * INDEX_ENTRY_BYTES + Long.BYTES);
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return offset;
+	}
+
+	private void roll(long timestamp) throws IOException {
+		closeChannels();
+		long name = timestamp;
+		while (Files.exists(segmentPath(name))) {
+			name++;
+		}
+		openSegment(segmentPath(name));
+	}
+
+	/**
+	 * 開啟既有或新的 segment 以追加；上次寫到一半的尾端紀錄會被截掉
+	 */
+	private void openSegment(Path path) throws IOException {
+		segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		index = FileChannel.open(indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		long indexSize = index.size() - index.size() % INDEX_ENTRY_BYTES;
+		index.truncate(indexSize);
+		lastIndexedOffset = -1;
+		if (indexSize > 0) {
+			ByteBuffer last = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+			index.read(last, indexSize - INDEX_ENTRY_BYTES);
+			lastIndexedOffset = last.getLong(Long.BYTES);
+		}
+
+		long size = segment.size();
+		long scanFrom = lastIndexedOffset >= 0 && lastIndexedOffset <= size ? lastIndexedOffset : 0;
+		ByteBuffer tail = ByteBuffer.allocate((int) (size - scanFrom));
+		while (tail.hasRemaining() && segment.read(tail, scanFrom + tail.position()) > 0) {
+			// 讀完最後一個索引點之後的資料
+		}
+		tail.flip();
+		while (HistoryRecord.skip(tail) >= 0) {
+			// 找出最後一筆完整紀錄的結尾
+		}
+		long validEnd = scanFrom + tail.position();
+		if (lastIndexedOffset > validEnd) {
+			lastIndexedOffset = -1;
+		}
+		segment.truncate(validEnd);
+		segmentSize = validEnd;
+		segment.position(segmentSize);
+		index.position(index.size());
+	}
+
+	private List<Path> listSegments() throws IOException {
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path path : stream) {
+				segments.add(path);
+			}
+		}
+		// 檔名中的時間固定 20 位數，字典序即時間順序
+		Collections.sort(segments);
+		return segments;
+	}
+
+	private Path segmentPath(long firstTimestamp) {
+		return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstTimestamp, SEGMENT_SUFFIX));
+	}
+
+	private static Path indexPath(Path segmentPath) {
+		String name = segmentPath.getFileName().toString();
+		return segmentPath.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+	}
+
+	private static long firstTimestamp(Path segmentPath) {
+		String name = segmentPath.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private void closeChannels() throws IOException {
+		if (segment != null) {
+			segment.close();
+			index.close();
+			segment = null;
+			index = null;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		closeChannels();
+	}
+}
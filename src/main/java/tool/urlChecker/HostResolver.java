@@ -0,0 +1,21 @@
+package tool.urlChecker;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 主機名稱解析，可替換（測試時改用本機假資料）
+ */
+@FunctionalInterface
+public interface HostResolver {
+
+	/**
+	 * 系統 DNS（InetAddress）
+	 */
+	HostResolver SYSTEM = InetAddress::getAllByName;
+
+	/**
+	 * 解析失敗（NXDOMAIN 等）時拋出 UnknownHostException
+	 */
+	InetAddress[] resolve(String host) throws UnknownHostException;
+}
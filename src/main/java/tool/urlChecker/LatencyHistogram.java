@@ -0,0 +1,83 @@
+package tool.urlChecker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定記憶體的 log-linear 延遲直方圖（毫秒）
+ * 小於 SUB_BUCKETS 的值各自一格；之後每個 2 的次方區間 [2^m, 2^(m+1)) 再等分為 SUB_BUCKETS 格，
+ * 相對誤差不超過 1 / SUB_BUCKETS（約 3%）。超過 MAX_TRACKABLE_MS 的值記入最後一格，max 仍保留實際值。
+ * 可由多個 thread 同時記錄。
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * 約 70 分鐘，遠大於逾時上限
+	 */
+	static final long MAX_TRACKABLE_MS = (1L << 22) - 1;
+	private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_MS) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void record(long valueMs) {
+		long value = Math.max(0, valueMs);
+		counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_MS)));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getSum() {
+		return sum.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * 第 percentile（0–100）百分位數，回傳該格上限（不超過實際最大值）；沒有資料時回傳 0
+	 */
+	public long valueAtPercentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
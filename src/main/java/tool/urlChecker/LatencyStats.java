@@ -0,0 +1,160 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 各 URL 與整體的延遲直方圖，輸出百分位數報表並匯出 JSON / Prometheus text exposition 檔
+ * 只記錄有收到 HTTP 回應的檢查（含非 200），連線失敗另外計數，避免逾時值扭曲延遲分布。
+ */
+public class LatencyStats {
+
+	static final String JSON_FILE = "url-latency.json";
+	static final String PROMETHEUS_FILE = "url-latency.prom";
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+	private final Map<String, LatencyHistogram> perUrl = new LinkedHashMap<>();
+	private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+	private final LatencyHistogram global = new LatencyHistogram();
+
+	/**
+	 * 依 urls 順序預先建立各 URL 的直方圖，之後不再新增 key，可由多個 thread 同時記錄
+	 */
+	public LatencyStats(List<String> urls) {
+		for (String url : urls) {
+			perUrl.put(url, new LatencyHistogram());
+			errors.put(url, new AtomicLong());
+		}
+	}
+
+	public void record(CheckResult result) {
+		LatencyHistogram histogram = perUrl.get(result.getUrl());
+		if (histogram == null) {
+			return;
+		}
+		if (result.getStatusCode() > 0) {
+			histogram.record(result.getElapsedMs());
+			global.record(result.getElapsedMs());
+		} else {
+			errors.get(result.getUrl()).incrementAndGet();
+		}
+	}
+
+	public void recordAll(List<CheckResult> results) {
+		for (CheckResult result : results) {
+			record(result);
+		}
+	}
+
+	public LatencyHistogram getGlobal() {
+		return global;
+	}
+
+	public LatencyHistogram get(String url) {
+		return perUrl.get(url);
+	}
+
+	public void print() {
+		System.out.println("\nLatency (ms)");
+		System.out.println(String.format("%-40s %7s %7s %7s %7s %7s %7s", "url", "count", "errors", "p50", "p90", "p99", "max"));
+		for (Map.Entry<String, LatencyHistogram> entry : perUrl.entrySet()) {
+			System.out.println(row(entry.getKey(), entry.getValue(), errors.get(entry.getKey()).get()));
+		}
+		long totalErrors = 0;
+		for (AtomicLong error : errors.values()) {
+			totalErrors += error.get();
+		}
+		System.out.println(row("ALL", global, totalErrors));
+	}
+
+	private static String row(String label, LatencyHistogram histogram, long errorCount) {
+		return String.format("%-40s %7d %7d %7d %7d %7d %7d", label, histogram.getCount(), errorCount,
+			histogram.valueAtPercentile(50), histogram.valueAtPercentile(90), histogram.valueAtPercentile(99), histogram.getMax());
+	}
+
+	/**
+	 * 於 dir 寫出 url-latency.json 與 url-latency.prom；先寫暫存檔再搬移，讀取端不會讀到寫到一半的檔案
+	 */
+	public void export(Path dir, ObjectMapper mapper) throws IOException {
+		Files.createDirectories(dir);
+		writeAtomically(dir.resolve(JSON_FILE), mapper.writerWithDefaultPrettyPrinter().writeValueAsString(toJson(mapper)));
+		writeAtomically(dir.resolve(PROMETHEUS_FILE), toPrometheus());
+	}
+
+	ObjectNode toJson(ObjectMapper mapper) {
+		ObjectNode root = mapper.createObjectNode();
+		root.put("generatedAt", System.currentTimeMillis());
+		root.set("global", histogramJson(mapper, global, -1));
+		ObjectNode urls = root.putObject("urls");
+		for (Map.Entry<String, LatencyHistogram> entry : perUrl.entrySet()) {
+			urls.set(entry.getKey(), histogramJson(mapper, entry.getValue(), errors.get(entry.getKey()).get()));
+		}
+		return root;
+	}
+
+	private static ObjectNode histogramJson(ObjectMapper mapper, LatencyHistogram histogram, long errorCount) {
+		ObjectNode node = mapper.createObjectNode();
+		node.put("count", histogram.getCount());
+		if (errorCount >= 0) {
+			node.put("errors", errorCount);
+		}
+		node.put("p50", histogram.valueAtPercentile(50));
+		node.put("p90", histogram.valueAtPercentile(90));
+		node.put("p99", histogram.valueAtPercentile(99));
+		node.put("max", histogram.getMax());
+		node.put("sum", histogram.getSum());
+		return node;
+	}
+
+	/**
+	 * Prometheus summary（分位數已在本地計算）加上錯誤計數與最大值
+	 */
+	String toPrometheus() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("# HELP url_check_latency_ms URL check latency in milliseconds\n");
+		sb.append("# TYPE url_check_latency_ms summary\n");
+		for (Map.Entry<String, LatencyHistogram> entry : perUrl.entrySet()) {
+			String label = "url=\"" + escape(entry.getKey()) + "\"";
+			LatencyHistogram histogram = entry.getValue();
+			for (double quantile : QUANTILES) {
+				sb.append("url_check_latency_ms{").append(label).append(",quantile=\"").append(quantile).append("\"} ")
+					.append(histogram.valueAtPercentile(quantile * 100)).append('\n');
+			}
+			sb.append("url_check_latency_ms_sum{").append(label).append("} ").append(histogram.getSum()).append('\n');
+			sb.append("url_check_latency_ms_count{").append(label).append("} ").append(histogram.getCount()).append('\n');
+		}
+		sb.append("# HELP url_check_latency_max_ms Maximum URL check latency in milliseconds\n");
+		sb.append("# TYPE url_check_latency_max_ms gauge\n");
+		for (Map.Entry<String, LatencyHistogram> entry : perUrl.entrySet()) {
+			sb.append("url_check_latency_max_ms{url=\"").append(escape(entry.getKey())).append("\"} ")
+				.append(entry.getValue().getMax()).append('\n');
+		}
+		sb.append("# HELP url_check_errors_total URL checks that got no HTTP response\n");
+		sb.append("# TYPE url_check_errors_total counter\n");
+		for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+			sb.append("url_check_errors_total{url=\"").append(escape(entry.getKey())).append("\"} ")
+				.append(entry.getValue().get()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static void writeAtomically(Path target, String content) throws IOException {
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
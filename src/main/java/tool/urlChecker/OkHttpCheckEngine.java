@@ -0,0 +1,111 @@
+package tool.urlChecker;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import util.TaskExecutors;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以 OkHttp 非同步呼叫（enqueue）執行檢查
+ * Dispatcher 限制同時進行的請求總數與每個 host 的請求數，超過的請求在 Dispatcher 內排隊而不佔用 thread；
+ * 所有請求共用同一個連線池，同一 host 的後續請求可重用連線；主機名稱經由 DnsCache 解析。
+ * TLS 使用 CapturingTrustManager，握手失敗時仍回報憑證資訊；OkHttp 在同一個 thread 上建立連線並呼叫 Callback，可由 Callback 取出。
+ */
+public class OkHttpCheckEngine implements CheckEngine {
+
+	private static final long KEEP_ALIVE_MS = 60_000;
+
+	private final OkHttpClient client;
+	private final CapturingTrustManager trustManager;
+
+	public OkHttpCheckEngine(int maxRequests, int maxRequestsPerHost, int connectTimeout, int readTimeout) {
+		this(maxRequests, maxRequestsPerHost, connectTimeout, readTimeout, new DnsCache(HostResolver.SYSTEM, 0, 0));
+	}
+
+	public OkHttpCheckEngine(int maxRequests, int maxRequestsPerHost, int connectTimeout, int readTimeout, DnsCache dnsCache) {
+		// 執行中的呼叫佔用 executor 的 thread：Java 8 受 platform thread 上限限制，Java 21 為 virtual thread
+		Dispatcher dispatcher = new Dispatcher(TaskExecutors.newBlockingExecutor("url-okhttp", maxRequests));
+		dispatcher.setMaxRequests(Math.max(1, maxRequests));
+		dispatcher.setMaxRequestsPerHost(Math.max(1, maxRequestsPerHost));
+		try {
+			this.trustManager = new CapturingTrustManager();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot initialize TLS: " + e.getMessage(), e);
+		}
+
+		OkHttpClient.Builder builder = new OkHttpClient.Builder()
+			.dispatcher(dispatcher)
+			.dns(hostname -> Arrays.asList(dnsCache.resolve(hostname)))
+			.connectionPool(new ConnectionPool(Math.max(1, maxRequests), KEEP_ALIVE_MS, TimeUnit.MILLISECONDS))
+			.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+			.readTimeout(readTimeout, TimeUnit.MILLISECONDS);
+		try {
+			builder.sslSocketFactory(trustManager.newSslContext().getSocketFactory(), trustManager);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot initialize TLS: " + e.getMessage(), e);
+		}
+		this.client = builder.build();
+	}
+
+	@Override
+	public CompletableFuture<CheckResult> check(int index, String url) {
+		CompletableFuture<CheckResult> future = new CompletableFuture<>();
+		HttpUrl httpUrl = HttpUrl.parse(url);
+		if (httpUrl == null) {
+			future.complete(CheckResult.error(index, url, url, "Invalid URL", 0));
+			return future;
+		}
+
+		long start = System.nanoTime();
+		Request request = new Request.Builder().url(httpUrl).get().build();
+		client.newCall(request).enqueue(new Callback() {
+			@Override
+			public void onFailure(Call call, IOException e) {
+				// 轉址到其他 host 後握手失敗時，憑證屬於握手的 host
+				CertInfo cert = trustManager.takeCert(httpUrl.host());
+				future.complete(CheckResult.error(index, url, httpUrl.host(), e, elapsedMs(start)).withCert(cert));
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) {
+				// 只需要狀態碼，不讀取 body；關閉時 OkHttp 會丟棄剩餘內容，連線仍可回到連線池重用
+				try (Response r = response) {
+					int code = r.code();
+					CheckResult result = code == 200
+						? CheckResult.ok(index, url, httpUrl.host(), code, elapsedMs(start))
+						: CheckResult.failed(index, url, httpUrl.host(), code, elapsedMs(start));
+					// 成功時以 handshake 為準（重用連線時仍是建立該連線時的結果），只清除此 thread 記下的憑證鏈
+					trustManager.take();
+					Handshake handshake = r.handshake();
+					future.complete(handshake == null ? result
+						: result.withCert(CertInfo.of(CertInfo.x509(handshake.peerCertificates().toArray(new Certificate[0])), r.request().url().host())));
+				}
+			}
+		});
+		return future;
+	}
+
+	@Override
+	public void close() {
+		client.dispatcher().cancelAll();
+		client.dispatcher().executorService().shutdown();
+		client.connectionPool().evictAll();
+	}
+
+	private static long elapsedMs(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,69 @@
+package tool.urlChecker;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 單一 domain 各階段耗時
+ * 只由執行該次檢查的 thread 寫入，完成後隨 CheckResult 交出，之後不再變動
+ */
+public class PhaseTimings {
+
+	private final Map<ProbePhase, Long> elapsedMs = new EnumMap<>(ProbePhase.class);
+	private ProbePhase current;
+	private long startedAt;
+	private boolean getFallback;
+
+	void begin(ProbePhase phase) {
+		current = phase;
+		startedAt = System.nanoTime();
+	}
+
+	void end() {
+		elapsedMs.put(current, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+		current = null;
+	}
+
+	/**
+	 * 進行中（尚未 end）的階段；發生例外時即為失敗的階段
+	 */
+	ProbePhase getCurrent() {
+		return current;
+	}
+
+	void markGetFallback() {
+		getFallback = true;
+	}
+
+	/**
+	 * HEAD 不被支援而改送 GET
+	 */
+	public boolean isGetFallback() {
+		return getFallback;
+	}
+
+	/**
+	 * 指定階段耗時（毫秒），未執行到的階段回傳 null
+	 */
+	public Long get(ProbePhase phase) {
+		return elapsedMs.get(phase);
+	}
+
+	/**
+	 * 例：resolve 2 ms, connect 15 ms, tls 48 ms, first byte 120 ms
+	 */
+	public String describe() {
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<ProbePhase, Long> entry : elapsedMs.entrySet()) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			sb.append(entry.getKey().getLabel()).append(' ').append(entry.getValue()).append(" ms");
+		}
+		if (getFallback) {
+			sb.append(" (GET fallback)");
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,296 @@
+package tool.urlChecker;
+
+import util.TaskExecutors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 分階段探測：DNS 解析 → TCP 連線 → TLS 握手 → HTTP 首位元組，各階段有各自的逾時並記錄耗時
+ * 任一階段失敗即停止，報表標示失敗的階段；HTTP 只讀到狀態列（轉址時再讀到 Location 標頭）為止，不下載內容。
+ * headFirst 時先送 HEAD，伺服器回 405/501 再改送 GET。HTTPS 握手時記下伺服器憑證，憑證驗證失敗的結果也附有憑證摘要。
+ * - 與其他引擎一致跟隨 3xx 轉址，最多 MAX_REDIRECTS 次，每次轉址重新執行各階段，耗時與憑證以最後一次為準
+ * - host 解析出多個位址時依序連線，連線失敗才改用下一個位址
+ */
+public class ProbeCheckEngine implements CheckEngine {
+
+	private static final int MAX_STATUS_LINE = 8192;
+	/**
+	 * 與 HttpURLConnection / OkHttp 的預設上限相同，超過時以最後的 3xx 狀態碼回報
+	 */
+	static final int MAX_REDIRECTS = 20;
+	private static final int MAX_HEADER_LINES = 100;
+
+	private final ExecutorService workers;
+	/**
+	 * InetAddress 解析本身無逾時設定，改在獨立的 pool 執行並限時等待；與 workers 分開以免互相佔滿
+	 */
+	private final ExecutorService resolvers;
+	private final CapturingTrustManager trustManager;
+	private final SSLSocketFactory sslSocketFactory;
+	private final int resolveTimeout;
+	private final int connectTimeout;
+	private final int tlsTimeout;
+	private final int readTimeout;
+	private final boolean headFirst;
+	private final DnsCache dnsCache;
+
+	public ProbeCheckEngine(int concurrency, int resolveTimeout, int connectTimeout, int tlsTimeout, int readTimeout, boolean headFirst) {
+		this(concurrency, resolveTimeout, connectTimeout, tlsTimeout, readTimeout, headFirst, new DnsCache(HostResolver.SYSTEM, 0, 0));
+	}
+
+	/**
+	 * dnsCache 已預先解析過的 host，resolve 階段直接取快取結果
+	 */
+	public ProbeCheckEngine(int concurrency, int resolveTimeout, int connectTimeout, int tlsTimeout, int readTimeout, boolean headFirst,
+		DnsCache dnsCache) {
+		this.workers = TaskExecutors.newBlockingExecutor("url-probe", concurrency);
+		this.resolvers = TaskExecutors.newBlockingExecutor("url-resolve", concurrency);
+		this.resolveTimeout = resolveTimeout;
+		this.connectTimeout = connectTimeout;
+		this.tlsTimeout = tlsTimeout;
+		this.readTimeout = readTimeout;
+		this.headFirst = headFirst;
+		this.dnsCache = dnsCache;
+		try {
+			this.trustManager = new CapturingTrustManager();
+			this.sslSocketFactory = trustManager.newSslContext().getSocketFactory();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot initialize TLS: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public CompletableFuture<CheckResult> check(int index, String url) {
+		return CompletableFuture.supplyAsync(() -> probe(index, url), workers);
+	}
+
+	@Override
+	public void close() {
+		workers.shutdownNow();
+		resolvers.shutdownNow();
+	}
+
+	CheckResult probe(int index, String urlString) {
+		long start = System.nanoTime();
+		URL url;
+		try {
+			url = new URL(urlString);
+		} catch (MalformedURLException e) {
+			return CheckResult.error(index, urlString, urlString, e.getMessage(), 0);
+		}
+		String host = url.getHost();
+		PhaseTimings timings = new PhaseTimings();
+		URL current = url;
+		try {
+			int statusCode;
+			int redirects = 0;
+			while (true) {
+				// 清除此 worker thread 上一個檢查（或上一次轉址）留下的憑證鏈
+				trustManager.take();
+				timings.begin(ProbePhase.RESOLVE);
+				InetAddress[] addresses = resolve(current.getHost());
+				timings.end();
+
+				Response response = exchange(addresses, current, headFirst ? "HEAD" : "GET", timings);
+				if (headFirst && (response.statusCode == 405 || response.statusCode == 501)) {
+					timings.markGetFallback();
+					response = exchange(addresses, current, "GET", timings);
+				}
+				URL next = response.redirectTarget(current);
+				if (next == null || redirects == MAX_REDIRECTS) {
+					statusCode = response.statusCode;
+					break;
+				}
+				redirects++;
+				current = next;
+			}
+
+			long elapsedMs = elapsedSince(start);
+			CheckResult result = statusCode == 200
+				? CheckResult.ok(index, urlString, host, statusCode, elapsedMs)
+				: CheckResult.failed(index, urlString, host, statusCode, elapsedMs);
+			return result.withTimings(timings).withCert(CertInfo.of(trustManager.take(), current.getHost()));
+		} catch (Exception e) {
+			ProbePhase failed = timings.getCurrent() != null ? timings.getCurrent() : ProbePhase.RESOLVE;
+			return CheckResult.phaseError(index, urlString, host, failed, String.valueOf(e.getMessage()), elapsedSince(start), timings)
+				.withCert(CertInfo.of(trustManager.take(), current.getHost()));
+		}
+	}
+
+	private InetAddress[] resolve(String host) throws Exception {
+		Future<InetAddress[]> future = resolvers.submit(() -> dnsCache.resolve(host));
+		try {
+			return future.get(resolveTimeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new SocketTimeoutException("Resolve timed out after " + resolveTimeout + " ms");
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * 建立一條新連線送出請求，只讀狀態列（3xx 時再讀標頭）即關閉；CONNECT / TLS / FIRST_BYTE 的耗時寫入 timings（GET 重試與轉址時覆寫）
+	 */
+	private Response exchange(InetAddress[] addresses, URL url, String method, PhaseTimings timings) throws IOException {
+		boolean https = "https".equalsIgnoreCase(url.getProtocol());
+		int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+
+		timings.begin(ProbePhase.CONNECT);
+		Socket socket = connect(addresses, port);
+		try {
+			timings.end();
+
+			if (https) {
+				timings.begin(ProbePhase.TLS);
+				SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, url.getHost(), port, true);
+				SSLParameters parameters = sslSocket.getSSLParameters();
+				parameters.setEndpointIdentificationAlgorithm("HTTPS");
+				sslSocket.setSSLParameters(parameters);
+				sslSocket.setSoTimeout(tlsTimeout);
+				sslSocket.startHandshake();
+				timings.end();
+				trustManager.capture(CertInfo.x509(sslSocket.getSession().getPeerCertificates()));
+				socket = sslSocket;
+			}
+
+			timings.begin(ProbePhase.FIRST_BYTE);
+			socket.setSoTimeout(readTimeout);
+			String path = url.getFile().isEmpty() ? "/" : url.getFile();
+			String hostHeader = url.getPort() != -1 ? url.getHost() + ":" + port : url.getHost();
+			OutputStream out = socket.getOutputStream();
+			out.write((method + " " + path + " HTTP/1.1\r\n"
+				+ "Host: " + hostHeader + "\r\n"
+				+ "Accept: */*\r\n"
+				+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			InputStream in = socket.getInputStream();
+			int first = in.read();
+			if (first < 0) {
+				throw new IOException("Connection closed before response");
+			}
+			timings.end();
+			int statusCode = parseStatusCode(readLine(first, in));
+			return new Response(statusCode, isRedirect(statusCode) ? readLocation(in) : null);
+		} finally {
+			socket.close();
+		}
+	}
+
+	/**
+	 * 依序連線到各個位址，全部失敗時拋出最後一個位址的錯誤
+	 */
+	private Socket connect(InetAddress[] addresses, int port) throws IOException {
+		IOException lastError = null;
+		for (InetAddress address : addresses) {
+			Socket socket = new Socket();
+			try {
+				socket.connect(new InetSocketAddress(address, port), connectTimeout);
+				return socket;
+			} catch (IOException e) {
+				socket.close();
+				lastError = e;
+			}
+		}
+		throw lastError != null ? lastError : new IOException("No address to connect");
+	}
+
+	private static boolean isRedirect(int statusCode) {
+		return statusCode == 301 || statusCode == 302 || statusCode == 303 || statusCode == 307 || statusCode == 308;
+	}
+
+	/**
+	 * 讀取狀態列之後的標頭，回傳 Location 的值（沒有時為 null）
+	 */
+	private static String readLocation(InputStream in) throws IOException {
+		for (int i = 0; i < MAX_HEADER_LINES; i++) {
+			String line = readLine(in.read(), in);
+			if (line.isEmpty()) {
+				return null;
+			}
+			int colon = line.indexOf(':');
+			if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Location")) {
+				return line.substring(colon + 1).trim();
+			}
+		}
+		return null;
+	}
+
+	private static String readLine(int first, InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int b = first;
+		while (b >= 0 && b != '\n' && line.length() < MAX_STATUS_LINE) {
+			if (b != '\r') {
+				line.append((char) b);
+			}
+			b = in.read();
+		}
+		return line.toString();
+	}
+
+	/**
+	 * 例：HTTP/1.1 200 OK → 200
+	 */
+	static int parseStatusCode(String statusLine) throws IOException {
+		String[] parts = statusLine.split(" ", 3);
+		if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+			throw new IOException("Malformed status line: " + statusLine);
+		}
+		try {
+			return Integer.parseInt(parts[1]);
+		} catch (NumberFormatException e) {
+			throw new IOException("Malformed status line: " + statusLine);
+		}
+	}
+
+	private static long elapsedSince(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private static class Response {
+		final int statusCode;
+		final String location;
+
+		Response(int statusCode, String location) {
+			this.statusCode = statusCode;
+			this.location = location;
+		}
+
+		/**
+		 * 可跟隨的轉址目標（相對路徑以目前 URL 解析）；非轉址、缺少 Location 或非 http / https 時回傳 null
+		 */
+		URL redirectTarget(URL current) {
+			if (location == null || location.isEmpty()) {
+				return null;
+			}
+			try {
+				URL next = new URL(current, location);
+				String protocol = next.getProtocol();
+				return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol) ? next : null;
+			} catch (MalformedURLException e) {
+				return null;
+			}
+		}
+	}
+}
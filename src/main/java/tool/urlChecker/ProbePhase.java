@@ -0,0 +1,21 @@
+package tool.urlChecker;
+
+/**
+ * probe 引擎的檢查階段，依序執行
+ */
+public enum ProbePhase {
+	RESOLVE("resolve"),
+	CONNECT("connect"),
+	TLS("tls"),
+	FIRST_BYTE("first byte");
+
+	private final String label;
+
+	ProbePhase(String label) {
+		this.label = label;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+}
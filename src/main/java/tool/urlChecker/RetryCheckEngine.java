@@ -0,0 +1,135 @@
+package tool.urlChecker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 在其他引擎前加上重試與 hedged request
+ * 暫時性失敗（逾時、連線失敗、502 / 503 / 504）以指數退避加 full jitter 重試，第 n 次重試前等待 0 ~ min(maxBackoff, backoff × 2^n) 毫秒；
+ * DNS、TLS 與其他 HTTP 狀態碼不重試。hedgeAfterMs 大於 0 時，同一次嘗試超過該時間仍未完成會再送出一個請求，取先得到的確定結果。
+ */
+public class RetryCheckEngine implements CheckEngine {
+
+	private final CheckEngine delegate;
+	private final int retries;
+	private final long backoffMs;
+	private final long maxBackoffMs;
+	private final long hedgeAfterMs;
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "url-retry");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicInteger retried = new AtomicInteger();
+	private final AtomicInteger hedged = new AtomicInteger();
+
+	public RetryCheckEngine(CheckEngine delegate, int retries, long backoffMs, long maxBackoffMs, long hedgeAfterMs) {
+		this.delegate = delegate;
+		this.retries = retries;
+		this.backoffMs = Math.max(1, backoffMs);
+		this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+		this.hedgeAfterMs = hedgeAfterMs;
+	}
+
+	@Override
+	public CompletableFuture<CheckResult> check(int index, String url) {
+		CompletableFuture<CheckResult> future = new CompletableFuture<>();
+		attempt(index, url, 0, future);
+		return future;
+	}
+
+	/**
+	 * 停止尚未開始的重試（進行中的請求由被包裝的引擎結束），再關閉被包裝的引擎
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		delegate.close();
+	}
+
+	@Override
+	public List<String> summary() {
+		List<String> lines = new ArrayList<>(delegate.summary());
+		lines.add("Retries: " + retried.get() + ", hedged requests: " + hedged.get());
+		return lines;
+	}
+
+	/**
+	 * 逾時、連線失敗與 502 / 503 / 504 視為暫時性失敗
+	 */
+	static boolean isRetryable(CheckResult result) {
+		switch (ErrorClass.of(result)) {
+			case TIMEOUT:
+			case CONNECT:
+			case CONNECTION:
+				return true;
+			case HTTP_STATUS:
+				int code = result.getStatusCode();
+				return code == 502 || code == 503 || code == 504;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * 第 attempt 次重試前的等待毫秒數（full jitter）
+	 */
+	long backoff(int attempt) {
+		long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt, 30));
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	private void attempt(int index, String url, int attempt, CompletableFuture<CheckResult> future) {
+		hedgedCheck(index, url).whenComplete((result, error) -> {
+			if (attempt < retries && isRetryable(result)) {
+				try {
+					scheduler.schedule(() -> attempt(index, url, attempt + 1, future), backoff(attempt), TimeUnit.MILLISECONDS);
+					retried.incrementAndGet();
+					return;
+				} catch (RejectedExecutionException e) {
+					// close() 之後不再重試
+				}
+			}
+			future.complete(result);
+		});
+	}
+
+	/**
+	 * 回傳一次嘗試的結果；先完成的確定結果（成功或不需重試的失敗）優先，兩個請求都是暫時性失敗時取後完成者
+	 */
+	private CompletableFuture<CheckResult> hedgedCheck(int index, String url) {
+		CompletableFuture<CheckResult> future = new CompletableFuture<>();
+		AtomicInteger pending = new AtomicInteger(1);
+		BiConsumer<CheckResult, Throwable> onDone = (result, error) -> {
+			CheckResult checked = result != null ? result : CheckResult.error(index, url, UrlChecker.hostOf(url), error, 0);
+			if (!isRetryable(checked) || pending.decrementAndGet() == 0) {
+				future.complete(checked);
+			}
+		};
+		delegate.check(index, url).whenComplete(onDone);
+		if (hedgeAfterMs > 0) {
+			try {
+				ScheduledFuture<?> hedge = scheduler.schedule(() -> {
+					if (!future.isDone()) {
+						pending.incrementAndGet();
+						hedged.incrementAndGet();
+						delegate.check(index, url).whenComplete(onDone);
+					}
+				}, hedgeAfterMs, TimeUnit.MILLISECONDS);
+				future.whenComplete((result, error) -> hedge.cancel(false));
+			} catch (RejectedExecutionException e) {
+				// close() 之後不再 hedge
+			}
+		}
+		return future;
+	}
+}
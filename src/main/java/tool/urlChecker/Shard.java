@@ -0,0 +1,71 @@
+package tool.urlChecker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * --shard i/N：以 domain 的 CRC32 取餘數分片，i 從 1 起算
+ * 同一份清單在不同機器、不同 JVM 上分到的片都相同，N 個分片互不重疊且合起來就是完整清單。
+ */
+public class Shard {
+
+	private final int index;
+	private final int count;
+
+	public Shard(int index, int count) {
+		if (count < 1 || index < 1 || index > count) {
+			throw new IllegalArgumentException("Invalid shard " + index + "/" + count + ", expected 1 <= i <= N");
+		}
+		this.index = index;
+		this.count = count;
+	}
+
+	/**
+	 * 例：2/4
+	 */
+	public static Shard parse(String spec) {
+		String[] parts = spec.split("/");
+		if (parts.length != 2) {
+			throw new IllegalArgumentException("Invalid shard: " + spec + " (expected i/N, e.g. 1/4)");
+		}
+		try {
+			return new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid shard: " + spec + " (expected i/N, e.g. 1/4)");
+		}
+	}
+
+	/**
+	 * 大小寫與前後空白不影響分片
+	 */
+	public boolean contains(String domain) {
+		CRC32 crc = new CRC32();
+		crc.update(domain.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+		return crc.getValue() % count == index - 1;
+	}
+
+	public List<String> filter(List<String> domains) {
+		List<String> selected = new ArrayList<>();
+		for (String domain : domains) {
+			if (contains(domain)) {
+				selected.add(domain);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * 報告檔名用，例：shard-2-of-4
+	 */
+	public String label() {
+		return "shard-" + index + "-of-" + count;
+	}
+
+	@Override
+	public String toString() {
+		return index + "/" + count;
+	}
+}
@@ -0,0 +1,71 @@
+package tool.urlChecker;
+
+import util.Console;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 以固定大小的視窗串流檢查：從 DomainSource 逐筆讀取，進行中（含在引擎內排隊）的 URL 最多 window 筆，
+ * 額滿時暫停讀取，記憶體用量與清單長度無關。結果完成即交給 sink，不保留。
+ */
+public class StreamingCheck {
+
+	private final CheckEngine engine;
+	private final int window;
+
+	public StreamingCheck(CheckEngine engine, int window) {
+		this.engine = engine;
+		this.window = Math.max(1, window);
+	}
+
+	/**
+	 * @param shard 為 null 時檢查全部 domain
+	 * @param toUrl domain 轉為完整 URL
+	 * @param sink  每筆結果完成時於引擎的 thread 呼叫
+	 * @return 實際檢查的 URL 數
+	 */
+	public int run(DomainSource source, Shard shard, Function<String, String> toUrl, Consumer<CheckResult> sink)
+		throws IOException, InterruptedException {
+		Semaphore inFlight = new Semaphore(window);
+		AtomicInteger done = new AtomicInteger();
+		AtomicReference<RuntimeException> sinkError = new AtomicReference<>();
+		int submitted = 0;
+		String domain;
+		while (sinkError.get() == null && (domain = source.next()) != null) {
+			if (shard != null && !shard.contains(domain)) {
+				continue;
+			}
+			String url = toUrl.apply(domain);
+			int index = submitted++;
+			inFlight.acquire();
+			engine.check(index, url).whenComplete((result, e) -> {
+				try {
+					// 引擎的 future 異常完成時也要記下一筆錯誤，合併後的報表才會涵蓋所有送出的 domain
+					CheckResult checked = result != null ? result : CheckResult.error(index, url, UrlChecker.hostOf(url), e, 0);
+					Console.out().println("[" + done.incrementAndGet() + "] Checking URL: " + url + " ... " + checked.statusLine());
+					sink.accept(checked);
+				} catch (RuntimeException ex) {
+					sinkError.compareAndSet(null, ex);
+				} finally {
+					inFlight.release();
+				}
+			});
+		}
+		// 取回全部許可即代表所有檢查都已完成
+		inFlight.acquire(window);
+		RuntimeException error = sinkError.get();
+		if (error instanceof UncheckedIOException) {
+			throw ((UncheckedIOException) error).getCause();
+		}
+		if (error != null) {
+			throw error;
+		}
+		return submitted;
+	}
+}
@@ -0,0 +1,96 @@
+package tool.urlChecker;
+
+import util.TaskExecutors;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 以阻塞式 HttpURLConnection 執行檢查，每個進行中的檢查佔用一個 thread
+ * Java 8 為固定大小的 platform thread pool；以 Java 21 執行 multi-release JAR 時改用 virtual thread（見 TaskExecutors）
+ */
+public class ThreadPoolCheckEngine implements CheckEngine {
+
+	private final ExecutorService workers;
+	private final int connectTimeout;
+	private final int readTimeout;
+	private final CapturingTrustManager trustManager;
+	private final SSLSocketFactory sslSocketFactory;
+
+	public ThreadPoolCheckEngine(int concurrency, int connectTimeout, int readTimeout) {
+		this.workers = TaskExecutors.newBlockingExecutor("url-check", concurrency);
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		try {
+			this.trustManager = new CapturingTrustManager();
+			this.sslSocketFactory = trustManager.newSslContext().getSocketFactory();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot initialize TLS: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public CompletableFuture<CheckResult> check(int index, String url) {
+		return CompletableFuture.supplyAsync(() -> checkUrl(index, url), workers);
+	}
+
+	@Override
+	public void close() {
+		workers.shutdownNow();
+	}
+
+	/**
+	 * HTTPS 使用 CapturingTrustManager 建立的 SSLSocketFactory，憑證過期、不受信任或主機名稱不符導致握手失敗時仍回報憑證資訊；
+	 * 重用既有連線時沒有新的握手，改由 getServerCertificates 取得
+	 */
+	private CheckResult checkUrl(int index, String urlString) {
+		URL url = null;
+		HttpURLConnection conn = null;
+		long start = System.nanoTime();
+		// 清除此 thread 上一次檢查留下的憑證鏈
+		trustManager.take();
+		try {
+			url = new URL(urlString);
+			conn = (HttpURLConnection) url.openConnection();
+			if (conn instanceof HttpsURLConnection) {
+				((HttpsURLConnection) conn).setSSLSocketFactory(sslSocketFactory);
+			}
+			conn.setRequestMethod("GET");
+			conn.setConnectTimeout(connectTimeout);
+			conn.setReadTimeout(readTimeout);
+			int responseCode = conn.getResponseCode();
+			X509Certificate[] chain = trustManager.take();
+			if (chain == null && conn instanceof HttpsURLConnection) {
+				chain = CertInfo.x509(((HttpsURLConnection) conn).getServerCertificates());
+			}
+			CertInfo cert = CertInfo.of(chain, certHost(conn, url));
+			conn.disconnect();
+
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (responseCode == 200) {
+				return CheckResult.ok(index, urlString, url.getHost(), responseCode, elapsedMs).withCert(cert);
+			}
+			return CheckResult.failed(index, urlString, url.getHost(), responseCode, elapsedMs).withCert(cert);
+		} catch (Exception e) {
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			CertInfo cert = url != null ? CertInfo.of(trustManager.take(), certHost(conn, url)) : null;
+			return CheckResult.error(index, urlString, url == null ? urlString : url.getHost(), e, elapsedMs).withCert(cert);
+		}
+	}
+
+	/**
+	 * 跟隨轉址到另一個 HTTPS 主機時，憑證屬於最後連線的主機
+	 */
+	private static String certHost(HttpURLConnection conn, URL url) {
+		URL current = conn != null ? conn.getURL() : url;
+		return "https".equalsIgnoreCase(current.getProtocol()) ? current.getHost() : url.getHost();
+	}
+}
@@ -0,0 +1,356 @@
+package tool.urlChecker;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import util.TaskExecutors;
+
+/**
+ * 在其他引擎前加上節流
+ * 每個可註冊網域（registrable domain）與每個解析後的 IP 各有一個 token bucket，另可加上 AdaptiveLimit 動態調整同時檢查數。
+ * 待檢查的 URL 依網域排成佇列，由單一 dispatcher thread 輪流取出 token 已足夠的網域送給被包裝的引擎，
+ * 某個網域等待 token 時不會擋住其他網域。rate 小於等於 0 表示不限制。
+ * - 設定 ipRate 時 URL 先在獨立的 pool 經 DnsCache 取得 IP 再排入佇列，check 本身不做 DNS 查詢，立即回傳
+ * - 閒置到 token 已補滿的 bucket 與新建的無異，bucket 數超過門檻時一併移除，記憶體只隨活躍的網域 / IP 數成長
+ */
+public class ThrottledCheckEngine implements CheckEngine {
+
+	/**
+	 * 常見的二層公共後綴（例：com.tw、co.uk、ne.jp），搭配兩字母國碼時可註冊網域取最後三段
+	 */
+	private static final Set<String> SECOND_LEVEL_LABELS = new HashSet<>(Arrays.asList(
+		"com", "net", "org", "edu", "gov", "co", "ac", "or", "ne", "go"));
+	private static final int RESOLVE_PARALLELISM = 32;
+	private static final int MIN_PRUNE_THRESHOLD = 1024;
+
+	private final CheckEngine delegate;
+	private final DnsCache dnsCache;
+	private final double domainRate;
+	private final double domainBurst;
+	private final double ipRate;
+	private final double ipBurst;
+	private final AdaptiveLimit adaptiveLimit;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final Map<String, Lane> lanes = new HashMap<>();
+	private final PriorityQueue<Lane> ready = new PriorityQueue<>(
+		Comparator.comparingLong((Lane lane) -> lane.readyAt).thenComparingLong(lane -> lane.sequence));
+	private final Map<String, TokenBucket> domainBuckets = new HashMap<>();
+	private final Map<String, TokenBucket> ipBuckets = new HashMap<>();
+	/**
+	 * 等待 IP 解析、尚未排入佇列的 URL；ipRate 小於等於 0 時不使用
+	 */
+	private final Set<Task> resolving = new HashSet<>();
+	private final ExecutorService resolvers;
+	private final Thread dispatcher;
+	private long sequence;
+	private int domainPruneAt = MIN_PRUNE_THRESHOLD;
+	private int ipPruneAt = MIN_PRUNE_THRESHOLD;
+	private volatile boolean closed;
+
+	/**
+	 * @param adaptiveLimit 為 null 時同時檢查數只受被包裝引擎限制
+	 */
+	public ThrottledCheckEngine(CheckEngine delegate, DnsCache dnsCache, double domainRate, int domainBurst,
+		double ipRate, int ipBurst, AdaptiveLimit adaptiveLimit) {
+		this.delegate = delegate;
+		this.dnsCache = dnsCache;
+		this.domainRate = domainRate;
+		this.domainBurst = domainBurst;
+		this.ipRate = ipRate;
+		this.ipBurst = ipBurst;
+		this.adaptiveLimit = adaptiveLimit;
+		this.resolvers = ipRate > 0 ? TaskExecutors.newBlockingExecutor("url-throttle-dns", RESOLVE_PARALLELISM) : null;
+		this.dispatcher = new Thread(this::dispatchLoop, "url-throttle");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+
+	@Override
+	public CompletableFuture<CheckResult> check(int index, String url) {
+		Task task = new Task(index, url, UrlChecker.hostOf(url));
+		if (resolvers == null) {
+			enqueue(task);
+			return task.future;
+		}
+		lock.lock();
+		try {
+			if (closed) {
+				completeClosed(task);
+				return task.future;
+			}
+			resolving.add(task);
+		} finally {
+			lock.unlock();
+		}
+		try {
+			resolvers.execute(() -> {
+				try {
+					task.ip = resolveIp(task.host);
+				} finally {
+					enqueue(task);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// close() 之後
+			completeClosed(task);
+		}
+		return task.future;
+	}
+
+	/**
+	 * 排入所屬網域的佇列
+	 */
+	private void enqueue(Task task) {
+		lock.lock();
+		try {
+			resolving.remove(task);
+			if (closed) {
+				completeClosed(task);
+				return;
+			}
+			String domain = registrableDomain(task.host);
+			Lane lane = lanes.get(domain);
+			if (lane == null) {
+				lane = new Lane(domain);
+				lanes.put(domain, lane);
+				lane.readyAt = System.nanoTime();
+				lane.sequence = sequence++;
+				ready.add(lane);
+				changed.signal();
+			}
+			lane.tasks.add(task);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static void completeClosed(Task task) {
+		task.future.complete(CheckResult.error(task.index, task.url, task.host, "Engine closed", 0));
+	}
+
+	/**
+	 * 停止派送，尚未送出的 URL 以錯誤結果完成，再關閉被包裝的引擎
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		dispatcher.interrupt();
+		try {
+			dispatcher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		List<Task> pending = new ArrayList<>();
+		lock.lock();
+		try {
+			for (Lane lane : lanes.values()) {
+				pending.addAll(lane.tasks);
+			}
+			pending.addAll(resolving);
+			lanes.clear();
+			ready.clear();
+			resolving.clear();
+		} finally {
+			lock.unlock();
+		}
+		if (resolvers != null) {
+			resolvers.shutdownNow();
+		}
+		for (Task task : pending) {
+			completeClosed(task);
+		}
+		delegate.close();
+	}
+
+	@Override
+	public List<String> summary() {
+		List<String> lines = new ArrayList<>(delegate.summary());
+		if (adaptiveLimit != null) {
+			lines.add("Adaptive concurrency: final limit " + adaptiveLimit.getLimit() + " of " + adaptiveLimit.getMax());
+		}
+		return lines;
+	}
+
+	/**
+	 * 以最後兩段作為可註冊網域；兩字母國碼前接常見二層後綴時取最後三段（www.abc.com.tw → abc.com.tw）。
+	 * 不查 Public Suffix List，IP 位址原樣回傳。
+	 */
+	static String registrableDomain(String host) {
+		String normalized = host.toLowerCase(Locale.ROOT);
+		if (normalized.indexOf(':') >= 0 || normalized.matches("[0-9.]+")) {
+			return normalized;
+		}
+		String[] labels = normalized.split("\\.");
+		int n = labels.length;
+		if (n <= 2) {
+			return normalized;
+		}
+		int keep = labels[n - 1].length() == 2 && SECOND_LEVEL_LABELS.contains(labels[n - 2]) ? 3 : 2;
+		return String.join(".", Arrays.copyOfRange(labels, n - keep, n));
+	}
+
+	/**
+	 * 解析失敗時不套用 IP 限制，錯誤交由被包裝的引擎回報
+	 */
+	private String resolveIp(String host) {
+		try {
+			InetAddress[] addresses = dnsCache.resolve(host);
+			return addresses.length > 0 ? addresses[0].getHostAddress() : null;
+		} catch (UnknownHostException e) {
+			return null;
+		}
+	}
+
+	private void dispatchLoop() {
+		try {
+			while (!closed) {
+				if (adaptiveLimit != null) {
+					adaptiveLimit.acquire();
+				}
+				dispatch(nextTask());
+			}
+		} catch (InterruptedException e) {
+			// close() 中斷
+		}
+	}
+
+	/**
+	 * 取出最早可送出的網域佇列中的第一個 URL；token 不足時把該網域延後到可取得 token 的時間再排
+	 */
+	private Task nextTask() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				Lane lane = ready.peek();
+				long now = System.nanoTime();
+				if (lane == null) {
+					changed.await();
+					continue;
+				}
+				if (lane.readyAt > now) {
+					changed.awaitNanos(lane.readyAt - now);
+					continue;
+				}
+				ready.poll();
+				Task task = lane.tasks.peek();
+				if (domainBuckets.size() > domainPruneAt) {
+					domainPruneAt = prune(domainBuckets, now);
+				}
+				if (ipBuckets.size() > ipPruneAt) {
+					ipPruneAt = prune(ipBuckets, now);
+				}
+				TokenBucket domainBucket = bucket(domainBuckets, lane.domain, domainRate, domainBurst, now);
+				TokenBucket ipBucket = bucket(ipBuckets, task.ip, ipRate, ipBurst, now);
+				long wait = Math.max(domainBucket != null ? domainBucket.waitNanos(now) : 0, ipBucket != null ? ipBucket.waitNanos(now) : 0);
+				if (wait > 0) {
+					lane.readyAt = now + wait;
+					lane.sequence = sequence++;
+					ready.add(lane);
+					continue;
+				}
+				if (domainBucket != null) {
+					domainBucket.take(now);
+				}
+				if (ipBucket != null) {
+					ipBucket.take(now);
+				}
+				lane.tasks.poll();
+				if (lane.tasks.isEmpty()) {
+					lanes.remove(lane.domain);
+				} else {
+					lane.sequence = sequence++;
+					ready.add(lane);
+				}
+				return task;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static TokenBucket bucket(Map<String, TokenBucket> buckets, String key, double rate, double burst, long now) {
+		if (rate <= 0 || key == null) {
+			return null;
+		}
+		return buckets.computeIfAbsent(key, k -> new TokenBucket(rate, burst, now));
+	}
+
+	/**
+	 * 移除已補滿的 bucket，回傳下次清理的門檻（清理後數量的兩倍），清理成本平均分攤到每次派送
+	 */
+	static int prune(Map<String, TokenBucket> buckets, long now) {
+		Iterator<TokenBucket> iterator = buckets.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isFull(now)) {
+				iterator.remove();
+			}
+		}
+		return Math.max(MIN_PRUNE_THRESHOLD, buckets.size() * 2);
+	}
+
+	private void dispatch(Task task) {
+		CompletableFuture<CheckResult> future;
+		try {
+			future = delegate.check(task.index, task.url);
+		} catch (RuntimeException e) {
+			future = CompletableFuture.completedFuture(CheckResult.error(task.index, task.url, task.host, e.getMessage(), 0));
+		}
+		future.whenComplete((result, error) -> {
+			if (adaptiveLimit != null) {
+				adaptiveLimit.release(result != null ? result : CheckResult.error(task.index, task.url, task.host, String.valueOf(error), 0));
+			}
+			if (error != null) {
+				task.future.completeExceptionally(error);
+			} else {
+				task.future.complete(result);
+			}
+		});
+	}
+
+	private static class Lane {
+		private final String domain;
+		private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+		private long readyAt;
+		private long sequence;
+
+		private Lane(String domain) {
+			this.domain = domain;
+		}
+	}
+
+	private static class Task {
+		private final int index;
+		private final String url;
+		private final String host;
+		/**
+		 * 解析 thread 在排入佇列前寫入，dispatcher 在鎖內讀取；ipRate 小於等於 0 或解析失敗時為 null
+		 */
+		private String ip;
+		private final CompletableFuture<CheckResult> future = new CompletableFuture<>();
+
+		private Task(int index, String url, String host) {
+			this.index = index;
+			this.url = url;
+			this.host = host;
+		}
+	}
+}
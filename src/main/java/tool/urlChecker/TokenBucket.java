@@ -0,0 +1,50 @@
+package tool.urlChecker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket：每秒補充 rate 個 token，最多累積 burst 個；每個請求取一個
+ * 只由 ThrottledCheckEngine 的 dispatcher 在鎖內使用，不自行同步。
+ */
+class TokenBucket {
+
+	private final double ratePerNano;
+	private final double burst;
+	private double tokens;
+	private long updatedAt;
+
+	TokenBucket(double ratePerSecond, double burst, long now) {
+		this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.burst = Math.max(1, burst);
+		this.tokens = this.burst;
+		this.updatedAt = now;
+	}
+
+	/**
+	 * 距離有一個 token 可用還需等待的奈秒數，0 表示現在可取
+	 */
+	long waitNanos(long now) {
+		refill(now);
+		return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / ratePerNano);
+	}
+
+	/**
+	 * token 已補滿，與新建的 bucket 狀態相同
+	 */
+	boolean isFull(long now) {
+		refill(now);
+		return tokens >= burst;
+	}
+
+	void take(long now) {
+		refill(now);
+		tokens -= 1;
+	}
+
+	private void refill(long now) {
+		if (now > updatedAt) {
+			tokens = Math.min(burst, tokens + (now - updatedAt) * ratePerNano);
+			updatedAt = now;
+		}
+	}
+}
@@ -1,107 +1,551 @@
 package tool.urlChecker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import util.Console;
+import util.TaskExecutors;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
-import java.net.HttpURLConnection;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UrlChecker {
 
 	private static final int DEFAULT_TIMEOUT = 15000; // 15 seconds
+	private static final int DEFAULT_CONCURRENCY = 8;
+	private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+	private static final int DEFAULT_DNS_CACHE_TTL = 60;
+	private static final int DEFAULT_DNS_NEGATIVE_CACHE_TTL = 10;
+	private static final int DEFAULT_MONITOR_INTERVAL = 60;
+	private static final int DEFAULT_MONITOR_JITTER = 5;
+	private static final int DEFAULT_HISTORY_SIZE = 100;
+	private static final String DEFAULT_METRICS_DIR = "metrics";
+	private static final String DEFAULT_HISTORY_DIR = ".project-tool/url-history";
+	private static final int DEFAULT_HISTORY_SEGMENT_MB = 16;
+	private static final String DEFAULT_HISTORY_WINDOW = "24h";
+	private static final String DEFAULT_STATE_FILE = ".project-tool/url-state.json";
+	private static final int DEFAULT_ADAPTIVE_MIN_CONCURRENCY = 1;
+	private static final int DEFAULT_ADAPTIVE_SLOW_MS = 3000;
+	private static final int DEFAULT_RETRY_BACKOFF_MS = 200;
+	private static final int DEFAULT_RETRY_MAX_BACKOFF_MS = 5000;
+	private static final int DEFAULT_BREAKER_FAILURES = 3;
+	private static final int DEFAULT_BREAKER_PROBE_INTERVALS = 5;
+	private static final int STREAM_WINDOW_PER_CONCURRENCY = 4;
+	private static final int DEFAULT_CERT_WARN_DAYS = 30;
 
-	// Inner class to store failed URL results
-	private static class FailedUrlResult {
-		String host;
-		String reason;
+	static final String ENGINE_THREAD_POOL = "thread-pool";
+	static final String ENGINE_OKHTTP = "okhttp";
+	static final String ENGINE_PROBE = "probe";
 
-		FailedUrlResult(String host, String reason) {
-			this.host = host;
-			this.reason = reason;
+	/**
+	 * 參數：
+	 * --monitor 常駐監控，依 monitorInterval 重複檢查並只輸出狀態轉換
+	 * --history <domain|url> [--since 24h] 不執行檢查，由歷史紀錄輸出可用率與延遲趨勢
+	 * --only-failed / --stale-after <duration> 只重新檢查上次失敗或超過指定時間未檢查的 URL，其餘沿用上次結果
+	 * --matrix 依 matrixEnvs 展開 domainList × 環境 × {static, api} 子網域檢查（忽略 subdomain），結束時輸出矩陣
+	 * --input <file|-> 由檔案或標準輸入串流讀取 domain（取代 domainList），結果寫入報告檔而不保留在記憶體
+	 * --shard i/N 只檢查第 i 個分片的 domain；--report <file> 指定報告檔
+	 * --merge <report...> [--report <file>] 不執行檢查，合併多個分片報告並輸出摘要
+	 */
+	public static void main(String[] args) {
+		boolean monitor = false;
+		String historyTarget = null;
+		String since = DEFAULT_HISTORY_WINDOW;
+		boolean onlyFailed = false;
+		Long staleAfterMs = null;
+		boolean matrix = false;
+		String input = null;
+		Shard shard = null;
+		String reportFile = null;
+		List<Path> mergeFiles = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			if ("--monitor".equals(args[i])) {
+				monitor = true;
+			} else if ("--matrix".equals(args[i])) {
+				matrix = true;
+			} else if ("--only-failed".equals(args[i])) {
+				onlyFailed = true;
+			} else if ("--stale-after".equals(args[i]) && i + 1 < args.length) {
+				staleAfterMs = HistoryQuery.parseDuration(args[++i]);
+			} else if ("--history".equals(args[i]) && i + 1 < args.length) {
+				historyTarget = args[++i];
+			} else if ("--since".equals(args[i]) && i + 1 < args.length) {
+				since = args[++i];
+			} else if ("--input".equals(args[i]) && i + 1 < args.length) {
+				input = args[++i];
+			} else if ("--shard".equals(args[i]) && i + 1 < args.length) {
+				shard = Shard.parse(args[++i]);
+			} else if ("--report".equals(args[i]) && i + 1 < args.length) {
+				reportFile = args[++i];
+			} else if ("--merge".equals(args[i])) {
+				while (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+					mergeFiles.add(Paths.get(args[++i]));
+				}
+			} else {
+				System.err.println("❌ Unknown argument: " + args[i]);
+				System.err.println("Usage: UrlChecker [--matrix] [--monitor | --only-failed | --stale-after 10m] [--shard 1/4] [--report <file>]"
+					+ " | [--input <file|-> [--shard 1/4] [--report <file>]] | [--history <domain|url> [--since 24h]] | [--merge <report...> [--report <file>]]");
+				System.exit(1);
+			}
+		}
+		boolean incremental = onlyFailed || staleAfterMs != null;
+		if (monitor && incremental) {
+			System.err.println("❌ --monitor cannot be combined with --only-failed / --stale-after");
+			System.exit(1);
+		}
+		if (input != null && (monitor || matrix || incremental)) {
+			System.err.println("❌ --input cannot be combined with --monitor / --matrix / --only-failed / --stale-after");
+			System.exit(1);
 		}
-	}
 
-	public static void main(String[] args) {
 		try {
 			// Set up UTF-8 encoding for console output (Java 8 compatible)
 			System.setOut(new PrintStream(System.out, true, "UTF-8"));
+			// 之後的輸出都交給單一 console-writer thread 批次寫出
+			Console.install();
 
-			// Load JSON configuration file
 			ObjectMapper mapper = new ObjectMapper();
+			if (!mergeFiles.isEmpty()) {
+				mergeReports(mergeFiles, reportFile, mapper);
+				return;
+			}
+
+			// Load JSON configuration file
 			UrlCheckerConfig urlCheckerConfig = mapper.readValue(new File("sample-urlChecker.json"), UrlCheckerConfig.class);
 
 			// Validate configuration using Hibernate Validator
-			urlCheckerConfig.validate();
+			urlCheckerConfig.validate(input == null);
+
+			if (historyTarget != null) {
+				long to = System.currentTimeMillis();
+				try (HistoryStore historyStore = openHistoryStore(urlCheckerConfig)) {
+					new HistoryQuery(historyTarget, to - HistoryQuery.parseDuration(since), to).run(historyStore).print();
+				}
+				return;
+			}
 
 			// Set timeout values (default is 15 seconds)
 			int connectTimeout = urlCheckerConfig.connectTimeout != null ? urlCheckerConfig.connectTimeout : DEFAULT_TIMEOUT;
 			int readTimeout = urlCheckerConfig.readTimeout != null ? urlCheckerConfig.readTimeout : DEFAULT_TIMEOUT;
+			int concurrency = urlCheckerConfig.concurrency != null ? urlCheckerConfig.concurrency : DEFAULT_CONCURRENCY;
+			String engineName = urlCheckerConfig.engine != null ? urlCheckerConfig.engine : ENGINE_THREAD_POOL;
+
+			if (input != null) {
+				runStream(urlCheckerConfig, input, shard, reportFile, engineName, concurrency, connectTimeout, readTimeout, mapper);
+				return;
+			}
+			if (shard != null) {
+				urlCheckerConfig.domainList = shard.filter(urlCheckerConfig.domainList);
+			}
+
+			CheckMatrix checkMatrix = matrix ? CheckMatrix.fromConfig(urlCheckerConfig) : null;
+			List<String> urls = checkMatrix != null ? checkMatrix.urls() : buildUrls(urlCheckerConfig);
+			int total = urls.size();
+
+			System.out.println("Total " + total + " " + describeRun(urlCheckerConfig, engineName, concurrency, shard));
+			int resolveTimeout = urlCheckerConfig.resolveTimeout != null ? urlCheckerConfig.resolveTimeout : connectTimeout;
+			DnsCache dnsCache = createDnsCache(urlCheckerConfig);
+			UrlStateStore stateStore = new UrlStateStore(
+				Paths.get(urlCheckerConfig.stateFile != null ? urlCheckerConfig.stateFile : DEFAULT_STATE_FILE), mapper);
+
+			if (monitor) {
+				runMonitor(urlCheckerConfig, urls, createEngine(engineName, urlCheckerConfig, concurrency, connectTimeout, readTimeout, dnsCache),
+					dnsCache, concurrency, resolveTimeout, mapper, stateStore);
+				return;
+			}
+			long start = System.nanoTime();
+
+			// 增量模式：只檢查上次失敗或過期的 URL
+			List<String> toCheck = urls;
+			if (incremental) {
+				toCheck = stateStore.plan(urls, onlyFailed, staleAfterMs, System.currentTimeMillis());
+				System.out.println("Incremental: checking " + toCheck.size() + " of " + total + " URLs, "
+					+ (total - toCheck.size()) + " reused from last results");
+			}
 
-			// Create list to store failed URLs
-			List<FailedUrlResult> failedUrls = new ArrayList<>();
-			int total = urlCheckerConfig.domainList.size();
+			// 先同時解析所有 host，解析失敗的 domain 不再建立連線
+			Set<String> hosts = hostsOf(toCheck);
+			Map<String, String> dnsFailures = dnsCache.prefetch(hosts, concurrency, resolveTimeout);
+			System.out.println("DNS: " + hosts.size() + " hosts, " + dnsFailures.size() + " failed ("
+				+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms)");
 
-			System.out.println("Total " + total);
-			for (int i = 0; i < total; i++) {
-				String domain = urlCheckerConfig.domainList.get(i);
-				String protocol = urlCheckerConfig.isHttps ? "https" : "http";
-				String url;
+			List<CheckResult> results;
+			try (CheckEngine engine = createEngine(engineName, urlCheckerConfig, concurrency, connectTimeout, readTimeout, dnsCache)) {
+				results = checkAll(toCheck, engine, dnsFailures);
+				for (String line : engine.summary()) {
+					System.out.println(line);
+				}
+			}
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 
-				if (urlCheckerConfig.subdomain == null || urlCheckerConfig.subdomain.trim().isEmpty()) {
-					url = String.format("%s://%s", protocol, domain);
-				} else {
-					url = String.format("%s://%s.%s", protocol, urlCheckerConfig.subdomain, domain);
+			// Collect failures in input order; URLs not rechecked keep their last result
+			long now = System.currentTimeMillis();
+			Map<String, CheckResult> checked = new HashMap<>();
+			for (CheckResult result : results) {
+				checked.put(result.getUrl(), result);
+			}
+			List<String> failedUrls = new ArrayList<>();
+			for (String url : urls) {
+				CheckResult result = checked.get(url);
+				UrlStateStore.Entry last = stateStore.get(url);
+				if (result != null && !result.isSuccess()) {
+					failedUrls.add(result.getHost() + " - " + result.getReason());
+				} else if (result == null && last != null && !last.isSuccess()) {
+					failedUrls.add(hostOf(url) + " - " + last.getReason()
+						+ " (last checked " + UrlMonitor.formatDuration(now - last.getCheckedAt()) + " ago)");
 				}
-				System.out.print("[" + (i + 1) + "/" + total + "] ");
-				checkUrl(url, connectTimeout, readTimeout, failedUrls);
 			}
+			stateStore.merge(now, results);
+			stateStore.save();
 
 			// Print failure summary if there are any failures
 			if (!failedUrls.isEmpty()) {
 				System.out.println("\n========================================");
 				System.out.println("Total failed: " + failedUrls.size() + " out of " + total);
 				System.out.println("========================================");
-				for (FailedUrlResult failed : failedUrls) {
-					System.out.println(failed.host + " - " + failed.reason);
+				for (String failed : failedUrls) {
+					System.out.println(failed);
 				}
 				System.out.println("========================================");
 			} else {
 				System.out.println("\nAll URLs checked successfully!");
 			}
+			if (ENGINE_PROBE.equals(engineName)) {
+				printPhaseTable(results);
+			}
+			CertReport certReport = new CertReport(results, now,
+				urlCheckerConfig.certWarnDays != null ? urlCheckerConfig.certWarnDays : DEFAULT_CERT_WARN_DAYS);
+			if (!certReport.isEmpty()) {
+				certReport.print();
+			}
+			if (checkMatrix != null) {
+				// 未重新檢查的 URL 以上次結果顯示並標上 *
+				checkMatrix.printGrid(url -> {
+					CheckResult result = checked.get(url);
+					if (result != null) {
+						return CheckMatrix.cell(result);
+					}
+					UrlStateStore.Entry last = stateStore.get(url);
+					if (last == null) {
+						return "-";
+					}
+					return (last.isSuccess() ? "OK " + last.getStatusCode() : last.getStatusCode() > 0 ? "FAIL " + last.getStatusCode() : "ERR") + "*";
+				});
+			}
+
+			LatencyStats latencyStats = new LatencyStats(toCheck);
+			latencyStats.recordAll(results);
+			latencyStats.print();
+			Path metricsDir = metricsDir(urlCheckerConfig);
+			latencyStats.export(metricsDir, mapper);
+			System.out.println("📈 Latency metrics written to " + metricsDir.toAbsolutePath());
+			try (HistoryStore historyStore = openHistoryStore(urlCheckerConfig)) {
+				historyStore.append(now, results);
+			}
+			if (reportFile != null) {
+				try (CheckReport checkReport = new CheckReport(Paths.get(reportFile), mapper)) {
+					for (CheckResult result : results) {
+						checkReport.write(now, result);
+					}
+				}
+				System.out.println("📄 Report written to " + Paths.get(reportFile).toAbsolutePath());
+			}
+			System.out.println("Elapsed: " + elapsedMs + " ms");
 		} catch (Exception e) {
 			System.err.println("Error occurred: " + e.getMessage());
 			e.printStackTrace();
 		}
 	}
-	
-	private static void checkUrl(String urlString, int connectTimeout, int readTimeout, List<FailedUrlResult> failedUrls) {
-		URL url = null;
-		try {
-			System.out.print("Checking URL: " + urlString + " ... ");
-			url = new URL(urlString);
-			HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-			conn.setRequestMethod("GET");
-			conn.setConnectTimeout(connectTimeout);
-			conn.setReadTimeout(readTimeout);
-			int responseCode = conn.getResponseCode();
-
-			if (responseCode == 200) {
-				System.out.println("✅ [OK] 200 OK");
-			} else {
-				String reason = "Response code: " + responseCode;
-				System.out.println("❌ [FAILED] " + reason);
-				failedUrls.add(new FailedUrlResult(url.getHost(), reason));
+
+	static List<String> buildUrls(UrlCheckerConfig urlCheckerConfig) {
+		List<String> urls = new ArrayList<>(urlCheckerConfig.domainList.size());
+		for (String domain : urlCheckerConfig.domainList) {
+			urls.add(buildUrl(urlCheckerConfig, domain));
+		}
+		return urls;
+	}
+
+	static String buildUrl(UrlCheckerConfig urlCheckerConfig, String domain) {
+		String protocol = urlCheckerConfig.isHttps ? "https" : "http";
+		if (urlCheckerConfig.subdomain == null || urlCheckerConfig.subdomain.trim().isEmpty()) {
+			return String.format("%s://%s", protocol, domain);
+		}
+		return String.format("%s://%s.%s", protocol, urlCheckerConfig.subdomain, domain);
+	}
+
+	/**
+	 * 例：(engine okhttp, concurrency 8, adaptive, shard 2/4)
+	 */
+	private static String describeRun(UrlCheckerConfig urlCheckerConfig, String engineName, int concurrency, Shard shard) {
+		return "(engine " + engineName + ", concurrency " + concurrency
+			+ (ENGINE_THREAD_POOL.equals(engineName) && TaskExecutors.isVirtual() ? ", virtual threads" : "")
+			+ (Boolean.TRUE.equals(urlCheckerConfig.adaptiveConcurrency) ? ", adaptive" : "")
+			+ (urlCheckerConfig.domainRate != null && urlCheckerConfig.domainRate > 0 ? ", " + urlCheckerConfig.domainRate + "/s per domain" : "")
+			+ (urlCheckerConfig.ipRate != null && urlCheckerConfig.ipRate > 0 ? ", " + urlCheckerConfig.ipRate + "/s per IP" : "")
+			+ (shard != null ? ", shard " + shard : "") + ")";
+	}
+
+	/**
+	 * --input 串流模式：不預先解析 DNS（由引擎解析），不寫入狀態檔，結果寫入報告檔與歷史紀錄
+	 */
+	private static void runStream(UrlCheckerConfig urlCheckerConfig, String input, Shard shard, String reportFile, String engineName,
+		int concurrency, int connectTimeout, int readTimeout, ObjectMapper mapper) throws IOException, InterruptedException {
+		Path reportPath = reportFile != null ? Paths.get(reportFile) : metricsDir(urlCheckerConfig).resolve(CheckReport.fileName(shard));
+		System.out.println("Streaming " + ("-".equals(input) ? "stdin" : input) + " " + describeRun(urlCheckerConfig, engineName, concurrency, shard));
+		long start = System.nanoTime();
+		int checked;
+		CheckReport.Summary summary;
+		try (DomainSource source = DomainSource.open(input);
+			 CheckEngine engine = createEngine(engineName, urlCheckerConfig, concurrency, connectTimeout, readTimeout, createDnsCache(urlCheckerConfig));
+			 CheckReport checkReport = new CheckReport(reportPath, mapper);
+			 HistoryStore historyStore = openHistoryStore(urlCheckerConfig)) {
+			checked = new StreamingCheck(engine, concurrency * STREAM_WINDOW_PER_CONCURRENCY).run(source, shard,
+				domain -> buildUrl(urlCheckerConfig, domain), result -> {
+					long now = System.currentTimeMillis();
+					checkReport.write(now, result);
+					try {
+						historyStore.append(now, Collections.singletonList(result));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			summary = checkReport.getSummary();
+			for (String line : engine.summary()) {
+				System.out.println(line);
 			}
+		}
+		summary.print();
+		System.out.println("📄 Report written to " + reportPath.toAbsolutePath() + " (" + checked + " URLs)");
+		System.out.println("Elapsed: " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+	}
 
-			conn.disconnect();
-		} catch (Exception e) {
-			String reason = "Connection failed: " + e.getMessage();
-			System.out.println("⚠️ [ERROR] " + reason);
-			failedUrls.add(new FailedUrlResult(url == null? urlString: url.getHost(), reason));
+	/**
+	 * --merge：合併多個分片報告並輸出摘要，指定 --report 時另寫出合併後的報告
+	 */
+	private static void mergeReports(List<Path> files, String reportFile, ObjectMapper mapper) throws IOException {
+		CheckReport.Summary summary;
+		if (reportFile != null) {
+			try (CheckReport merged = new CheckReport(Paths.get(reportFile), mapper)) {
+				summary = CheckReport.merge(files, mapper, merged);
+			}
+		} else {
+			summary = CheckReport.merge(files, mapper, null);
+		}
+		System.out.println("Merged " + files.size() + " reports, " + summary.getTotal() + " URLs");
+		summary.print();
+		if (reportFile != null) {
+			System.out.println("📄 Report written to " + Paths.get(reportFile).toAbsolutePath());
+		}
+	}
+
+	/**
+	 * 常駐監控直到程序被終止（Ctrl+C / SIGTERM），結束時關閉引擎
+	 */
+	private static void runMonitor(UrlCheckerConfig urlCheckerConfig, List<String> urls, CheckEngine engine, DnsCache dnsCache,
+		int concurrency, int resolveTimeout, ObjectMapper mapper, UrlStateStore stateStore) throws InterruptedException, IOException {
+		int interval = urlCheckerConfig.monitorInterval != null ? urlCheckerConfig.monitorInterval : DEFAULT_MONITOR_INTERVAL;
+		int jitter = urlCheckerConfig.monitorJitter != null ? urlCheckerConfig.monitorJitter : DEFAULT_MONITOR_JITTER;
+		int historySize = urlCheckerConfig.historySize != null ? urlCheckerConfig.historySize : DEFAULT_HISTORY_SIZE;
+
+		UrlMonitor urlMonitor = new UrlMonitor(urls, engine, dnsCache, concurrency, resolveTimeout,
+			TimeUnit.SECONDS.toMillis(interval), TimeUnit.SECONDS.toMillis(jitter), historySize);
+		int breakerFailures = urlCheckerConfig.breakerFailures != null ? urlCheckerConfig.breakerFailures : DEFAULT_BREAKER_FAILURES;
+		if (breakerFailures > 0) {
+			int probeInterval = urlCheckerConfig.breakerProbeInterval != null
+				? urlCheckerConfig.breakerProbeInterval : interval * DEFAULT_BREAKER_PROBE_INTERVALS;
+			urlMonitor.setCircuitBreaker(new CircuitBreaker(breakerFailures, TimeUnit.SECONDS.toMillis(probeInterval)));
+		}
+
+		// 延遲統計自監控開始累計，每輪結束後覆寫匯出檔
+		LatencyStats latencyStats = new LatencyStats(urls);
+		Path metricsDir = metricsDir(urlCheckerConfig);
+		urlMonitor.onRound(results -> {
+			latencyStats.recordAll(results);
+			try {
+				latencyStats.export(metricsDir, mapper);
+			} catch (IOException e) {
+				System.err.println("❌ Failed to write latency metrics: " + e.getMessage());
+			}
+		});
+		HistoryStore historyStore = openHistoryStore(urlCheckerConfig);
+		urlMonitor.onRound(results -> {
+			long now = System.currentTimeMillis();
+			try {
+				historyStore.append(now, results);
+				stateStore.merge(now, results);
+				stateStore.save();
+			} catch (IOException e) {
+				System.err.println("❌ Failed to save results: " + e.getMessage());
+			}
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			urlMonitor.stop();
+			engine.close();
+			try {
+				historyStore.close();
+			} catch (IOException e) {
+				System.err.println("❌ Failed to close history: " + e.getMessage());
+			}
+			System.out.println("🛑 Monitor stopped after " + urlMonitor.getRounds() + " rounds");
+		}, "url-monitor-shutdown"));
+		urlMonitor.start();
+		urlMonitor.awaitStop();
+	}
+
+	private static HistoryStore openHistoryStore(UrlCheckerConfig urlCheckerConfig) throws IOException {
+		String dir = urlCheckerConfig.historyDir != null ? urlCheckerConfig.historyDir : DEFAULT_HISTORY_DIR;
+		int segmentMb = urlCheckerConfig.historySegmentMb != null ? urlCheckerConfig.historySegmentMb : DEFAULT_HISTORY_SEGMENT_MB;
+		return new HistoryStore(Paths.get(dir), segmentMb * 1024L * 1024L);
+	}
+
+	private static Path metricsDir(UrlCheckerConfig urlCheckerConfig) {
+		return Paths.get(urlCheckerConfig.metricsDir != null ? urlCheckerConfig.metricsDir : DEFAULT_METRICS_DIR);
+	}
+
+	static DnsCache createDnsCache(UrlCheckerConfig urlCheckerConfig) {
+		int ttl = urlCheckerConfig.dnsCacheTtl != null ? urlCheckerConfig.dnsCacheTtl : DEFAULT_DNS_CACHE_TTL;
+		int negativeTtl = urlCheckerConfig.dnsNegativeCacheTtl != null ? urlCheckerConfig.dnsNegativeCacheTtl : DEFAULT_DNS_NEGATIVE_CACHE_TTL;
+		return new DnsCache(HostResolver.SYSTEM, TimeUnit.SECONDS.toMillis(ttl), TimeUnit.SECONDS.toMillis(negativeTtl));
+	}
+
+	/**
+	 * 設定了 retries / hedgeAfterMs 時在節流之前再加上 RetryCheckEngine，重試與 hedge 的請求同樣受速率限制
+	 */
+	static CheckEngine createEngine(String engineName, UrlCheckerConfig urlCheckerConfig, int concurrency, int connectTimeout,
+		int readTimeout, DnsCache dnsCache) {
+		CheckEngine engine = createThrottledEngine(engineName, urlCheckerConfig, concurrency, connectTimeout, readTimeout, dnsCache);
+		int retries = urlCheckerConfig.retries != null ? urlCheckerConfig.retries : 0;
+		int hedgeAfterMs = urlCheckerConfig.hedgeAfterMs != null ? urlCheckerConfig.hedgeAfterMs : 0;
+		if (retries <= 0 && hedgeAfterMs <= 0) {
+			return engine;
+		}
+		int backoffMs = urlCheckerConfig.retryBackoffMs != null ? urlCheckerConfig.retryBackoffMs : DEFAULT_RETRY_BACKOFF_MS;
+		int maxBackoffMs = urlCheckerConfig.retryMaxBackoffMs != null ? urlCheckerConfig.retryMaxBackoffMs : DEFAULT_RETRY_MAX_BACKOFF_MS;
+		return new RetryCheckEngine(engine, retries, backoffMs, maxBackoffMs, hedgeAfterMs);
+	}
+
+	/**
+	 * 設定了 domainRate / ipRate / adaptiveConcurrency 時在引擎前加上 ThrottledCheckEngine
+	 */
+	private static CheckEngine createThrottledEngine(String engineName, UrlCheckerConfig urlCheckerConfig, int concurrency,
+		int connectTimeout, int readTimeout, DnsCache dnsCache) {
+		CheckEngine engine = createBaseEngine(engineName, urlCheckerConfig, concurrency, connectTimeout, readTimeout, dnsCache);
+		double domainRate = urlCheckerConfig.domainRate != null ? urlCheckerConfig.domainRate : 0;
+		double ipRate = urlCheckerConfig.ipRate != null ? urlCheckerConfig.ipRate : 0;
+		boolean adaptive = Boolean.TRUE.equals(urlCheckerConfig.adaptiveConcurrency);
+		if (domainRate <= 0 && ipRate <= 0 && !adaptive) {
+			return engine;
+		}
+		int domainBurst = urlCheckerConfig.domainBurst != null ? urlCheckerConfig.domainBurst : (int) Math.ceil(domainRate);
+		int ipBurst = urlCheckerConfig.ipBurst != null ? urlCheckerConfig.ipBurst : (int) Math.ceil(ipRate);
+		AdaptiveLimit adaptiveLimit = null;
+		if (adaptive) {
+			int min = urlCheckerConfig.adaptiveMinConcurrency != null ? urlCheckerConfig.adaptiveMinConcurrency : DEFAULT_ADAPTIVE_MIN_CONCURRENCY;
+			int slowMs = urlCheckerConfig.adaptiveSlowMs != null ? urlCheckerConfig.adaptiveSlowMs : DEFAULT_ADAPTIVE_SLOW_MS;
+			adaptiveLimit = new AdaptiveLimit(concurrency, min, concurrency, slowMs);
 		}
+		return new ThrottledCheckEngine(engine, dnsCache, domainRate, domainBurst, ipRate, ipBurst, adaptiveLimit);
 	}
 
-}
\ No newline at end of file
+	private static CheckEngine createBaseEngine(String engineName, UrlCheckerConfig urlCheckerConfig, int concurrency, int connectTimeout,
+		int readTimeout, DnsCache dnsCache) {
+		if (ENGINE_OKHTTP.equals(engineName)) {
+			int maxRequestsPerHost = urlCheckerConfig.maxRequestsPerHost != null ? urlCheckerConfig.maxRequestsPerHost : DEFAULT_MAX_REQUESTS_PER_HOST;
+			return new OkHttpCheckEngine(concurrency, maxRequestsPerHost, connectTimeout, readTimeout, dnsCache);
+		}
+		if (ENGINE_PROBE.equals(engineName)) {
+			int resolveTimeout = urlCheckerConfig.resolveTimeout != null ? urlCheckerConfig.resolveTimeout : connectTimeout;
+			int tlsTimeout = urlCheckerConfig.tlsTimeout != null ? urlCheckerConfig.tlsTimeout : connectTimeout;
+			boolean headFirst = urlCheckerConfig.headFirst == null || urlCheckerConfig.headFirst;
+			return new ProbeCheckEngine(concurrency, resolveTimeout, connectTimeout, tlsTimeout, readTimeout, headFirst, dnsCache);
+		}
+		return new ThreadPoolCheckEngine(concurrency, connectTimeout, readTimeout);
+	}
+
+	static String hostOf(String url) {
+		try {
+			return new URL(url).getHost();
+		} catch (MalformedURLException e) {
+			return url;
+		}
+	}
+
+	static Set<String> hostsOf(List<String> urls) {
+		Set<String> hosts = new LinkedHashSet<>();
+		for (String url : urls) {
+			hosts.add(hostOf(url));
+		}
+		return hosts;
+	}
+
+	static List<CheckResult> checkAll(List<String> urls, CheckEngine engine) {
+		return checkAll(urls, engine, Collections.emptyMap());
+	}
+
+	static List<CheckResult> checkAll(List<String> urls, CheckEngine engine, Map<String, String> dnsFailures) {
+		return checkAll(urls, engine, dnsFailures, true);
+	}
+
+	/**
+	 * 將所有 URL 交給引擎檢查，完成一筆即輸出進度；回傳結果依輸入順序排列
+	 * host 在 dnsFailures 中的 URL 直接回報解析失敗，不交給引擎；printProgress 為 false 時不輸出進度（監控模式）
+	 */
+	static List<CheckResult> checkAll(List<String> urls, CheckEngine engine, Map<String, String> dnsFailures, boolean printProgress) {
+		int total = urls.size();
+		AtomicInteger done = new AtomicInteger();
+		List<CompletableFuture<CheckResult>> futures = new ArrayList<>(total);
+		for (int i = 0; i < total; i++) {
+			String url = urls.get(i);
+			String host = hostOf(url);
+			CompletableFuture<CheckResult> check = dnsFailures.containsKey(host)
+				? CompletableFuture.completedFuture(CheckResult.phaseError(i, url, host, ProbePhase.RESOLVE, dnsFailures.get(host), 0, null))
+				: engine.check(i, url);
+			futures.add(check.whenComplete((result, e) -> {
+				// 完成檢查的 thread 只把整行放入佇列，不等待主控台寫出
+				if (result != null && printProgress) {
+					Console.out().println("[" + done.incrementAndGet() + "/" + total + "] Checking URL: " + url + " ... " + result.statusLine());
+				}
+			}));
+		}
+		// join 依提交順序取回結果，每個 future 只由一個 thread 完成，不需額外同步
+		List<CheckResult> results = new ArrayList<>(total);
+		for (CompletableFuture<CheckResult> future : futures) {
+			results.add(future.join());
+		}
+		return results;
+	}
+
+	/**
+	 * 各 domain 的階段耗時表（毫秒），未執行到的階段顯示 -
+	 */
+	static void printPhaseTable(List<CheckResult> results) {
+		System.out.println("\nPhase latency (ms)");
+		StringBuilder header = new StringBuilder(String.format("%-40s", "url"));
+		for (ProbePhase phase : ProbePhase.values()) {
+			header.append(String.format(" %10s", phase.getLabel()));
+		}
+		System.out.println(header);
+		for (CheckResult result : results) {
+			StringBuilder row = new StringBuilder(String.format("%-40s", result.getUrl()));
+			for (ProbePhase phase : ProbePhase.values()) {
+				Long ms = result.getTimings() != null ? result.getTimings().get(phase) : null;
+				row.append(String.format(" %10s", ms != null ? ms : "-"));
+			}
+			System.out.println(row);
+		}
+	}
+}
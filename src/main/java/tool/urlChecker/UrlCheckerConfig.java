@@ -1,6 +1,7 @@
 package tool.urlChecker;
 
 import lombok.Data;
+import util.TaskExecutors;
 
 import java.util.List;
 import java.util.Set;
@@ -9,10 +10,12 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 
 @Data
 public class UrlCheckerConfig {
@@ -32,15 +35,211 @@ public class UrlCheckerConfig {
 	@Max(value = 120000, message = "讀取逾時時間不得超過 2 分鐘")
 	public Integer readTimeout;
 	
+	/**
+	 * 同時檢查的 domain 數量，預設 8；Java 21 以 virtual thread 執行時可設到上萬，否則不得超過 TaskExecutors.maxConcurrency()
+	 */
+	@Min(value = 1, message = "同時檢查數量不得少於 1")
+	@Max(value = 20000, message = "同時檢查數量不得超過 20000")
+	public Integer concurrency;
+	
+	/**
+	 * 檢查引擎：thread-pool（預設，HttpURLConnection）、okhttp（非同步 enqueue）或 probe（分階段探測並記錄各階段耗時）
+	 */
+	@Pattern(regexp = "thread-pool|okhttp|probe", message = "engine 只能是 thread-pool、okhttp 或 probe")
+	public String engine;
+	
+	/**
+	 * okhttp 引擎每個 host 同時進行的請求上限，預設 5
+	 */
+	@Min(value = 1, message = "每個 host 同時請求數不得少於 1")
+	public Integer maxRequestsPerHost;
+	
+	/**
+	 * DNS 解析逾時（毫秒），預先解析與 probe 引擎的 resolve 階段共用，預設同 connectTimeout
+	 */
+	@Min(value = 1, message = "解析逾時時間不得少於 1 毫秒")
+	@Max(value = 120000, message = "解析逾時時間不得超過 2 分鐘")
+	public Integer resolveTimeout;
+	
+	/**
+	 * DNS 解析成功結果的快取秒數，預設 60
+	 */
+	@Min(value = 0, message = "DNS 快取秒數不得為負數")
+	public Integer dnsCacheTtl;
+	
+	/**
+	 * DNS 解析失敗（NXDOMAIN）結果的快取秒數，預設 10
+	 */
+	@Min(value = 0, message = "DNS 失敗快取秒數不得為負數")
+	public Integer dnsNegativeCacheTtl;
+	
+	/**
+	 * --monitor 模式每輪檢查間隔秒數，預設 60
+	 */
+	@Min(value = 1, message = "監控間隔不得少於 1 秒")
+	public Integer monitorInterval;
+	
+	/**
+	 * --monitor 模式每輪開始時間的隨機抖動秒數（±），預設 5，避免與其他排程同時發出請求
+	 */
+	@Min(value = 0, message = "監控抖動秒數不得為負數")
+	public Integer monitorJitter;
+	
+	/**
+	 * --monitor 模式每個 URL 保留的最近結果筆數，預設 100
+	 */
+	@Min(value = 1, message = "保留筆數不得少於 1")
+	public Integer historySize;
+	
+	/**
+	 * 延遲統計匯出目錄（url-latency.json / url-latency.prom），預設 metrics；--monitor 模式每輪覆寫
+	 */
+	public String metricsDir;
+	
+	/**
+	 * 檢查結果歷史紀錄目錄，預設 .project-tool/url-history
+	 */
+	public String historyDir;
+	
+	/**
+	 * 歷史紀錄單一 segment 檔大小上限（MB），超過即換新檔，預設 16
+	 */
+	@Min(value = 1, message = "segment 大小不得少於 1 MB")
+	@Max(value = 1024, message = "segment 大小不得超過 1024 MB")
+	public Integer historySegmentMb;
+	
+	/**
+	 * 各 URL 最近一次結果的狀態檔，--only-failed / --stale-after 依此挑選要重新檢查的 URL，預設 .project-tool/url-state.json
+	 */
+	public String stateFile;
+	
+	/**
+	 * --matrix 模式要展開的環境（EnvEnumType 名稱，例如 DEV、UAT、SIM），未設定時使用全部環境
+	 */
+	public List<String> matrixEnvs;
+	
+	/**
+	 * probe 引擎 TLS 握手逾時（毫秒），預設同 connectTimeout
+	 */
+	@Min(value = 1, message = "TLS 握手逾時時間不得少於 1 毫秒")
+	@Max(value = 120000, message = "TLS 握手逾時時間不得超過 2 分鐘")
+	public Integer tlsTimeout;
+	
+	/**
+	 * probe 引擎先送 HEAD，伺服器不支援（405/501）時改送 GET，預設 true
+	 */
+	public Boolean headFirst;
+	
+	/**
+	 * 每個可註冊網域（例：abc.com、abc.com.tw）每秒最多送出的請求數，未設定或 0 表示不限制
+	 */
+	@DecimalMin(value = "0", message = "每網域請求速率不得為負數")
+	public Double domainRate;
+	
+	/**
+	 * 每個可註冊網域可連續送出的請求數（token bucket 容量），預設為 domainRate 無條件進位
+	 */
+	@Min(value = 1, message = "每網域突發請求數不得少於 1")
+	public Integer domainBurst;
+	
+	/**
+	 * 每個解析後 IP 每秒最多送出的請求數（多個網域共用同一台主機時適用），未設定或 0 表示不限制
+	 */
+	@DecimalMin(value = "0", message = "每 IP 請求速率不得為負數")
+	public Double ipRate;
+	
+	/**
+	 * 每個解析後 IP 可連續送出的請求數，預設為 ipRate 無條件進位
+	 */
+	@Min(value = 1, message = "每 IP 突發請求數不得少於 1")
+	public Integer ipBurst;
+	
+	/**
+	 * 依延遲與錯誤率動態調整同時檢查數（AIMD，上限為 concurrency），預設 false
+	 */
+	public Boolean adaptiveConcurrency;
+	
+	/**
+	 * adaptiveConcurrency 下修的下限，預設 1
+	 */
+	@Min(value = 1, message = "動態同時檢查數下限不得少於 1")
+	public Integer adaptiveMinConcurrency;
+	
+	/**
+	 * adaptiveConcurrency 視為過慢的單次檢查耗時（毫秒），預設 3000
+	 */
+	@Min(value = 1, message = "過慢門檻不得少於 1 毫秒")
+	public Integer adaptiveSlowMs;
+	
+	/**
+	 * 暫時性失敗（逾時、連線失敗、502 / 503 / 504）的重試次數，預設 0
+	 */
+	@Min(value = 0, message = "重試次數不得為負數")
+	@Max(value = 10, message = "重試次數不得超過 10")
+	public Integer retries;
+	
+	/**
+	 * 重試退避基準毫秒數，第 n 次重試前隨機等待 0 ~ retryBackoffMs × 2^n，預設 200
+	 */
+	@Min(value = 1, message = "重試退避時間不得少於 1 毫秒")
+	public Integer retryBackoffMs;
+	
+	/**
+	 * 重試退避毫秒數上限，預設 5000
+	 */
+	@Min(value = 1, message = "重試退避上限不得少於 1 毫秒")
+	public Integer retryMaxBackoffMs;
+	
+	/**
+	 * 單次檢查超過此毫秒數仍未完成時再送出一個相同請求，取先完成者，預設 0（不送出）
+	 */
+	@Min(value = 0, message = "hedge 門檻不得為負數")
+	public Integer hedgeAfterMs;
+	
+	/**
+	 * --monitor 模式同一 host 連續幾次沒有回應即暫停每輪檢查，預設 3，0 表示停用斷路器
+	 */
+	@Min(value = 0, message = "斷路器失敗次數不得為負數")
+	public Integer breakerFailures;
+	
+	/**
+	 * --monitor 模式斷路器斷開後試探的間隔秒數，預設為 monitorInterval 的 5 倍
+	 */
+	@Min(value = 1, message = "斷路器試探間隔不得少於 1 秒")
+	public Integer breakerProbeInterval;
+	
+	/**
+	 * HTTPS 憑證剩餘天數小於等於此值時標示為即將到期，預設 30
+	 */
+	@Min(value = 0, message = "憑證到期提醒天數不得為負數")
+	public Integer certWarnDays;
+	
 	public void validate() {
+		validate(true);
+	}
+	
+	/**
+	 * @param domainListRequired 為 false 時（--input 串流讀取 domain）不檢查 domainList
+	 */
+	public void validate(boolean domainListRequired) {
 		ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
 		Validator validator = factory.getValidator();
 		Set<ConstraintViolation<UrlCheckerConfig>> violations = validator.validate(this);
+		if (!domainListRequired) {
+			violations.removeIf(violation -> "domainList".equals(violation.getPropertyPath().toString()));
+		}
 		
-		if (!violations.isEmpty()) {
+		// platform thread 執行時同時檢查數受 thread 數限制
+		boolean concurrencyTooHigh = concurrency != null && concurrency > TaskExecutors.maxConcurrency();
+
+		if (!violations.isEmpty() || concurrencyTooHigh) {
 			for (ConstraintViolation<UrlCheckerConfig> violation : violations) {
 				System.err.println("❌ 驗證錯誤: " + violation.getPropertyPath() + " - " + violation.getMessage());
 			}
+			if (concurrencyTooHigh) {
+				System.err.println("❌ 驗證錯誤: concurrency - 同時檢查數量不得超過 " + TaskExecutors.maxConcurrency()
+					+ "（以 Java 21 以上執行時可設到 20000）");
+			}
 			System.exit(1);
 		}
 	}
@@ -0,0 +1,198 @@
+package tool.urlChecker;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 常駐監控模式：以固定間隔（加上隨機抖動）重複檢查所有 URL
+ * 引擎（連線池）與 DNS 快取在各輪之間共用，不必每次重啟 JVM；
+ * 每個 URL 保留最近 historySize 筆結果，只在狀態改變（UP ⇄ DOWN）時輸出。
+ */
+public class UrlMonitor {
+
+	private final List<String> urls;
+	private final CheckEngine engine;
+	private final DnsCache dnsCache;
+	private final int dnsParallelism;
+	private final long resolveTimeoutMs;
+	private final long intervalNanos;
+	private final long jitterNanos;
+	private final Map<String, DomainHistory> histories = new LinkedHashMap<>();
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "url-monitor");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final CountDownLatch stopped = new CountDownLatch(1);
+	private final List<Consumer<List<CheckResult>>> roundListeners = new ArrayList<>();
+	private CircuitBreaker circuitBreaker;
+
+	/**
+	 * 下一輪預定開始時間（不含抖動），以此累加避免每輪的執行時間造成漂移
+	 */
+	private long plannedAt;
+	private volatile int rounds;
+
+	public UrlMonitor(List<String> urls, CheckEngine engine, DnsCache dnsCache, int dnsParallelism, long resolveTimeoutMs,
+		long intervalMs, long jitterMs, int historySize) {
+		this.urls = urls;
+		this.engine = engine;
+		this.dnsCache = dnsCache;
+		this.dnsParallelism = dnsParallelism;
+		this.resolveTimeoutMs = resolveTimeoutMs;
+		this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+		this.jitterNanos = TimeUnit.MILLISECONDS.toNanos(jitterMs);
+		for (String url : urls) {
+			histories.put(url, new DomainHistory(historySize));
+		}
+	}
+
+	/**
+	 * 每輪結束後以該輪結果（依 urls 順序，斷路器略過的 URL 不含在內）呼叫，於監控 thread 執行；需在 start 前註冊
+	 */
+	public void onRound(Consumer<List<CheckResult>> listener) {
+		roundListeners.add(listener);
+	}
+
+	/**
+	 * 斷路器斷開的 host 不在每輪檢查，只依斷路器的試探間隔檢查；需在 start 前設定
+	 */
+	public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	public void start() {
+		plannedAt = System.nanoTime();
+		scheduler.execute(this::round);
+	}
+
+	/**
+	 * 停止排程（進行中的一輪會被中斷），引擎由呼叫端關閉
+	 */
+	public void stop() {
+		scheduler.shutdownNow();
+		stopped.countDown();
+	}
+
+	public void awaitStop() throws InterruptedException {
+		stopped.await();
+	}
+
+	public int getRounds() {
+		return rounds;
+	}
+
+	public DomainHistory getHistory(String url) {
+		return histories.get(url);
+	}
+
+	private void round() {
+		try {
+			runRound();
+		} catch (Exception e) {
+			System.err.println("❌ Monitor round " + (rounds + 1) + " failed: " + e.getMessage());
+		} finally {
+			scheduleNext();
+		}
+	}
+
+	private void runRound() {
+		List<String> toCheck = urls;
+		if (circuitBreaker != null) {
+			toCheck = new ArrayList<>(urls.size());
+			for (String url : urls) {
+				if (circuitBreaker.allow(UrlChecker.hostOf(url))) {
+					toCheck.add(url);
+				}
+			}
+		}
+		Map<String, String> dnsFailures = dnsCache.prefetch(UrlChecker.hostsOf(toCheck), dnsParallelism, resolveTimeoutMs);
+		List<CheckResult> results = UrlChecker.checkAll(toCheck, engine, dnsFailures, false);
+		long now = System.currentTimeMillis();
+
+		int down = 0;
+		for (CheckResult result : results) {
+			DomainHistory history = histories.get(result.getUrl());
+			long stateSince = history.getStateSince();
+			if (history.record(now, result)) {
+				printTransition(now, result, now - stateSince);
+			}
+			if (circuitBreaker != null && circuitBreaker.record(result.getHost(), result)) {
+				System.out.println("[" + format(now) + "] ⏸️ Circuit open for " + result.getHost() + ", probing at a slower cadence");
+			}
+			if (!result.isSuccess()) {
+				down++;
+			}
+		}
+		rounds++;
+
+		if (rounds == 1) {
+			System.out.println("[" + format(now) + "] 📡 Monitoring " + urls.size() + " URLs every "
+				+ TimeUnit.NANOSECONDS.toMillis(intervalNanos) + " ms (±" + TimeUnit.NANOSECONDS.toMillis(jitterNanos) + " ms jitter): "
+				+ (urls.size() - down) + " up, " + down + " down");
+			for (CheckResult result : results) {
+				if (!result.isSuccess()) {
+					System.out.println("    🔴 " + result.getUrl() + " - " + result.getReason());
+				}
+			}
+		}
+
+		for (Consumer<List<CheckResult>> listener : roundListeners) {
+			listener.accept(results);
+		}
+	}
+
+	private void printTransition(long now, CheckResult result, long previousStateMs) {
+		if (result.isSuccess()) {
+			System.out.println("[" + format(now) + "] 🟢 UP   " + result.getUrl() + " - " + result.getStatusCode()
+				+ " OK (down for " + formatDuration(previousStateMs) + ")");
+		} else {
+			System.out.println("[" + format(now) + "] 🔴 DOWN " + result.getUrl() + " - " + result.getReason());
+		}
+	}
+
+	private void scheduleNext() {
+		if (scheduler.isShutdown()) {
+			return;
+		}
+		long now = System.nanoTime();
+		plannedAt += intervalNanos;
+		// 單輪耗時超過間隔時不補跑錯過的輪次，從現在重新起算
+		if (plannedAt - now < 0) {
+			plannedAt = now;
+		}
+		long jitter = jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1) : 0;
+		long delay = Math.max(0, plannedAt + jitter - now);
+		try {
+			scheduler.schedule(this::round, delay, TimeUnit.NANOSECONDS);
+		} catch (RejectedExecutionException e) {
+			// stop() 與排程同時發生
+		}
+	}
+
+	private static String format(long epochMs) {
+		return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(epochMs));
+	}
+
+	static String formatDuration(long ms) {
+		long seconds = TimeUnit.MILLISECONDS.toSeconds(ms);
+		if (seconds < 60) {
+			return seconds + "s";
+		}
+		if (seconds < 3600) {
+			return (seconds / 60) + "m " + (seconds % 60) + "s";
+		}
+		return (seconds / 3600) + "h " + (seconds % 3600 / 60) + "m";
+	}
+}
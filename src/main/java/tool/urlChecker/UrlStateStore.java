@@ -0,0 +1,102 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import util.Console;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每個 URL 最近一次的檢查結果，存成 JSON 檔
+ * 每次檢查（完整、增量或監控的每一輪）結束後把新結果併入並存檔；--only-failed / --stale-after 依此規劃要重新檢查的 URL。
+ * 狀態檔無法讀取時提示後從空白開始（所有 URL 都視為沒有紀錄），不影響一般檢查，下次存檔時覆寫。
+ */
+public class UrlStateStore {
+
+	private final Path file;
+	private final ObjectMapper mapper;
+	private final Map<String, Entry> entries;
+
+	public UrlStateStore(Path file, ObjectMapper mapper) {
+		this.file = file;
+		this.mapper = mapper;
+		this.entries = load(file, mapper);
+	}
+
+	private static Map<String, Entry> load(Path file, ObjectMapper mapper) {
+		if (!Files.exists(file)) {
+			return new LinkedHashMap<>();
+		}
+		try {
+			return mapper.readValue(file.toFile(), new TypeReference<LinkedHashMap<String, Entry>>() {});
+		} catch (IOException e) {
+			Console.err().println("⚠️  State file " + file + " unreadable, starting empty: " + e.getMessage());
+			return new LinkedHashMap<>();
+		}
+	}
+
+	public Entry get(String url) {
+		return entries.get(url);
+	}
+
+	/**
+	 * 從 urls 中挑出需要重新檢查的 URL（保持原順序）：沒有紀錄的一律檢查；
+	 * onlyFailed 時挑上次失敗的，staleAfterMs 不為 null 時挑上次檢查早於該時間的，兩者都指定時取聯集
+	 */
+	public List<String> plan(List<String> urls, boolean onlyFailed, Long staleAfterMs, long now) {
+		List<String> selected = new ArrayList<>();
+		for (String url : urls) {
+			Entry entry = entries.get(url);
+			if (entry == null
+				|| (onlyFailed && !entry.isSuccess())
+				|| (staleAfterMs != null && now - entry.getCheckedAt() > staleAfterMs)) {
+				selected.add(url);
+			}
+		}
+		return selected;
+	}
+
+	public synchronized void merge(long timestamp, List<CheckResult> results) {
+		for (CheckResult result : results) {
+			Entry entry = new Entry();
+			entry.setCheckedAt(timestamp);
+			entry.setSuccess(result.isSuccess());
+			entry.setStatusCode(result.getStatusCode());
+			entry.setReason(result.getReason());
+			entry.setElapsedMs(result.getElapsedMs());
+			entries.put(result.getUrl(), entry);
+		}
+	}
+
+	/**
+	 * 先寫暫存檔再搬移，程序中斷時不會留下寫到一半的狀態檔
+	 */
+	public synchronized void save() throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		mapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), entries);
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Data
+	public static class Entry {
+		/**
+		 * epoch 毫秒
+		 */
+		private long checkedAt;
+		private boolean success;
+		private int statusCode;
+		private String reason;
+		private long elapsedMs;
+	}
+}
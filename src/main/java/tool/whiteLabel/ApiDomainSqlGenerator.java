@@ -0,0 +1,183 @@
+package tool.whiteLabel;
+
+import constant.EnvEnumType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 新群組 SQL 的 apidomainname / corsdomain 資料列產生器
+ * - UAT 內建 domain 以 HashSet 判斷，不在迴圈內做 List 線性搜尋
+ * - 每種資料列的固定片段在建構時組好（RowLayout），逐列直接 append，不經 String.format
+ * - 資料列逐筆寫入預估好容量的 buffer，每 chunkSize 列結束一個 INSERT 並重新開頭，
+ *   大量 backup domain 也不會產生超過 DB 封包上限（max_allowed_packet）的單一語句
+ */
+class ApiDomainSqlGenerator {
+
+	static final int DEFAULT_CHUNK_SIZE = 500;
+
+	// apiDomainType 1: public, 0:private
+	static final List<String> UAT_PUBLIC_DOMAIN_LIST = Collections.unmodifiableList(Arrays.asList("qqkk77.net", "qqkk77.live", "ppkk77.net"));
+	static final List<String> UAT_PRIVATE_DOMAIN_LIST = Collections.unmodifiableList(Arrays.asList("cckk77.net", "cckk77.live"));
+	private static final Set<String> UAT_PRIVATE_DOMAIN_SET = new HashSet<>(UAT_PRIVATE_DOMAIN_LIST);
+
+	/**
+	 * 第一段 INSERT 開頭由模板提供，分段時接續的 INSERT 開頭需與模板一致
+	 */
+	static final String API_DOMAIN_INSERT = "INSERT INTO apidomainname\n"
+		+ "  (id, groupname, name, isactive, priority, remark, apidomaintype, updatedate, createdate)\n"
+		+ "VALUES ";
+	static final String CORS_DOMAIN_INSERT = "INSERT INTO corsdomain (name, isactive, subdomainstatic, subdomainapi, createdate, updatedate)\n"
+		+ "values ";
+
+	private static final RowLayout JSON_ENTRY = new RowLayout("\n\t\t\"", "\": 1");
+
+	private final boolean isUat;
+	private final int chunkSize;
+	private final RowLayout privateRow;
+	private final RowLayout publicRow;
+	private final RowLayout corsRow;
+
+	ApiDomainSqlGenerator(String group, EnvEnumType envEnumType, Integer chunkSize) {
+		this.isUat = envEnumType == EnvEnumType.UAT;
+		this.chunkSize = chunkSize != null && chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+		this.privateRow = new RowLayout("\n\t(apidomainname_id_seq_nextval(), '" + group + "', '", "', ",
+			", 'SYSTEM', 0, NOW(6), NOW(6))");
+		this.publicRow = new RowLayout("\n\t(apidomainname_id_seq_nextval(), '" + group + "', '", "', ",
+			", 'SYSTEM', 1, sysdate(6), sysdate(6))");
+		this.corsRow = new RowLayout("\n\t('", "', 1, '" + envEnumType.getSubDomainStatic() + "', '" + envEnumType.getSubDomainApi()
+			+ "', sysdate(6), sysdate(6))");
+	}
+
+	/**
+	 * 產生 apiDomainValues / corsDomainValues 及兩個前後端分離設定的 placeholder 值
+	 */
+	Map<String, String> generate(GroupInfo groupInfo) {
+		List<String> privateIp = groupInfo.getPrivateIp();
+		List<String> backup = groupInfo.getBackup();
+		int privateCount = privateIp.size() + (isUat ? UAT_PRIVATE_DOMAIN_LIST.size() : 0);
+		int apiDomainCount = privateCount + backup.size() + (isUat ? UAT_PUBLIC_DOMAIN_LIST.size() : 0);
+
+		ChunkedInsert apiDomains = new ChunkedInsert(API_DOMAIN_INSERT, chunkSize, apiDomainCount * privateRow.estimate());
+		ChunkedInsert corsDomains = new ChunkedInsert(CORS_DOMAIN_INSERT, chunkSize, backup.size() * corsRow.estimate());
+		StringBuilder separationSb = new StringBuilder((privateCount + backup.size()) * JSON_ENTRY.estimate());
+		StringBuilder desktopSeparationSb = new StringBuilder(backup.size() * JSON_ENTRY.estimate());
+
+		// private domain：使用者設定的在前，UAT 再接上內建的 private domain
+		int priority = 0;
+		for (String domain : privateIp) {
+			appendPrivate(apiDomains, separationSb, domain, ++priority);
+		}
+		if (isUat) {
+			for (String domain : UAT_PRIVATE_DOMAIN_LIST) {
+				appendPrivate(apiDomains, separationSb, domain, ++priority);
+			}
+		}
+
+		// backup domain：前兩筆啟用，UAT 全部不啟用
+		for (int i = 0; i < backup.size(); i++) {
+			String domain = backup.get(i);
+			if (i > 0) {
+				separationSb.append(",");
+				desktopSeparationSb.append(",");
+			}
+			int active = isUat || i >= 2 ? 0 : 1;
+			publicRow.append(apiDomains.nextRow(), domain, active, i + 1);
+			corsRow.append(corsDomains.nextRow(), domain);
+			JSON_ENTRY.append(separationSb, domain);
+			JSON_ENTRY.append(desktopSeparationSb, domain);
+		}
+		if (isUat) {
+			for (int i = 0; i < UAT_PUBLIC_DOMAIN_LIST.size(); i++) {
+				publicRow.append(apiDomains.nextRow(), UAT_PUBLIC_DOMAIN_LIST.get(i), 1, backup.size() + i + 1);
+			}
+		}
+
+		Map<String, String> replacements = new LinkedHashMap<>();
+		replacements.put("{$apiDomainValues}", apiDomains.finish());
+		replacements.put("{$corsDomainValues}", corsDomains.finish());
+		replacements.put("{$enableFrontendBackendSeparationByDomainValues}", separationSb.toString());
+		replacements.put("{$enableDesktopFrontendBackendSeparationByDomainValues}", desktopSeparationSb.toString());
+		return replacements;
+	}
+
+	private void appendPrivate(ChunkedInsert apiDomains, StringBuilder separationSb, String domain, int priority) {
+		boolean builtIn = UAT_PRIVATE_DOMAIN_SET.contains(domain);
+		int active = isUat && !builtIn ? 0 : 1;
+		privateRow.append(apiDomains.nextRow(), domain, active, priority);
+		// 內建的 UAT private domain 不加入前後端分離設定；private 之後一定接 backup，因此固定補逗號
+		if (!builtIn) {
+			JSON_ENTRY.append(separationSb, domain);
+			separationSb.append(",");
+		}
+	}
+
+	/**
+	 * 預先組好的資料列版面：head + 值 + middle + 數值欄位 + tail
+	 */
+	private static class RowLayout {
+		private static final int ESTIMATED_VALUE_LENGTH = 32;
+
+		private final String head;
+		private final String middle;
+		private final String tail;
+
+		RowLayout(String head, String tail) {
+			this(head, null, tail);
+		}
+
+		RowLayout(String head, String middle, String tail) {
+			this.head = head;
+			this.middle = middle;
+			this.tail = tail;
+		}
+
+		void append(StringBuilder sb, String value) {
+			sb.append(head).append(value).append(tail);
+		}
+
+		void append(StringBuilder sb, String value, int active, int priority) {
+			sb.append(head).append(value).append(middle).append(active).append(", ").append(priority).append(tail);
+		}
+
+		int estimate() {
+			return head.length() + (middle != null ? middle.length() : 0) + tail.length() + ESTIMATED_VALUE_LENGTH;
+		}
+	}
+
+	/**
+	 * 多列 INSERT 的分段 buffer：同段資料列以逗號分隔，滿 chunkSize 列時以分號結束並接上新的 INSERT 開頭
+	 */
+	private static class ChunkedInsert {
+		private final String statementHead;
+		private final int chunkSize;
+		private final StringBuilder sb;
+		private int rowsInChunk;
+
+		ChunkedInsert(String statementHead, int chunkSize, int estimatedLength) {
+			this.statementHead = statementHead;
+			this.chunkSize = chunkSize;
+			this.sb = new StringBuilder(estimatedLength + 1);
+		}
+
+		StringBuilder nextRow() {
+			if (rowsInChunk == chunkSize) {
+				sb.append(";\n\n").append(statementHead);
+				rowsInChunk = 0;
+			} else if (rowsInChunk > 0) {
+				sb.append(",");
+			}
+			rowsInChunk++;
+			return sb;
+		}
+
+		String finish() {
+			return sb.append(";").toString();
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package tool.whiteLabel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import util.Console;
+
+/**
+ * 批次白牌產檔
+ * 以設定檔作為共用的 files 版面與預設值，從 CSV / JSONL 逐列讀取（MappingIterator 串流，不一次載入全部設定），
+ * 每列覆寫自己的欄位後驗證、建立映射並產檔。
+ * - 列與列以有界的並行度同時處理，單列失敗只記錄錯誤，不影響其他列
+ * - 新檔案共用同一個 GenerationPipeline；插入既有檔案的內容依列號順序套用，結果與逐列執行一致
+ *
+ * CSV 欄位名稱以 "." 表示巢狀欄位（例如 apiWalletInfo.group），以 "[" 或 "{" 開頭的值視為 JSON；空白欄位沿用設定檔的值。
+ */
+public class BulkGenerator {
+
+	private final ObjectMapper objectMapper;
+	private final ObjectNode layout;
+	private final GenerationCache cache;
+	private final int parallelism;
+
+	/**
+	 * 已處理完、等待依序套用插入內容的列（列號 -> 該列的 editPlanner，失敗的列為 null）
+	 */
+	private final TreeMap<Integer, FileEditPlanner> pendingInserts = new TreeMap<>();
+	private int nextToApply = 1;
+
+	public BulkGenerator(ObjectMapper objectMapper, ObjectNode layout, GenerationCache cache, int parallelism) {
+		this.objectMapper = objectMapper;
+		this.layout = layout;
+		this.cache = cache;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public Summary run(Path rowsFile) throws IOException, InterruptedException {
+		Summary summary = new Summary();
+		boolean csv = isCsv(rowsFile);
+		AtomicInteger threadNo = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+			Thread t = new Thread(r, "wl-bulk-" + threadNo.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		// 同時在處理中或等待套用插入的列數上限，讀取端超過時阻塞
+		Semaphore window = new Semaphore(parallelism * 2);
+
+		GenerationPipeline pipeline = new GenerationPipeline();
+		try (MappingIterator<ObjectNode> rows = openRows(rowsFile)) {
+			Console.out().println("📥 Reading rows from " + rowsFile + " (parallel " + parallelism + ")");
+			int rowNo = 0;
+			while (true) {
+				ObjectNode row;
+				try {
+					if (!rows.hasNextValue()) {
+						break;
+					}
+					row = rows.nextValue();
+				} catch (IOException e) {
+					// 解析器無法從格式錯誤中恢復，停止讀取但保留已處理的列
+					summary.total.incrementAndGet();
+					summary.fail(rowNo + 1, "unreadable row, stop reading: " + e.getMessage());
+					break;
+				}
+				int currentRow = ++rowNo;
+				summary.total.incrementAndGet();
+				window.acquire();
+				workers.execute(() -> {
+					FileEditPlanner editPlanner = new FileEditPlanner();
+					boolean succeeded = false;
+					try {
+						processRow(currentRow, csv ? expandCsvRow(row, objectMapper) : row, pipeline, editPlanner);
+						succeeded = true;
+					} catch (Exception e) {
+						summary.fail(currentRow, e.getMessage());
+					} finally {
+						// 失敗的列不套用任何插入，但仍需佔住順序讓後面的列可以套用
+						commit(currentRow, succeeded ? editPlanner : null, window, summary);
+					}
+				});
+			}
+			workers.shutdown();
+			workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} finally {
+			pipeline.close();
+			workers.shutdownNow();
+		}
+		// 列在提交產檔後即算完成，之後 render / 寫檔失敗由 pipeline 計數，一併計入結果與結束代碼
+		summary.failedFiles.set(pipeline.getFailedCount());
+		return summary;
+	}
+
+	private MappingIterator<ObjectNode> openRows(Path rowsFile) throws IOException {
+		if (isCsv(rowsFile)) {
+			CsvSchema schema = CsvSchema.emptySchema().withHeader();
+			return new CsvMapper().readerFor(ObjectNode.class).with(schema).readValues(rowsFile.toFile());
+		}
+		// JSONL：每行一個 JSON 物件
+		return objectMapper.readerFor(ObjectNode.class).readValues(rowsFile.toFile());
+	}
+
+	private static boolean isCsv(Path rowsFile) {
+		return rowsFile.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+	}
+
+	private void processRow(int rowNo, ObjectNode row, GenerationPipeline pipeline, FileEditPlanner editPlanner) throws IOException {
+		ObjectNode merged = layout.deepCopy();
+		row.remove("files");
+		merge(merged, row);
+
+		WhiteLabelConfig config = objectMapper.treeToValue(merged, WhiteLabelConfig.class);
+		List<String> errors = config.validationErrors();
+		if (!errors.isEmpty()) {
+			throw new IllegalArgumentException(String.join("; ", errors));
+		}
+		Console.out().println("▶️  Row " + rowNo + ": " + config.getWebSiteName());
+		List<String> fileErrors = WhiteLabelTool.processDynamicFiles(new ReplacementContext(config), cache, fc -> true, pipeline, editPlanner);
+		if (!fileErrors.isEmpty()) {
+			throw new IllegalStateException(String.join("; ", fileErrors));
+		}
+	}
+
+	/**
+	 * 依列號順序套用插入內容；前面的列尚未完成時先暫存。插入全部套用成功的列才算成功
+	 *
+	 * @param editPlanner 已失敗的列為 null
+	 */
+	private synchronized void commit(int rowNo, FileEditPlanner editPlanner, Semaphore window, Summary summary) {
+		pendingInserts.put(rowNo, editPlanner);
+		while (pendingInserts.containsKey(nextToApply)) {
+			int appliedRow = nextToApply++;
+			FileEditPlanner planner = pendingInserts.remove(appliedRow);
+			if (planner != null) {
+				List<String> errors = planner.applyAll();
+				if (errors.isEmpty()) {
+					summary.succeeded.incrementAndGet();
+				} else {
+					summary.fail(appliedRow, String.join("; ", errors));
+				}
+			}
+			window.release();
+		}
+	}
+
+	static void merge(ObjectNode target, JsonNode source) {
+		Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			JsonNode existing = target.get(field.getKey());
+			if (existing instanceof ObjectNode && field.getValue().isObject()) {
+				merge((ObjectNode) existing, field.getValue());
+			} else {
+				target.set(field.getKey(), field.getValue());
+			}
+		}
+	}
+
+	/**
+	 * CSV 列（欄位名稱 -> 字串）轉為巢狀 ObjectNode
+	 */
+	static ObjectNode expandCsvRow(ObjectNode csvRow, ObjectMapper objectMapper) throws IOException {
+		ObjectNode node = objectMapper.createObjectNode();
+		Iterator<Map.Entry<String, JsonNode>> columns = csvRow.fields();
+		while (columns.hasNext()) {
+			Map.Entry<String, JsonNode> column = columns.next();
+			String value = column.getValue().asText().trim();
+			if (value.isEmpty()) {
+				continue;
+			}
+			String[] path = column.getKey().trim().split("\\.");
+			ObjectNode parent = node;
+			for (int i = 0; i < path.length - 1; i++) {
+				JsonNode child = parent.get(path[i]);
+				parent = child instanceof ObjectNode ? (ObjectNode) child : parent.putObject(path[i]);
+			}
+			String name = path[path.length - 1];
+			if (value.startsWith("[") || value.startsWith("{")) {
+				parent.set(name, objectMapper.readTree(value));
+			} else {
+				parent.put(name, value);
+			}
+		}
+		return node;
+	}
+
+	public static class Summary {
+		private final AtomicInteger total = new AtomicInteger();
+		private final AtomicInteger succeeded = new AtomicInteger();
+		private final AtomicInteger failedFiles = new AtomicInteger();
+		private final Map<Integer, String> failures = Collections.synchronizedMap(new TreeMap<>());
+
+		void fail(int rowNo, String message) {
+			failures.put(rowNo, message);
+			Console.err().println("❌ Row " + rowNo + " failed: " + message);
+		}
+
+		public int getTotal() {
+			return total.get();
+		}
+
+		public int getSucceeded() {
+			return succeeded.get();
+		}
+
+		public int getFailed() {
+			return failures.size();
+		}
+
+		/**
+		 * 已提交但 render 或寫檔失敗的檔案數（錯誤訊息已在發生時輸出）
+		 */
+		public int getFailedFiles() {
+			return failedFiles.get();
+		}
+
+		public boolean hasFailures() {
+			return !failures.isEmpty() || failedFiles.get() > 0;
+		}
+
+		public void print() {
+			Console.out().println("📊 Bulk generation: " + succeeded.get() + " succeeded, " + failures.size() + " failed, " + total.get() + " row(s)");
+			List<Integer> failedRows;
+			synchronized (failures) {
+				failedRows = new ArrayList<>(failures.keySet());
+			}
+			for (Integer rowNo : failedRows) {
+				Console.out().println("   - Row " + rowNo + ": " + failures.get(rowNo));
+			}
+			if (failedFiles.get() > 0) {
+				Console.out().println("   - " + failedFiles.get() + " file(s) failed to render or write");
+			}
+		}
+	}
+}
@@ -0,0 +1,699 @@
+package tool.whiteLabel;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 既有檔案編輯規劃器
+ * 收集同一個目標檔案上的所有 marker 插入與 import 語句，最後以一次串流讀取、一次寫入完成套用，
+ * 避免多個 FileConfig 指向同一個大型檔案時重複讀寫 N 次。
+ * 寫入採 splice 方式：掃描只找出插入點的位元組 offset，未修改區段由 {@link FileSplicer} 直接 transferTo 複製。
+ * 插入點會記錄在 {@link TargetFileIndex}，下次執行時若檔案未被外部修改即可直接使用。
+ *
+ * 套用結果與逐筆呼叫 insertAtMarker / insertImportStatement 相同：
+ * - 插入在 marker 之前：依登記順序排列
+ * - 插入在 marker 之後：後登記者緊貼 marker（即反向順序）
+ * - import 依 java.* -> javax.* -> org.* -> com.* -> 其他 的規則一次合併進既有 import 區塊
+ */
+public class FileEditPlanner {
+
+	private final Map<Path, TargetEdits> plans = new LinkedHashMap<>();
+	private final Path indexDir;
+
+	public FileEditPlanner() {
+		this(TargetFileIndex.DEFAULT_INDEX_DIR);
+	}
+
+	/**
+	 * @param indexDir 位置索引目錄，null 表示不使用索引
+	 */
+	public FileEditPlanner(Path indexDir) {
+		this.indexDir = indexDir;
+	}
+
+	/**
+	 * 登記一筆 marker 插入
+	 */
+	public void addMarkerInsert(Path target, String marker, String insertContent, boolean insertAfter) {
+		plansFor(target).markerInserts.add(new MarkerInsert(marker, Arrays.asList(insertContent.split("\\R")), insertAfter));
+	}
+
+	/**
+	 * 登記一筆 import 語句（自動補上 "import " 與 ";"）
+	 */
+	public void addImport(Path target, String importStatement) {
+		plansFor(target).imports.add(normalizeImport(importStatement));
+	}
+
+	public boolean isEmpty() {
+		return plans.isEmpty();
+	}
+
+	/**
+	 * 逐一套用所有目標檔案的編輯，單一檔案失敗不影響其他檔案
+	 *
+	 * @return 套用失敗的檔案與原因（全部成功時為空）
+	 */
+	public List<String> applyAll() {
+		List<String> errors = new ArrayList<>();
+		for (Map.Entry<Path, TargetEdits> entry : plans.entrySet()) {
+			try {
+				apply(entry.getKey(), entry.getValue());
+			} catch (Exception e) {
+				String error = "Error editing '" + entry.getKey() + "': " + e.getMessage();
+				errors.add(error);
+				System.err.println("❌ " + error);
+			}
+		}
+		plans.clear();
+		return errors;
+	}
+
+	private TargetEdits plansFor(Path target) {
+		return plans.computeIfAbsent(target.toAbsolutePath().normalize(), p -> new TargetEdits());
+	}
+
+	private void apply(Path target, TargetEdits edits) throws IOException {
+		TargetFileIndex index = TargetFileIndex.load(indexDir, target);
+		Set<String> requested = edits.markerKeys();
+		SpliceScanner scanner;
+		if (index != null && index.covers(requested)) {
+			scanner = new SpliceScanner(edits, requested);
+			scanner.runFromIndex(index);
+		} else {
+			Set<String> tracked = new LinkedHashSet<>(requested);
+			if (index != null) {
+				tracked.addAll(index.getMarkers().keySet());
+			}
+			scanner = new SpliceScanner(edits, tracked);
+			try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(target))) {
+				scanner.run(reader);
+			}
+		}
+		List<FileSplicer.Splice> splices = scanner.encode();
+		FileSplicer.splice(target, splices);
+		if (indexDir != null) {
+			TargetFileIndex.save(indexDir, target, scanner.updatedIndex(target, splices));
+		}
+		scanner.stats.print(target, edits);
+	}
+
+	/**
+	 * 單次串流掃描：以位元組為單位逐行比對 marker，只記錄插入點的 offset；
+	 * 檔頭（package / import 區塊）先暫存以便合併 import。未修改的內容不做任何解碼。
+	 * 若有有效的 {@link TargetFileIndex}，則直接由索引取得插入點，完全不讀取檔案內容。
+	 */
+	private static class SpliceScanner {
+		private final TargetEdits edits;
+		private final List<String> trackedMarkers;
+		private final byte[][] trackedBytes;
+		private final List<PendingSplice> pendingSplices = new ArrayList<>();
+		private final EditStats stats = new EditStats();
+		private String lineSeparator;
+		private long fileSize;
+		private boolean endsWithTerminator = true;
+
+		// 掃描模式下記錄的位置資訊，用於建立索引
+		private TargetFileIndex sourceIndex;
+		private final Map<String, List<TargetFileIndex.IndexedLine>> recordedMarkers = new LinkedHashMap<>();
+		private final List<TargetFileIndex.IndexedLine> recordedHeader = new ArrayList<>();
+		private long headerEnd;
+
+		SpliceScanner(TargetEdits edits, Set<String> trackedMarkers) {
+			this.edits = edits;
+			this.trackedMarkers = new ArrayList<>(trackedMarkers);
+			this.trackedBytes = new byte[this.trackedMarkers.size()][];
+			for (int i = 0; i < trackedBytes.length; i++) {
+				trackedBytes[i] = this.trackedMarkers.get(i).getBytes(StandardCharsets.UTF_8);
+				recordedMarkers.put(this.trackedMarkers.get(i), new ArrayList<>());
+			}
+		}
+
+		void run(ByteLineReader reader) throws IOException {
+			List<LineRef> header = new ArrayList<>();
+			boolean inHeader = true;
+			while (reader.readLine()) {
+				if (lineSeparator == null && reader.separator != null) {
+					lineSeparator = reader.separator;
+				}
+				LineRef line = reader.current();
+				if (inHeader) {
+					String text = line.text();
+					if (isHeaderLine(text)) {
+						header.add(line.detach(text));
+						continue;
+					}
+					headerEnd = line.start;
+					flushHeader(header);
+					inHeader = false;
+				}
+				emit(line);
+			}
+			fileSize = reader.position;
+			endsWithTerminator = reader.lastTerminated;
+			if (lineSeparator == null) {
+				lineSeparator = System.lineSeparator();
+			}
+			if (inHeader) {
+				headerEnd = fileSize;
+				flushHeader(header);
+			}
+		}
+
+		/**
+		 * 由索引產生插入點：檔頭依索引中的行內容合併 import，其餘 marker 直接使用記錄的 offset
+		 */
+		void runFromIndex(TargetFileIndex index) {
+			sourceIndex = index;
+			lineSeparator = index.getLineSeparator();
+			fileSize = index.getSize();
+			endsWithTerminator = index.isEndsWithTerminator();
+			headerEnd = index.getHeaderEnd();
+
+			List<LineRef> header = new ArrayList<>();
+			for (TargetFileIndex.IndexedLine line : index.getHeaderLines()) {
+				header.add(LineRef.of(line));
+			}
+			flushHeader(header);
+
+			TreeMap<Long, TargetFileIndex.IndexedLine> lines = new TreeMap<>();
+			Map<Long, Set<String>> hits = new HashMap<>();
+			for (String marker : edits.markerKeys()) {
+				for (TargetFileIndex.IndexedLine line : index.getMarkers().get(marker)) {
+					if (line.getStart() >= headerEnd) {
+						lines.put(line.getStart(), line);
+						hits.computeIfAbsent(line.getStart(), k -> new HashSet<>()).add(marker);
+					}
+				}
+			}
+			for (TargetFileIndex.IndexedLine line : lines.values()) {
+				emitMatched(line.getStart(), line.getNext(), line.getIndent(), hits.get(line.getStart()));
+			}
+		}
+
+		private void flushHeader(List<LineRef> header) {
+			if (sourceIndex == null) {
+				for (LineRef line : header) {
+					recordedHeader.add(new TargetFileIndex.IndexedLine(line.start, line.next, line.text, null));
+				}
+			}
+
+			int packageIndex = -1;
+			int firstImportIndex = -1;
+			int lastImportIndex = -1;
+			Set<String> existing = new HashSet<>();
+			for (int i = 0; i < header.size(); i++) {
+				String trimmed = header.get(i).text.trim();
+				if (trimmed.startsWith("package ")) {
+					packageIndex = i;
+				} else if (trimmed.startsWith("import ")) {
+					if (firstImportIndex == -1) {
+						firstImportIndex = i;
+					}
+					lastImportIndex = i;
+					existing.add(trimmed);
+				}
+			}
+
+			List<String> pending = new ArrayList<>();
+			for (String imp : edits.imports) {
+				if (existing.contains(imp)) {
+					stats.skippedImports.add(imp);
+				} else {
+					pending.add(imp);
+				}
+			}
+			pending.sort(IMPORT_ORDER);
+			stats.insertedImports.addAll(pending);
+
+			int next = 0;
+			if (firstImportIndex == -1) {
+				int insertPosition = packageIndex + 1;
+				for (int i = 0; i < header.size(); i++) {
+					emit(header.get(i));
+					if (i == insertPosition && !pending.isEmpty()) {
+						List<String> lines = new ArrayList<>();
+						lines.add("");
+						lines.addAll(pending);
+						next = pending.size();
+						addSplice(header.get(i).next, lines, "");
+					}
+				}
+			} else {
+				for (int i = 0; i < header.size(); i++) {
+					LineRef line = header.get(i);
+					String trimmed = line.text.trim();
+					if (i >= firstImportIndex && i <= lastImportIndex && trimmed.startsWith("import ")) {
+						int to = firstGreater(pending, next, trimmed);
+						addSplice(line.start, pending.subList(next, to), "");
+						next = to;
+					}
+					if (i == lastImportIndex + 1) {
+						addSplice(line.start, pending.subList(next, pending.size()), "");
+						next = pending.size();
+					}
+					emit(line);
+				}
+			}
+			addSplice(headerEnd, pending.subList(next, pending.size()), "");
+		}
+
+		private void emit(LineRef line) {
+			Set<String> hit = null;
+			String indent = null;
+			for (int i = 0; i < trackedBytes.length; i++) {
+				if (indexOf(line.bytes, line.length, trackedBytes[i]) >= 0) {
+					if (hit == null) {
+						hit = new HashSet<>();
+						indent = line.indent();
+					}
+					hit.add(trackedMarkers.get(i));
+					if (sourceIndex == null) {
+						recordedMarkers.get(trackedMarkers.get(i)).add(new TargetFileIndex.IndexedLine(line.start, line.next, null, indent));
+					}
+				}
+			}
+			if (hit != null) {
+				emitMatched(line.start, line.next, indent, hit);
+			}
+		}
+
+		private void emitMatched(long start, long next, String indent, Set<String> hit) {
+			List<MarkerInsert> matched = new ArrayList<>();
+			for (MarkerInsert insert : edits.markerInserts) {
+				if (hit.contains(insert.marker)) {
+					matched.add(insert);
+				}
+			}
+			for (MarkerInsert insert : matched) {
+				if (!insert.insertAfter) {
+					addSplice(start, insert.lines, indent);
+					stats.matchedMarkers.add(insert.marker);
+				}
+			}
+			for (int i = matched.size() - 1; i >= 0; i--) {
+				MarkerInsert insert = matched.get(i);
+				if (insert.insertAfter) {
+					addSplice(next, insert.lines, indent);
+					stats.matchedMarkers.add(insert.marker);
+				}
+			}
+		}
+
+		/**
+		 * 記錄插入點；行分隔符號延後到掃描完成後才決定，因此這裡先保留原始行內容
+		 */
+		private void addSplice(long offset, List<String> lines, String indent) {
+			if (lines.isEmpty()) {
+				return;
+			}
+			pendingSplices.add(new PendingSplice(offset, new ArrayList<>(lines), indent));
+		}
+
+		/**
+		 * 掃描結束後依檔案原本的行分隔符號編碼插入內容
+		 */
+		List<FileSplicer.Splice> encode() {
+			List<FileSplicer.Splice> splices = new ArrayList<>(pendingSplices.size());
+			boolean eofSeparatorWritten = endsWithTerminator;
+			for (PendingSplice pending : pendingSplices) {
+				StringBuilder sb = new StringBuilder();
+				if (pending.offset == fileSize && !eofSeparatorWritten) {
+					sb.append(lineSeparator);
+					eofSeparatorWritten = true;
+				}
+				for (String line : pending.lines) {
+					sb.append(pending.indent).append(line).append(lineSeparator);
+				}
+				splices.add(new FileSplicer.Splice(pending.offset, sb.toString().getBytes(StandardCharsets.UTF_8)));
+			}
+			return splices;
+		}
+
+		/**
+		 * 依本次插入內容平移索引中的 offset；檔頭有變動時只重新讀取檔頭。
+		 * 插入內容本身包含已索引的 marker 時，索引無法單靠平移維持正確，回傳 null 讓下次重新掃描。
+		 */
+		TargetFileIndex updatedIndex(Path target, List<FileSplicer.Splice> splices) throws IOException {
+			TargetFileIndex index = sourceIndex;
+			if (index == null) {
+				index = new TargetFileIndex();
+				index.setLineSeparator(lineSeparator);
+				index.setEndsWithTerminator(endsWithTerminator);
+				index.setHeaderEnd(headerEnd);
+				index.setHeaderLines(recordedHeader);
+				index.setMarkers(recordedMarkers);
+			}
+
+			for (PendingSplice pending : pendingSplices) {
+				for (String line : pending.lines) {
+					for (String marker : index.getMarkers().keySet()) {
+						if (line.contains(marker)) {
+							return null;
+						}
+					}
+				}
+			}
+
+			for (List<TargetFileIndex.IndexedLine> lines : index.getMarkers().values()) {
+				for (TargetFileIndex.IndexedLine line : lines) {
+					line.setNext(shift(splices, line.getNext(), false));
+					line.setStart(shift(splices, line.getStart(), true));
+				}
+			}
+			for (FileSplicer.Splice splice : splices) {
+				if (splice.offset == fileSize) {
+					index.setEndsWithTerminator(true);
+				}
+			}
+			if (!splices.isEmpty() && splices.get(0).offset <= index.getHeaderEnd()) {
+				readHeader(target, index);
+			}
+			indexImports(index);
+			return index;
+		}
+	}
+
+	/**
+	 * 計算原檔 offset 在套用插入後的新位置；inclusive 表示同一 offset 的插入內容會排在該位置之前
+	 */
+	private static long shift(List<FileSplicer.Splice> splices, long offset, boolean inclusive) {
+		long shifted = offset;
+		for (FileSplicer.Splice splice : splices) {
+			if (splice.offset < offset || (inclusive && splice.offset == offset)) {
+				shifted += splice.bytes.length;
+			} else {
+				break;
+			}
+		}
+		return shifted;
+	}
+
+	/**
+	 * 只讀取檔頭部分（遇到第一個程式碼行即停止）並更新索引
+	 */
+	private static void readHeader(Path target, TargetFileIndex index) throws IOException {
+		List<TargetFileIndex.IndexedLine> header = new ArrayList<>();
+		long end;
+		try (ByteLineReader reader = new ByteLineReader(Files.newInputStream(target))) {
+			while (true) {
+				if (!reader.readLine()) {
+					end = reader.position;
+					break;
+				}
+				LineRef line = reader.current();
+				String text = line.text();
+				if (!isHeaderLine(text)) {
+					end = line.start;
+					break;
+				}
+				header.add(new TargetFileIndex.IndexedLine(line.start, line.next, text, null));
+			}
+		}
+		index.setHeaderLines(header);
+		index.setHeaderEnd(end);
+	}
+
+	private static void indexImports(TargetFileIndex index) {
+		List<String> imports = new ArrayList<>();
+		long blockStart = -1;
+		long blockEnd = -1;
+		for (TargetFileIndex.IndexedLine line : index.getHeaderLines()) {
+			String trimmed = line.getText().trim();
+			if (trimmed.startsWith("import ")) {
+				if (blockStart == -1) {
+					blockStart = line.getStart();
+				}
+				blockEnd = line.getNext();
+				imports.add(trimmed);
+			}
+		}
+		imports.sort(IMPORT_ORDER);
+		index.setImports(imports);
+		index.setImportBlockStart(blockStart);
+		index.setImportBlockEnd(blockEnd);
+	}
+
+	private static class PendingSplice {
+		final long offset;
+		final List<String> lines;
+		final String indent;
+
+		PendingSplice(long offset, List<String> lines, String indent) {
+			this.offset = offset;
+			this.lines = lines;
+			this.indent = indent;
+		}
+	}
+
+	/**
+	 * 一行的位置資訊：start 為行首 offset，next 為含換行符號後的下一行 offset
+	 */
+	private static class LineRef {
+		final byte[] bytes;
+		final int length;
+		final long start;
+		final long next;
+		String text;
+
+		LineRef(byte[] bytes, int length, long start, long next) {
+			this.bytes = bytes;
+			this.length = length;
+			this.start = start;
+			this.next = next;
+		}
+
+		String text() {
+			if (text == null) {
+				text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+			}
+			return text;
+		}
+
+		static LineRef of(TargetFileIndex.IndexedLine line) {
+			byte[] bytes = line.getText().getBytes(StandardCharsets.UTF_8);
+			LineRef ref = new LineRef(bytes, bytes.length, line.getStart(), line.getNext());
+			ref.text = line.getText();
+			return ref;
+		}
+
+		LineRef detach(String text) {
+			LineRef copy = new LineRef(Arrays.copyOf(bytes, length), length, start, next);
+			copy.text = text;
+			return copy;
+		}
+
+		String indent() {
+			int index = 0;
+			while (index < length && (bytes[index] == ' ' || bytes[index] == '\t' || bytes[index] == '\f' || bytes[index] == 0x0B)) {
+				index++;
+			}
+			return new String(bytes, 0, index, StandardCharsets.US_ASCII);
+		}
+	}
+
+	/**
+	 * 以位元組逐行讀取並追蹤 offset，支援 \n、\r\n 與 \r 換行
+	 */
+	private static class ByteLineReader implements Closeable {
+		private final InputStream in;
+		private byte[] buffer = new byte[256];
+		private int length;
+		private long start;
+		private long position;
+		private int pushback = -1;
+		private boolean terminated;
+		String separator;
+		boolean lastTerminated = true;
+
+		ByteLineReader(InputStream in) {
+			this.in = new BufferedInputStream(in, 64 * 1024);
+		}
+
+		boolean readLine() throws IOException {
+			start = position;
+			length = 0;
+			terminated = false;
+			int b;
+			while ((b = read()) != -1) {
+				if (b == '\n') {
+					terminated = true;
+					separator = "\n";
+					break;
+				}
+				if (b == '\r') {
+					terminated = true;
+					int n = read();
+					if (n == '\n') {
+						separator = "\r\n";
+					} else {
+						if (n != -1) {
+							pushback = n;
+							position--;
+						}
+						separator = "\r";
+					}
+					break;
+				}
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, length * 2);
+				}
+				buffer[length++] = (byte) b;
+			}
+			boolean hasLine = length > 0 || terminated;
+			if (hasLine) {
+				lastTerminated = terminated;
+			}
+			return hasLine;
+		}
+
+		LineRef current() {
+			return new LineRef(buffer, length, start, position);
+		}
+
+		private int read() throws IOException {
+			if (pushback >= 0) {
+				int b = pushback;
+				pushback = -1;
+				position++;
+				return b;
+			}
+			int b = in.read();
+			if (b != -1) {
+				position++;
+			}
+			return b;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	private static int indexOf(byte[] source, int length, byte[] target) {
+		outer:
+		for (int i = 0; i <= length - target.length; i++) {
+			for (int j = 0; j < target.length; j++) {
+				if (source[i + j] != target[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private static int firstGreater(List<String> pending, int from, String existingImport) {
+		int i = from;
+		while (i < pending.size() && IMPORT_ORDER.compare(pending.get(i), existingImport) < 0) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isHeaderLine(String line) {
+		String trimmed = line.trim();
+		return trimmed.isEmpty()
+			|| trimmed.startsWith("package ")
+			|| trimmed.startsWith("import ")
+			|| trimmed.startsWith("//")
+			|| trimmed.startsWith("/*")
+			|| trimmed.startsWith("*");
+	}
+
+	static String normalizeImport(String importStatement) {
+		String normalizedImport = importStatement.trim();
+		if (!normalizedImport.startsWith("import ")) {
+			normalizedImport = "import " + normalizedImport;
+		}
+		if (!normalizedImport.endsWith(";")) {
+			normalizedImport = normalizedImport + ";";
+		}
+		return normalizedImport;
+	}
+
+	/**
+	 * Import 排序規則：java.* -> javax.* -> org.* -> com.* -> 其他（各組內按字母順序）
+	 */
+	static final Comparator<String> IMPORT_ORDER = Comparator
+		.comparingInt((String imp) -> getImportGroup(extractPackageFromImport(imp)))
+		.thenComparing(FileEditPlanner::extractPackageFromImport);
+
+	private static String extractPackageFromImport(String importStatement) {
+		return importStatement.trim().replace("import ", "").replace(";", "").trim();
+	}
+
+	private static int getImportGroup(String packageName) {
+		if (packageName.startsWith("java.")) return 0;
+		else if (packageName.startsWith("javax.")) return 1;
+		else if (packageName.startsWith("org.")) return 2;
+		else if (packageName.startsWith("com.")) return 3;
+		else return 4;
+	}
+
+	private static class TargetEdits {
+		final List<MarkerInsert> markerInserts = new ArrayList<>();
+		final Set<String> imports = new LinkedHashSet<>();
+
+		Set<String> markerKeys() {
+			Set<String> keys = new LinkedHashSet<>();
+			for (MarkerInsert insert : markerInserts) {
+				keys.add(insert.marker);
+			}
+			return keys;
+		}
+	}
+
+	private static class MarkerInsert {
+		final String marker;
+		final List<String> lines;
+		final boolean insertAfter;
+
+		MarkerInsert(String marker, List<String> lines, boolean insertAfter) {
+			this.marker = marker;
+			this.lines = lines;
+			this.insertAfter = insertAfter;
+		}
+	}
+
+	private static class EditStats {
+		final Set<String> matchedMarkers = new HashSet<>();
+		final List<String> insertedImports = new ArrayList<>();
+		final List<String> skippedImports = new ArrayList<>();
+
+		void print(Path target, TargetEdits edits) {
+			String fileName = target.getFileName().toString();
+			for (MarkerInsert insert : edits.markerInserts) {
+				if (!matchedMarkers.contains(insert.marker)) {
+					System.out.println("⚠️  Marker not found in " + fileName + ": " + insert.marker);
+				}
+			}
+			if (!edits.markerInserts.isEmpty()) {
+				System.out.println("✅ Content successfully written to " + fileName + " (" + edits.markerInserts.size() + " insert(s))");
+			}
+			for (String imp : skippedImports) {
+				System.out.println("⚠️  Import already exists, skipping: " + imp);
+			}
+			for (String imp : insertedImports) {
+				System.out.println("✅ Import successfully inserted to " + fileName + ": " + imp);
+			}
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package tool.whiteLabel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 以位元組偏移量拼接檔案
+ * 未修改的區段直接以 FileChannel.transferTo 複製，只有插入內容需要編碼，
+ * 寫入暫存檔後以 atomic move 取代原檔。
+ */
+class FileSplicer {
+
+	private FileSplicer() {
+	}
+
+	/**
+	 * 單一插入點：在原檔 offset 位置插入 bytes
+	 */
+	static class Splice {
+		final long offset;
+		final byte[] bytes;
+
+		Splice(long offset, byte[] bytes) {
+			this.offset = offset;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * 依序套用插入點（offset 必須遞增，同一 offset 依清單順序寫入）
+	 *
+	 * @return 新檔案大小
+	 */
+	static long splice(Path target, List<Splice> splices) throws IOException {
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "." + target.getFileName(), ".tmp");
+		try {
+			long written;
+			try (FileChannel source = FileChannel.open(target, StandardOpenOption.READ);
+				 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				long size = source.size();
+				long position = 0;
+				for (Splice splice : splices) {
+					transferFully(source, position, splice.offset - position, out);
+					position = splice.offset;
+					ByteBuffer buffer = ByteBuffer.wrap(splice.bytes);
+					while (buffer.hasRemaining()) {
+						out.write(buffer);
+					}
+				}
+				transferFully(source, position, size - position, out);
+				out.force(false);
+				written = out.size();
+			}
+			replaceAtomically(temp, target);
+			return written;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static void transferFully(FileChannel source, long position, long count, FileChannel out) throws IOException {
+		while (count > 0) {
+			long transferred = source.transferTo(position, count, out);
+			if (transferred <= 0) {
+				throw new IOException("Unexpected end of file while splicing at offset " + position);
+			}
+			position += transferred;
+			count -= transferred;
+		}
+	}
+
+	static void replaceAtomically(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package tool.whiteLabel;
+
+import lombok.Data;
+import util.Console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 內容定址的產檔快取
+ * key = SHA-256(模板內容, 模板實際用到的 placeholder 值, FileConfig 設定, 輸出路徑)，
+ * 記錄輸出檔的路徑與內容雜湊。key 相同且輸出檔未被修改時可直接略過 render 與寫檔。
+ * 快取以 LRU 方式限制筆數，超過上限時淘汰最久未使用的項目。
+ */
+public class GenerationCache {
+
+	public static final Path DEFAULT_CACHE_DIR = new File(".project-tool/gen-cache").toPath();
+	public static final int DEFAULT_MAX_ENTRIES = 2000;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final String INDEX_FILE_NAME = "cache-index.json";
+
+	private final boolean enabled;
+	private final Path indexFile;
+	private final int maxEntries;
+	private final LinkedHashMap<String, Entry> entries;
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	@Data
+	public static class Entry {
+		private String outputPath;
+		private String outputHash;
+		private long size;
+		private long lastModified;
+	}
+
+	private GenerationCache(boolean enabled, Path cacheDir, int maxEntries) {
+		this.enabled = enabled;
+		this.indexFile = cacheDir != null ? cacheDir.resolve(INDEX_FILE_NAME) : null;
+		this.maxEntries = maxEntries;
+		// access-order = true，迭代順序即 LRU 順序
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	public static GenerationCache disabled() {
+		return new GenerationCache(false, null, 0);
+	}
+
+	public static GenerationCache open(Path cacheDir, int maxEntries) {
+		GenerationCache cache = new GenerationCache(true, cacheDir, maxEntries);
+		if (Files.isRegularFile(cache.indexFile)) {
+			try {
+				Map<String, Entry> loaded = MAPPER.readValue(cache.indexFile.toFile(), new TypeReference<LinkedHashMap<String, Entry>>() {
+				});
+				cache.entries.putAll(loaded);
+				// 上限可能比寫入索引時小
+				cache.evict();
+			} catch (IOException e) {
+				Console.err().println("⚠️  Generation cache unreadable, starting empty: " + e.getMessage());
+			}
+		}
+		return cache;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 計算快取 key；只納入模板中實際出現的 placeholder，其他欄位變動不會讓快取失效
+	 */
+	public String key(FileConfig fc, String templatePath, Map<String, String> replacements, Path outputPath, String label) throws IOException {
+		MessageDigest digest = sha256();
+		byte[] templateBytes = Files.readAllBytes(new File(templatePath).toPath());
+		String template = new String(templateBytes, Charset.defaultCharset());
+
+		digest.update(templateBytes);
+		Map<String, String> used = new TreeMap<>();
+		for (Map.Entry<String, String> entry : replacements.entrySet()) {
+			if (template.contains(entry.getKey())) {
+				used.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<String, String> entry : used.entrySet()) {
+			update(digest, entry.getKey());
+			update(digest, entry.getValue());
+		}
+		update(digest, fc.getName());
+		update(digest, fc.getLocation());
+		update(digest, fc.getTemplate());
+		update(digest, label);
+		update(digest, outputPath.toAbsolutePath().normalize().toString());
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * key 已記錄且輸出檔仍為當時寫入的內容時回傳 true（並計為命中）
+	 */
+	public synchronized boolean isFresh(String key, Path outputPath) {
+		if (!enabled) {
+			return false;
+		}
+		Entry entry = entries.get(key);
+		boolean fresh = false;
+		if (entry != null && Files.isRegularFile(outputPath)) {
+			try {
+				long size = Files.size(outputPath);
+				long lastModified = Files.getLastModifiedTime(outputPath).toMillis();
+				if (size == entry.size && lastModified == entry.lastModified) {
+					fresh = true;
+				} else if (size == entry.size && entry.outputHash.equals(toHex(sha256().digest(Files.readAllBytes(outputPath))))) {
+					entry.lastModified = lastModified;
+					fresh = true;
+				}
+			} catch (IOException e) {
+				fresh = false;
+			}
+		}
+		if (fresh) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return fresh;
+	}
+
+	/**
+	 * 寫檔完成後記錄輸出內容雜湊（由 writer thread 呼叫）
+	 */
+	public synchronized void record(String key, Path outputPath, byte[] content) {
+		if (!enabled) {
+			return;
+		}
+		try {
+			Entry entry = new Entry();
+			entry.outputPath = outputPath.toString();
+			entry.outputHash = toHex(sha256().digest(content));
+			entry.size = content.length;
+			entry.lastModified = Files.getLastModifiedTime(outputPath).toMillis();
+			entries.put(key, entry);
+			evict();
+		} catch (IOException e) {
+			Console.err().println("⚠️  Failed to record generation cache for " + outputPath + ": " + e.getMessage());
+		}
+	}
+
+	public synchronized void save() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			Files.createDirectories(indexFile.getParent());
+			MAPPER.writeValue(indexFile.toFile(), entries);
+		} catch (IOException e) {
+			Console.err().println("⚠️  Failed to save generation cache: " + e.getMessage());
+		}
+	}
+
+	public void printStats() {
+		if (!enabled) {
+			return;
+		}
+		Console.out().println("📦 Generation cache: " + hits.get() + " hit(s), " + misses.get() + " miss(es)");
+	}
+
+	private void evict() {
+		while (entries.size() > maxEntries) {
+			String eldest = entries.keySet().iterator().next();
+			entries.remove(eldest);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,184 @@
+package tool.whiteLabel;
+
+import util.Console;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 產生檔案的兩階段管線
+ * - Render 階段：多個 renderer thread 執行模板替換，將結果放入有界佇列
+ * - Write 階段：單一 I/O thread 從佇列取出並寫入磁碟
+ * 佇列已滿時 renderer 會阻塞（backpressure），讓 CPU 與磁碟工作重疊而不是交替執行。
+ */
+public class GenerationPipeline implements AutoCloseable {
+
+	private static final RenderedFile POISON = new RenderedFile(null, null, null, null);
+
+	private final ExecutorService renderers;
+	private final BlockingQueue<RenderedFile> queue;
+	private final Thread writer;
+	private final AtomicInteger written = new AtomicInteger();
+	private final AtomicInteger failed = new AtomicInteger();
+
+	public GenerationPipeline() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	public GenerationPipeline(int renderThreads, int queueCapacity) {
+		AtomicInteger threadNo = new AtomicInteger();
+		this.renderers = Executors.newFixedThreadPool(Math.max(1, renderThreads), r -> {
+			Thread t = new Thread(r, "wl-render-" + threadNo.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+		this.writer = new Thread(this::drain, "wl-writer");
+		this.writer.start();
+	}
+
+	/**
+	 * 提交一個產檔工作（可由多個 thread 同時呼叫）；renderer 必須只讀取提交當下已建立好的資料（replacements 需為獨立副本）
+	 *
+	 * @param outputPath 輸出路徑
+	 * @param label      日誌標籤（例如環境名稱，可為 null）
+	 * @param renderer   產生檔案內容
+	 */
+	public void submit(Path outputPath, String label, Supplier<String> renderer) {
+		submit(outputPath, label, renderer, null);
+	}
+
+	/**
+	 * @param onWritten 寫檔成功後於 writer thread 回呼（可為 null）
+	 */
+	public void submit(Path outputPath, String label, Supplier<String> renderer, BiConsumer<Path, byte[]> onWritten) {
+		renderers.execute(() -> {
+			try {
+				// 與 TemplateEngine 的 FileReader / FileWriter 一致，使用平台預設編碼
+				byte[] content = renderer.get().getBytes(Charset.defaultCharset());
+				queue.put(new RenderedFile(outputPath, content, label, onWritten));
+			} catch (InterruptedException e) {
+				// close() 被中斷時停止 renderer，未放入佇列的檔案計為失敗
+				Thread.currentThread().interrupt();
+				failed.incrementAndGet();
+				Console.err().println("❌ Rendering interrupted: " + outputPath);
+			} catch (Exception e) {
+				failed.incrementAndGet();
+				Console.err().println("❌ Error rendering " + outputPath + ": " + e.getMessage());
+			}
+		});
+	}
+
+	public int getWrittenCount() {
+		return written.get();
+	}
+
+	public int getFailedCount() {
+		return failed.get();
+	}
+
+	/**
+	 * 等待所有 render 完成、佇列寫完後關閉管線
+	 * 呼叫端被中斷時停止尚未完成的 render，仍一定放入 POISON 讓 writer thread 寫完佇列後結束，並保留中斷狀態
+	 */
+	@Override
+	public void close() {
+		boolean interrupted = false;
+		try {
+			// 不保留每個工作的 Future，批次產檔時記憶體不隨檔案數增加
+			renderers.shutdown();
+			renderers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			interrupted = true;
+		} finally {
+			renderers.shutdownNow();
+			// writer thread 持續取出佇列，佇列已滿時也會在有限時間內放入
+			while (true) {
+				try {
+					queue.put(POISON);
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (!interrupted) {
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			RenderedFile file;
+			try {
+				file = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (file == POISON) {
+				return;
+			}
+			// 單一檔案失敗（含 onWritten 回呼拋出的例外）只計入 failed，writer thread 必須繼續取出佇列，否則 renderer 與 close 會卡住
+			try {
+				write(file);
+				if (file.onWritten != null) {
+					file.onWritten.accept(file.path, file.content);
+				}
+				written.incrementAndGet();
+				Console.out().println("✅ Created" + (file.label != null ? " (" + file.label + ")" : "") + ": " + file.path);
+			} catch (IOException | RuntimeException e) {
+				failed.incrementAndGet();
+				Console.err().println("❌ Error writing " + file.path + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private static void write(RenderedFile file) throws IOException {
+		Path parent = file.path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (FileChannel channel = FileChannel.open(file.path,
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(file.content);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	private static class RenderedFile {
+		final Path path;
+		final byte[] content;
+		final String label;
+		final BiConsumer<Path, byte[]> onWritten;
+
+		RenderedFile(Path path, byte[] content, String label, BiConsumer<Path, byte[]> onWritten) {
+			this.path = path;
+			this.content = content;
+			this.label = label;
+			this.onWritten = onWritten;
+		}
+	}
+}
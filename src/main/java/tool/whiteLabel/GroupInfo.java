@@ -4,6 +4,7 @@ import lombok.Data;
 
 import java.util.List;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
@@ -34,9 +35,15 @@ public class GroupInfo {
 	@JsonProperty("backup")
 	private List<String> backup;
 	
+	/**
+	 * 每個 INSERT 語句最多幾列（apidomainname / corsdomain），未設定時為 500
+	 */
+	@Min(value = 1, message = "sqlInsertChunkSize 必須大於 0")
+	private Integer sqlInsertChunkSize;
+	
 	@Override
 	public java.lang.String toString() {
 		return "GroupInfo{" + "privateIpSetId='" + privateIpSetId + '\'' + ", privateIp=" + privateIp + ", bkIpSetId=" + bkIpSetId
-			+ ", apiInfoBkIpSetId='" + apiInfoBkIpSetId + '\'' + ", backup=" + backup + '}';
+			+ ", apiInfoBkIpSetId='" + apiInfoBkIpSetId + '\'' + ", backup=" + backup + ", sqlInsertChunkSize=" + sqlInsertChunkSize + '}';
 	}
 }
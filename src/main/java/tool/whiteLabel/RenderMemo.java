@@ -0,0 +1,83 @@
+package tool.whiteLabel;
+
+import util.TemplateEngine;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 單次產檔中的模板 render 記憶
+ * 同一模板（路徑 + 修改時間 + 大小）搭配同一個 context 版本與映射變體只 render 一次，
+ * 其餘使用相同組合的項目（例如同一段 enum 同時插入後端與前端常數檔）直接共用結果。
+ * 可由多個 renderer thread 同時呼叫；同一個 key 只會有一個 thread 實際執行 render。
+ */
+class RenderMemo {
+
+	private final Map<Key, CompletableFuture<String>> rendered = new ConcurrentHashMap<>();
+	private final AtomicInteger hits = new AtomicInteger();
+
+	/**
+	 * @param variant      映射變體（例如環境名稱；基本映射為 null），同一 context 版本與變體必須對應同一份 replacements
+	 * @param replacements 第一次 render 時使用的映射
+	 */
+	String render(String templatePath, ReplacementContext context, String variant, Map<String, String> replacements) {
+		Key key = new Key(templatePath, context.getVersion(), variant);
+		CompletableFuture<String> created = new CompletableFuture<>();
+		CompletableFuture<String> existing = rendered.putIfAbsent(key, created);
+		if (existing != null) {
+			hits.incrementAndGet();
+			return existing.join();
+		}
+		try {
+			created.complete(TemplateEngine.fillFile(templatePath, replacements));
+		} catch (RuntimeException e) {
+			created.completeExceptionally(e);
+			rendered.remove(key, created);
+			throw e;
+		}
+		return created.join();
+	}
+
+	int getHits() {
+		return hits.get();
+	}
+
+	private static final class Key {
+		private final String path;
+		private final long lastModified;
+		private final long length;
+		private final long contextVersion;
+		private final String variant;
+
+		Key(String templatePath, long contextVersion, String variant) {
+			File file = new File(templatePath).getAbsoluteFile();
+			this.path = file.toPath().normalize().toString();
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+			this.contextVersion = contextVersion;
+			this.variant = variant;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return lastModified == key.lastModified && length == key.length && contextVersion == key.contextVersion
+				&& path.equals(key.path) && Objects.equals(variant, key.variant);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(path, lastModified, length, contextVersion, variant);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package tool.whiteLabel;
+
+import constant.EnvEnumType;
+import util.placeholder.PlaceholderMapper;
+import util.placeholder.Transformers;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 單一 WhiteLabelConfig 的 placeholder 映射
+ * 基本映射與各環境映射在第一次使用時建立並保留，同一份設定重複產檔（watch 模式）時不必重建；
+ * 批次產檔時每一列各自擁有一個 context，彼此不共用狀態。
+ */
+public class ReplacementContext {
+
+	private static final AtomicLong VERSIONS = new AtomicLong();
+
+	/**
+	 * 每個 context 建立時取得唯一版本號；映射建立後不再變動，版本相同即代表映射相同
+	 */
+	private final long version = VERSIONS.incrementAndGet();
+	private final WhiteLabelConfig config;
+	private Map<String, String> baseReplacements;
+	private final Map<EnvEnumType, Map<String, String>> envReplacements = new EnumMap<>(EnvEnumType.class);
+
+	public ReplacementContext(WhiteLabelConfig config) {
+		this.config = config;
+	}
+
+	public WhiteLabelConfig getConfig() {
+		return config;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * 基本映射（回傳副本，可自由修改）
+	 */
+	public Map<String, String> base() {
+		return new LinkedHashMap<>(baseReplacements());
+	}
+
+	/**
+	 * 指定環境的映射（回傳快取本身，呼叫端需自行複製後再修改）
+	 */
+	public Map<String, String> forEnv(EnvEnumType envEnumType) {
+		return envReplacements.computeIfAbsent(envEnumType, env -> {
+			Map<String, String> replacements = new LinkedHashMap<>(baseReplacements());
+
+			if (StringUtils.isNotBlank(config.getHost())) {
+				replacements.put("{$corsDomainValues}", getCorsDomainValue(env));
+				replacements.put("{$enableFrontendBackendSeparationByDomainValues}", getEnableFrontendBackendSeparationByDomainValue());
+			}
+
+			System.out.println("✅ " + env.name() + " environment placeholder mappings cached (" + replacements.size() + " items)");
+			return replacements;
+		});
+	}
+
+	private Map<String, String> baseReplacements() {
+		if (baseReplacements == null) {
+			baseReplacements = buildBaseReplacements();
+			System.out.println("✅ Base placeholder mappings cached (" + baseReplacements.size() + " items)");
+		}
+		return baseReplacements;
+	}
+
+	private Map<String, String> buildBaseReplacements() {
+		return PlaceholderMapper.builder(config)
+			.autoMap()
+			.derived("{$webSiteName}", config -> Transformers.SNAKE_TO_CAMEL_UPPER.transform(config.getWebSiteName()))
+			.derived("{$className}", config -> Transformers.SNAKE_TO_CAMEL.transform(config.getWebSiteName()))
+			.derived("{$lowerCase}", config -> Transformers.SNAKE_TO_CAMEL_LOWER.transform(config.getWebSiteName()))
+			.derivedIf("{$enumName}",
+				config -> StringUtils.isNotBlank(config.getHost()),
+				config -> Transformers.DOT_TO_UNDERSCORE_UPPER.transform(config.getHost()))
+			.derivedIf("{$url}",
+				config -> !config.isApiWhiteLabel() && StringUtils.isNotBlank(config.getHost()),
+				WhiteLabelConfig::getHost)
+			.derivedIf("{$group}",
+				WhiteLabelConfig::isApiWhiteLabel,
+				config -> config.getApiWalletInfo().getGroup())
+			.derivedIf("{$cert}",
+				WhiteLabelConfig::isApiWhiteLabel,
+				config -> config.getApiWalletInfo().getCert())
+			.build();
+	}
+
+	private String getCorsDomainValue(EnvEnumType envEnumType) {
+		return String.format("\n\t('%s', 1, '%s', '%s', sysdate(6), sysdate(6))",
+			config.getHost(), envEnumType.getSubDomainStatic(), envEnumType.getSubDomainApi());
+	}
+
+	private String getEnableFrontendBackendSeparationByDomainValue() {
+		return String.format("\n\t\t\"%s\": 1", config.getHost());
+	}
+}
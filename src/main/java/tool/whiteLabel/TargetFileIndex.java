@@ -0,0 +1,155 @@
+package tool.whiteLabel;
+
+import lombok.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 目標檔案的 marker / import 位置索引
+ * 儲存於 {@code .project-tool/edit-index/}，以檔案大小、修改時間與內容 CRC32 驗證；
+ * 有效時 {@link FileEditPlanner} 可直接跳到插入點，不必逐行重新掃描整個檔案。
+ */
+@Data
+public class TargetFileIndex {
+
+	public static final Path DEFAULT_INDEX_DIR = new File(".project-tool/edit-index").toPath();
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private String path;
+	private long size;
+	private long lastModified;
+	private long contentHash;
+	private String lineSeparator;
+	private boolean endsWithTerminator;
+
+	/**
+	 * 檔頭（package / import / 註解 / 空行）結束位置，即第一個程式碼行的 offset
+	 */
+	private long headerEnd;
+	private List<IndexedLine> headerLines = new ArrayList<>();
+
+	/**
+	 * import 區塊範圍與排序後的 import 清單
+	 */
+	private long importBlockStart = -1;
+	private long importBlockEnd = -1;
+	private List<String> imports = new ArrayList<>();
+
+	/**
+	 * marker 字串 -> 包含該字串的所有行（空清單代表已確認不存在）
+	 */
+	private Map<String, List<IndexedLine>> markers = new LinkedHashMap<>();
+
+	/**
+	 * 單一行的位置：start 為行首 offset，next 為含換行符號後的下一行 offset
+	 */
+	@Data
+	public static class IndexedLine {
+		private long start;
+		private long next;
+		private String text;
+		private String indent;
+
+		public IndexedLine() {
+		}
+
+		IndexedLine(long start, long next, String text, String indent) {
+			this.start = start;
+			this.next = next;
+			this.text = text;
+			this.indent = indent;
+		}
+	}
+
+	public boolean covers(Collection<String> markerKeys) {
+		return markers.keySet().containsAll(markerKeys);
+	}
+
+	/**
+	 * 載入索引並驗證；索引不存在或已過期時回傳 null
+	 */
+	static TargetFileIndex load(Path indexDir, Path target) {
+		if (indexDir == null) {
+			return null;
+		}
+		Path indexFile = indexFile(indexDir, target);
+		if (!Files.isRegularFile(indexFile)) {
+			return null;
+		}
+		try {
+			TargetFileIndex index = MAPPER.readValue(indexFile.toFile(), TargetFileIndex.class);
+			if (index.size != Files.size(target)
+				|| index.lastModified != Files.getLastModifiedTime(target).toMillis()
+				|| index.contentHash != contentHash(target)) {
+				System.out.println("ℹ️  Edit index outdated, rescanning: " + target.getFileName());
+				return null;
+			}
+			return index;
+		} catch (IOException e) {
+			System.err.println("⚠️  Failed to read edit index for " + target.getFileName() + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	static void save(Path indexDir, Path target, TargetFileIndex index) {
+		if (indexDir == null) {
+			return;
+		}
+		Path indexFile = indexFile(indexDir, target);
+		try {
+			if (index == null) {
+				Files.deleteIfExists(indexFile);
+				return;
+			}
+			Files.createDirectories(indexDir);
+			index.path = target.toString();
+			index.size = Files.size(target);
+			index.lastModified = Files.getLastModifiedTime(target).toMillis();
+			index.contentHash = contentHash(target);
+			MAPPER.writeValue(indexFile.toFile(), index);
+		} catch (IOException e) {
+			System.err.println("⚠️  Failed to write edit index for " + target.getFileName() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 以 mmap + CRC32 計算內容雜湊，不做任何字元解碼
+	 */
+	static long contentHash(Path target) throws IOException {
+		CRC32 crc = new CRC32();
+		try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = 0;
+			while (position < size) {
+				long chunk = Math.min(Integer.MAX_VALUE, size - position);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, chunk);
+				crc.update(buffer);
+				position += chunk;
+			}
+		}
+		return crc.getValue();
+	}
+
+	private static Path indexFile(Path indexDir, Path target) {
+		CRC32 crc = new CRC32();
+		crc.update(target.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+		String name = target.getFileName().toString() + "-" + Long.toHexString(crc.getValue()) + ".json";
+		return indexDir.resolve(name);
+	}
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -97,66 +98,79 @@ public class WhiteLabelConfig {
 	}
 
 	public void validate() {
+		List<String> errors = validationErrors();
+		if (!errors.isEmpty()) {
+			for (String error : errors) {
+				System.err.println("❌ " + error);
+			}
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * 回傳所有驗證錯誤訊息（不結束程式），供 watch 模式重新載入設定時使用
+	 */
+	public List<String> validationErrors() {
+		List<String> errors = new ArrayList<>();
 		ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
 		Validator validator = factory.getValidator();
 		Set<ConstraintViolation<WhiteLabelConfig>> violations = validator.validate(this);
 		
 		if (!violations.isEmpty()) {
 			for (ConstraintViolation<WhiteLabelConfig> violation : violations) {
-				System.err.println("❌ 驗證錯誤: " + violation.getPropertyPath() + " - " + violation.getMessage());
+				errors.add("驗證錯誤: " + violation.getPropertyPath() + " - " + violation.getMessage());
 			}
-			System.exit(1);
+			return errors;
 		}
 		
 		// 自定邏輯條件
 		if (apiWhiteLabel) {
 			if (apiWalletInfo == null) {
-				System.err.println("❌ 驗證錯誤: 當 apiWhiteLabel 為 true 時，apiWalletInfo 不可為 null");
-				System.exit(1);
+				errors.add("驗證錯誤: 當 apiWhiteLabel 為 true 時，apiWalletInfo 不可為 null");
 			} else {
 				if (apiWalletInfo.isNewGroup()) {
 					if (apiWalletInfo.getGroupInfo() == null) {
-						System.err.println("❌ 驗證錯誤: 當 newGroup 為 true 時，groupInfo 不可為 null");
-						System.exit(1);
+						errors.add("驗證錯誤: 當 newGroup 為 true 時，groupInfo 不可為 null");
+						return errors;
 					}
 					if (CollectionUtils.isEmpty(apiWalletInfo.getGroupInfo().getBkIpSetId())) {
-						System.err.println("❌ 驗證錯誤: 當 newGroup 為 true 時，bkIpSetId 不可為 null");
-						System.exit(1);
-					}
-					for (String item : apiWalletInfo.getGroupInfo().getBkIpSetId()) {
-						if (StringUtils.isBlank(item)) {
-							System.err.println("❌ 當 newGroup 為 true 時，bkIpSetId 中不可有 null 元素");
-							System.exit(1);
+						errors.add("驗證錯誤: 當 newGroup 為 true 時，bkIpSetId 不可為 null");
+					} else {
+						for (String item : apiWalletInfo.getGroupInfo().getBkIpSetId()) {
+							if (StringUtils.isBlank(item)) {
+								errors.add("當 newGroup 為 true 時，bkIpSetId 中不可有 null 元素");
+								break;
+							}
 						}
 					}
 					if (CollectionUtils.isEmpty(apiWalletInfo.getGroupInfo().getBackup())) {
-						System.err.println("❌ 驗證錯誤: 當 newGroup 為 true 時，backup 不可為 null");
-						System.exit(1);
-					}
-					for (String item : apiWalletInfo.getGroupInfo().getBackup()) {
-						if (StringUtils.isBlank(item)) {
-							System.err.println("❌ 當 newGroup 為 true 時，backup 中不可有 null 元素");
-							System.exit(1);
+						errors.add("驗證錯誤: 當 newGroup 為 true 時，backup 不可為 null");
+					} else {
+						for (String item : apiWalletInfo.getGroupInfo().getBackup()) {
+							if (StringUtils.isBlank(item)) {
+								errors.add("當 newGroup 為 true 時，backup 中不可有 null 元素");
+								break;
+							}
 						}
 					}
 					if (CollectionUtils.isEmpty(apiWalletInfo.getGroupInfo().getPrivateIp())) {
-						System.err.println("❌ 當 newGroup 為 true 時，privateIp 不可為 null");
-						System.exit(1);
-					}
-					for (String item : apiWalletInfo.getGroupInfo().getPrivateIp()) {
-						if (StringUtils.isBlank(item)) {
-							System.err.println("❌ 當 newGroup 為 true 時，privateIp 中不可有 null 元素");
-							System.exit(1);
+						errors.add("當 newGroup 為 true 時，privateIp 不可為 null");
+					} else {
+						for (String item : apiWalletInfo.getGroupInfo().getPrivateIp()) {
+							if (StringUtils.isBlank(item)) {
+								errors.add("當 newGroup 為 true 時，privateIp 中不可有 null 元素");
+								break;
+							}
 						}
 					}
 				}
 			}
 		} else {
 			if (host == null || "".equals(host)) {
-				System.err.println("❌ 驗證錯誤: 當 apiWhiteLabel 為 false 時，host 不可缺失");
-				System.exit(1);
+				errors.add("驗證錯誤: 當 apiWhiteLabel 為 false 時，host 不可缺失");
 			}
 		}
+		return errors;
 	}
 	
 	@Override
@@ -1,132 +1,177 @@
 package tool.whiteLabel;
 
 import constant.EnvEnumType;
+import util.Console;
 import util.TemplateEngine;
-import util.placeholder.PlaceholderMapper;
-import util.placeholder.Transformers;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class WhiteLabelTool {
 
-	private static Map<String, String> baseReplacementsCache = null;
-	private static final Map<EnvEnumType, Map<String, String>> envReplacementsCache = new HashMap<>();
-
-	// apiDomainType 1: public, 0:private
-	private static final List<String> UAT_PUBLIC_DOMAIN_LIST = Arrays.asList("qqkk77.net", "qqkk77.live", "ppkk77.net");
-	private static final List<String> UAT_PRIVATE_DOMAIN_LIST = Arrays.asList("cckk77.net", "cckk77.live");
-
 	public static void main(String[] args) {
+		// render / write thread 與批次的各列同時輸出，統一交給 console-writer 依序寫出
+		Console.install();
 		if (args.length < 1) {
 			System.err.println("Please provide config file path as argument");
-			System.err.println("Usage: java WhiteLabelTool <configFilePath>");
+			System.err.println("Usage: java WhiteLabelTool <configFilePath> [--no-cache] [--watch] [--rows <rows.csv|rows.jsonl>] [--parallel <n>]");
 			System.exit(1);
 		}
 
-		clearReplacementsCache();
-
 		String configFilePath = args[0];
+		boolean useCache = true;
+		boolean watch = false;
+		String rowsFilePath = null;
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		for (int i = 1; i < args.length; i++) {
+			if ("--no-cache".equals(args[i])) {
+				useCache = false;
+			} else if ("--watch".equals(args[i])) {
+				watch = true;
+			} else if ("--rows".equals(args[i]) && i + 1 < args.length) {
+				rowsFilePath = args[++i];
+			} else if ("--parallel".equals(args[i]) && i + 1 < args.length) {
+				parallelism = Integer.parseInt(args[++i]);
+			} else {
+				System.err.println("Unknown option: " + args[i]);
+			}
+		}
+		if (watch && rowsFilePath != null) {
+			System.err.println("--watch cannot be combined with --rows");
+			System.exit(1);
+		}
+
 		try {
 			ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+			GenerationCache cache = useCache
+				? GenerationCache.open(GenerationCache.DEFAULT_CACHE_DIR, GenerationCache.DEFAULT_MAX_ENTRIES)
+				: GenerationCache.disabled();
+
+			if (rowsFilePath != null) {
+				// 批次模式：設定檔提供共用的 files 版面與預設值，各列只覆寫自己的欄位
+				ObjectNode layout = (ObjectNode) objectMapper.readTree(new File(configFilePath));
+				BulkGenerator.Summary summary = new BulkGenerator(objectMapper, layout, cache, parallelism).run(Paths.get(rowsFilePath));
+				cache.save();
+				cache.printStats();
+				summary.print();
+				if (summary.hasFailures()) {
+					System.exit(1);
+				}
+				return;
+			}
+
 			WhiteLabelConfig whiteLabelConfig = objectMapper.readValue(new File(configFilePath), WhiteLabelConfig.class);
 			System.out.println(whiteLabelConfig.toString());
 			whiteLabelConfig.validate();
-			processDynamicFiles(whiteLabelConfig);
+			ReplacementContext context = new ReplacementContext(whiteLabelConfig);
+			int failed = processDynamicFiles(context, cache, fc -> true);
+			cache.save();
+			cache.printStats();
+
+			if (watch) {
+				new WhiteLabelWatcher(Paths.get(configFilePath), context, cache, objectMapper).run();
+			} else if (failed > 0) {
+				System.err.println("❌ " + failed + " item(s) failed");
+				System.exit(1);
+			}
 		} catch (IOException e) {
 			System.err.println("Error processing JSON file: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
-	private static void clearReplacementsCache() {
-		baseReplacementsCache = null;
-		envReplacementsCache.clear();
-	}
-
-	private static Map<String, String> buildReplacements(WhiteLabelConfig whiteLabelConfig) {
-		return buildReplacements(whiteLabelConfig, null);
-	}
-
-	private static Map<String, String> buildBaseReplacements(WhiteLabelConfig whiteLabelConfig) {
-		return PlaceholderMapper.builder(whiteLabelConfig)
-			.autoMap()
-			.derived("{$webSiteName}", config -> Transformers.SNAKE_TO_CAMEL_UPPER.transform(config.getWebSiteName()))
-			.derived("{$className}", config -> Transformers.SNAKE_TO_CAMEL.transform(config.getWebSiteName()))
-			.derived("{$lowerCase}", config -> Transformers.SNAKE_TO_CAMEL_LOWER.transform(config.getWebSiteName()))
-			.derivedIf("{$enumName}",
-				config -> StringUtils.isNotBlank(config.getHost()),
-				config -> Transformers.DOT_TO_UNDERSCORE_UPPER.transform(config.getHost()))
-			.derivedIf("{$url}",
-				config -> !config.isApiWhiteLabel() && StringUtils.isNotBlank(config.getHost()),
-				WhiteLabelConfig::getHost)
-			.derivedIf("{$group}",
-				WhiteLabelConfig::isApiWhiteLabel,
-				config -> config.getApiWalletInfo().getGroup())
-			.derivedIf("{$cert}",
-				WhiteLabelConfig::isApiWhiteLabel,
-				config -> config.getApiWalletInfo().getCert())
-			.build();
-	}
-
-	private static Map<String, String> buildReplacements(WhiteLabelConfig whiteLabelConfig, EnvEnumType envEnumType) {
-		if (baseReplacementsCache == null) {
-			baseReplacementsCache = buildBaseReplacements(whiteLabelConfig);
-			System.out.println("✅ Base placeholder mappings cached (" + baseReplacementsCache.size() + " items)");
-		}
-
-		if (envEnumType == null) {
-			return new LinkedHashMap<>(baseReplacementsCache);
+	/**
+	 * 依 files 設定產生檔案
+	 *
+	 * @param selected 只處理符合條件的 FileConfig（watch 模式只重新產生受影響的項目）
+	 * @return 失敗的項目數（設定、render、寫檔與插入既有檔案的失敗合計），錯誤訊息已在發生時輸出
+	 */
+	static int processDynamicFiles(ReplacementContext context, GenerationCache cache, Predicate<FileConfig> selected) {
+		FileEditPlanner editPlanner = new FileEditPlanner();
+		GenerationPipeline pipeline = new GenerationPipeline();
+		List<String> errors;
+		try {
+			errors = processDynamicFiles(context, cache, selected, pipeline, editPlanner);
+		} finally {
+			pipeline.close();
 		}
-
-		return envReplacementsCache.computeIfAbsent(envEnumType, env -> {
-			Map<String, String> replacements = new LinkedHashMap<>(baseReplacementsCache);
-
-			if (StringUtils.isNotBlank(whiteLabelConfig.getHost())) {
-				replacements.put("{$corsDomainValues}", getCorsDomainValue(whiteLabelConfig, env));
-				replacements.put("{$enableFrontendBackendSeparationByDomainValues}",
-					getEnableFrontendBackendSeparationByDomainValue(whiteLabelConfig, env));
-			}
-
-			System.out.println("✅ " + env.name() + " environment placeholder mappings cached (" + replacements.size() + " items)");
-			return replacements;
-		});
+		// 同一目標檔案的所有插入與 import 合併為一次讀寫
+		return errors.size() + pipeline.getFailedCount() + editPlanner.applyAll().size();
 	}
 
-	private static void processDynamicFiles(WhiteLabelConfig config) {
-		Map<String, String> baseReplacements = buildReplacements(config);
+	/**
+	 * 新檔案提交到 pipeline，插入既有檔案的項目只登記到 editPlanner，由呼叫端決定何時套用
+	 *
+	 * @return 提交前就失敗的項目與原因（模板不存在、插入目標不存在等）；之後的 render / 寫檔失敗由 pipeline 計數
+	 */
+	static List<String> processDynamicFiles(ReplacementContext context, GenerationCache cache, Predicate<FileConfig> selected,
+		GenerationPipeline pipeline, FileEditPlanner editPlanner) {
+		List<String> errors = new ArrayList<>();
+		WhiteLabelConfig config = context.getConfig();
+		Map<String, String> baseReplacements = context.base();
+		// 相同模板 + 相同映射只 render 一次，結果共用給所有輸出與插入目標
+		RenderMemo memo = new RenderMemo();
 		for (FileConfig fc : config.getFiles()) {
+			if (!selected.test(fc)) {
+				continue;
+			}
 			try {
 				if (fc.isNew()) {
 					if (fc.getEnvironments() != null && !fc.getEnvironments().isEmpty()) {
-						processNewFilePerEnv(config, fc);
+						processNewFilePerEnv(context, fc, pipeline, cache, memo, errors);
 					} else {
-						processNewFile(fc, baseReplacements);
+						processNewFile(context, fc, baseReplacements, pipeline, cache, memo);
 					}
 				} else {
-					processInsertFile(fc, baseReplacements);
+					processInsertFile(context, fc, baseReplacements, editPlanner, memo);
 				}
 			} catch (Exception e) {
-				System.err.println("❌ Error processing '" + fc.getName() + "': " + e.getMessage());
+				String error = "Error processing '" + fc.getName() + "': " + e.getMessage();
+				errors.add(error);
+				Console.err().println("❌ " + error);
 			}
 		}
+		return errors;
 	}
 
-	private static void processNewFilePerEnv(WhiteLabelConfig config, FileConfig fc) {
+	/**
+	 * 解析 FileConfig 實際使用的模板路徑（含各環境展開）
+	 */
+	static List<String> resolveTemplatePaths(ReplacementContext context, FileConfig fc) {
+		List<String> paths = new ArrayList<>();
+		if (fc.getEnvironments() != null && !fc.getEnvironments().isEmpty()) {
+			for (String envName : fc.getEnvironments()) {
+				Map<String, String> replacements = context.base();
+				replacements.put("{$env}", envName);
+				paths.add(TemplateEngine.fill(fc.getTemplate(), replacements));
+			}
+		} else {
+			paths.add(fc.getTemplate());
+		}
+		return paths;
+	}
+
+	private static void processNewFilePerEnv(ReplacementContext context, FileConfig fc, GenerationPipeline pipeline, GenerationCache cache,
+		RenderMemo memo, List<String> errors) {
+		WhiteLabelConfig config = context.getConfig();
 		for (String envName : fc.getEnvironments()) {
 			try {
 				EnvEnumType envEnumType = EnvEnumType.valueOf(envName);
-				Map<String, String> replacements = buildReplacements(config, envEnumType);
+				// 複製一份，render 在其他 thread 執行，不可共用快取中的 Map
+				Map<String, String> replacements = new LinkedHashMap<>(context.forEnv(envEnumType));
 				replacements.put("{$env}", envName);
 
 				if (config.getApiWalletInfo() != null && config.getApiWalletInfo().isNewGroup()) {
@@ -137,39 +182,61 @@ public class WhiteLabelTool {
 				String resolvedName = TemplateEngine.fill(fc.getName(), replacements);
 
 				String location = fc.getLocation().endsWith("/") ? fc.getLocation() : fc.getLocation() + "/";
-				Files.createDirectories(Paths.get(location));
-				String outputPath = location + resolvedName;
-				TemplateEngine.writeToFile(outputPath, TemplateEngine.fillFile(resolvedTemplate, replacements));
-				System.out.println("✅ Created (" + envName + "): " + outputPath);
+				Path outputPath = Paths.get(location + resolvedName);
+				submitIfChanged(context, fc, resolvedTemplate, replacements, outputPath, envName, pipeline, cache, memo);
 			} catch (Exception e) {
-				System.err.println("❌ Error processing env " + envName + " for '" + fc.getName() + "': " + e.getMessage());
+				String error = "Error processing env " + envName + " for '" + fc.getName() + "': " + e.getMessage();
+				errors.add(error);
+				Console.err().println("❌ " + error);
 			}
 		}
 	}
 
-	private static void processNewFile(FileConfig fc, Map<String, String> replacements) throws IOException {
+	private static void processNewFile(ReplacementContext context, FileConfig fc, Map<String, String> replacements,
+		GenerationPipeline pipeline, GenerationCache cache, RenderMemo memo) throws IOException {
 		String resolvedName = TemplateEngine.fill(fc.getName(), replacements);
 		String location = fc.getLocation().endsWith("/") ? fc.getLocation() : fc.getLocation() + "/";
-		Files.createDirectories(Paths.get(location));
-		String outputPath = location + resolvedName;
-		TemplateEngine.writeToFile(outputPath, TemplateEngine.fillFile(fc.getTemplate(), replacements));
-		System.out.println("✅ Created: " + outputPath);
+		Path outputPath = Paths.get(location + resolvedName);
+		submitIfChanged(context, fc, fc.getTemplate(), replacements, outputPath, null, pipeline, cache, memo);
 	}
 
-	private static void processInsertFile(FileConfig fc, Map<String, String> replacements) throws IOException {
-		String content = TemplateEngine.fillFile(fc.getTemplate(), replacements);
-		String marker = StringUtils.isNotBlank(fc.getMarker()) ? fc.getMarker() : "// insert New White Label";
+	/**
+	 * 模板、用到的 placeholder 值與 FileConfig 都沒變，且輸出檔未被修改時略過 render 與寫檔
+	 *
+	 * @param label 日誌標籤，同時作為映射變體（環境名稱；基本映射為 null）
+	 */
+	private static void submitIfChanged(ReplacementContext context, FileConfig fc, String templatePath, Map<String, String> replacements,
+		Path outputPath, String label, GenerationPipeline pipeline, GenerationCache cache, RenderMemo memo) throws IOException {
+		Supplier<String> renderer = () -> memo.render(templatePath, context, label, replacements);
+		if (!cache.isEnabled()) {
+			pipeline.submit(outputPath, label, renderer);
+			return;
+		}
+		String key = cache.key(fc, templatePath, replacements, outputPath, label);
+		if (cache.isFresh(key, outputPath)) {
+			Console.out().println("⏭️  Unchanged" + (label != null ? " (" + label + ")" : "") + ": " + outputPath);
+			return;
+		}
+		pipeline.submit(outputPath, label, renderer, (path, content) -> cache.record(key, path, content));
+	}
+
+	private static void processInsertFile(ReplacementContext context, FileConfig fc, Map<String, String> replacements,
+		FileEditPlanner editPlanner, RenderMemo memo) throws IOException {
 		Path target = Paths.get(fc.getLocation());
-		insertAtMarker(target, marker, content, fc.isInsertAfter());
+		if (!Files.isRegularFile(target)) {
+			throw new NoSuchFileException(fc.getLocation());
+		}
+		String content = memo.render(fc.getTemplate(), context, null, replacements);
+		String marker = StringUtils.isNotBlank(fc.getMarker()) ? fc.getMarker() : "// insert New White Label";
+		editPlanner.addMarkerInsert(target, marker, content, fc.isInsertAfter());
 		if (fc.getImports() != null) {
 			for (String imp : fc.getImports()) {
-				insertImportStatement(target, TemplateEngine.fill(imp, replacements));
+				editPlanner.addImport(target, TemplateEngine.fill(imp, replacements));
 			}
 		}
 	}
 
 	private static Map<String, String> buildNewGroupSqlReplacements(WhiteLabelConfig whiteLabelConfig, EnvEnumType envEnumType) {
-		boolean isUat = envEnumType == EnvEnumType.UAT;
 		ApiWalletInfo apiWalletInfo = whiteLabelConfig.getApiWalletInfo();
 		GroupInfo groupInfo = apiWalletInfo.getGroupInfo();
 
@@ -180,223 +247,9 @@ public class WhiteLabelTool {
 		replacements.put("{$wwwcfIpSetId}", !groupInfo.getBkIpSetId().isEmpty() ? groupInfo.getBkIpSetId().get(1) : null);
 		replacements.put("{$apiInfoBkIpSetId}", groupInfo.getApiInfoBkIpSetId());
 
-		String subDomainStatic = envEnumType.getSubDomainStatic();
-		String subDomainApi = envEnumType.getSubDomainApi();
-
-		StringBuilder valuesSb = new StringBuilder();
-		StringBuilder corsDomainSb = new StringBuilder();
-		StringBuilder enableFrontendBackendSeparationByDomainSb = new StringBuilder();
-		StringBuilder enableDesktopFrontendBackendSeparationByDomainSb = new StringBuilder();
-
-		// privateIpList
-		List<String> privateIpList = new ArrayList<>(groupInfo.getPrivateIp());
-		if (isUat) {
-			privateIpList.addAll(UAT_PRIVATE_DOMAIN_LIST);
-		}
-		for (int i = 0; i < privateIpList.size(); i++) {
-			int active = 1;
-			if (isUat) {
-				active = UAT_PRIVATE_DOMAIN_LIST.contains(privateIpList.get(i)) ? 1 : 0;
-			}
-			String value = String.format("\n\t(apidomainname_id_seq_nextval(), '%s', '%s', %s, %s, 'SYSTEM', 0, NOW(6), NOW(6)),",
-				apiWalletInfo.getGroup(), privateIpList.get(i), active, i + 1);
-			valuesSb.append(value);
-
-			if (!UAT_PRIVATE_DOMAIN_LIST.contains(privateIpList.get(i))) {
-				String frontendBackendSeparation = String.format("\n\t\t\"%s\": 1", privateIpList.get(i));
-				enableFrontendBackendSeparationByDomainSb.append(frontendBackendSeparation);
-				enableFrontendBackendSeparationByDomainSb.append(",");
-			}
-		}
-
-		// backupList
-		List<String> backupList = new ArrayList<>(groupInfo.getBackup());
-		for (int i = 0; i < backupList.size(); i++) {
-			if (i > 0) {
-				valuesSb.append(",");
-				corsDomainSb.append(",");
-				enableFrontendBackendSeparationByDomainSb.append(",");
-				enableDesktopFrontendBackendSeparationByDomainSb.append(",");
-			}
-			int active = i >= 2 ? 0 : 1;
-			if (isUat) {
-				active = 0;
-			}
-			String value = String.format("\n\t(apidomainname_id_seq_nextval(), '%s', '%s', %s, %s, 'SYSTEM', 1, sysdate(6), sysdate(6))",
-				apiWalletInfo.getGroup(), backupList.get(i), active, i + 1);
-			valuesSb.append(value);
-
-			String corsDomainValue = String.format("\n\t('%s', 1, '%s', '%s', sysdate(6), sysdate(6))",
-				backupList.get(i), subDomainStatic, subDomainApi);
-			corsDomainSb.append(corsDomainValue);
-
-			String frontendBackendSeparation = String.format("\n\t\t\"%s\": 1", backupList.get(i));
-			enableFrontendBackendSeparationByDomainSb.append(frontendBackendSeparation);
-			enableDesktopFrontendBackendSeparationByDomainSb.append(frontendBackendSeparation);
-		}
-		if (isUat) {
-			for (int i = 0; i < UAT_PUBLIC_DOMAIN_LIST.size(); i++) {
-				valuesSb.append(",");
-				String value = String.format("\n\t(apidomainname_id_seq_nextval(), '%s', '%s', %s, %s, 'SYSTEM', 1, sysdate(6), sysdate(6))",
-					apiWalletInfo.getGroup(), UAT_PUBLIC_DOMAIN_LIST.get(i), 1, backupList.size() + i + 1);
-				valuesSb.append(value);
-			}
-		}
-
-		valuesSb.append(";");
-		corsDomainSb.append(";");
-
-		replacements.put("{$apiDomainValues}", valuesSb.toString());
-		replacements.put("{$corsDomainValues}", corsDomainSb.toString());
-		replacements.put("{$enableFrontendBackendSeparationByDomainValues}", enableFrontendBackendSeparationByDomainSb.toString());
-		replacements.put("{$enableDesktopFrontendBackendSeparationByDomainValues}", enableDesktopFrontendBackendSeparationByDomainSb.toString());
+		replacements.putAll(new ApiDomainSqlGenerator(apiWalletInfo.getGroup(), envEnumType, groupInfo.getSqlInsertChunkSize())
+			.generate(groupInfo));
 
 		return replacements;
 	}
-
-	private static String getCorsDomainValue(WhiteLabelConfig whiteLabelConfig, EnvEnumType envEnumType) {
-		return String.format("\n\t('%s', 1, '%s', '%s', sysdate(6), sysdate(6))",
-			whiteLabelConfig.getHost(), envEnumType.getSubDomainStatic(), envEnumType.getSubDomainApi());
-	}
-
-	private static String getEnableFrontendBackendSeparationByDomainValue(WhiteLabelConfig whiteLabelConfig, EnvEnumType envEnumType) {
-		return String.format("\n\t\t\"%s\": 1", whiteLabelConfig.getHost());
-	}
-
-	/**
-	 * 在 Java 檔案中智能插入 import 語句，自動排序並避免重複
-	 * Import 排序規則：java.* -> javax.* -> org.* -> com.* -> 其他（各組內按字母順序）
-	 */
-	private static void insertImportStatement(Path javaFile, String importStatement) throws IOException {
-		String normalizedImport = importStatement.trim();
-		if (!normalizedImport.startsWith("import ")) {
-			normalizedImport = "import " + normalizedImport;
-		}
-		if (!normalizedImport.endsWith(";")) {
-			normalizedImport = normalizedImport + ";";
-		}
-
-		List<String> lines = Files.readAllLines(javaFile);
-		List<String> result = new ArrayList<>();
-
-		int firstImportIndex = -1;
-		int lastImportIndex = -1;
-		int packageIndex = -1;
-
-		for (int i = 0; i < lines.size(); i++) {
-			String line = lines.get(i).trim();
-			if (line.startsWith("package ")) {
-				packageIndex = i;
-			}
-			if (line.startsWith("import ")) {
-				if (firstImportIndex == -1) {
-					firstImportIndex = i;
-				}
-				lastImportIndex = i;
-
-				if (line.equals(normalizedImport)) {
-					System.out.println("⚠️  Import already exists, skipping: " + normalizedImport);
-					return;
-				}
-			}
-		}
-
-		if (firstImportIndex == -1) {
-			int insertPosition = packageIndex + 1;
-			for (int i = 0; i < lines.size(); i++) {
-				result.add(lines.get(i));
-				if (i == insertPosition) {
-					result.add("");
-					result.add(normalizedImport);
-				}
-			}
-		} else {
-			int insertPosition = findImportInsertPosition(lines, firstImportIndex, lastImportIndex, normalizedImport);
-			for (int i = 0; i < lines.size(); i++) {
-				if (i == insertPosition) {
-					result.add(normalizedImport);
-				}
-				result.add(lines.get(i));
-			}
-		}
-
-		String fileName = javaFile.getFileName().toString();
-		System.out.println("✅ Import successfully inserted to " + fileName + ": " + normalizedImport);
-		Files.write(javaFile, result);
-	}
-
-	private static int findImportInsertPosition(List<String> lines, int firstImportIndex, int lastImportIndex, String newImport) {
-		String newPackage = extractPackageFromImport(newImport);
-		int importGroup = getImportGroup(newPackage);
-
-		for (int i = firstImportIndex; i <= lastImportIndex; i++) {
-			String currentLine = lines.get(i).trim();
-			if (!currentLine.startsWith("import ")) {
-				continue;
-			}
-
-			String currentPackage = extractPackageFromImport(currentLine);
-			int currentGroup = getImportGroup(currentPackage);
-
-			if (currentGroup > importGroup) {
-				return i;
-			} else if (currentGroup == importGroup && currentPackage.compareTo(newPackage) > 0) {
-				return i;
-			}
-		}
-
-		return lastImportIndex + 1;
-	}
-
-	private static String extractPackageFromImport(String importStatement) {
-		return importStatement.trim().replace("import ", "").replace(";", "").trim();
-	}
-
-	private static int getImportGroup(String packageName) {
-		if (packageName.startsWith("java.")) return 0;
-		else if (packageName.startsWith("javax.")) return 1;
-		else if (packageName.startsWith("org.")) return 2;
-		else if (packageName.startsWith("com.")) return 3;
-		else return 4;
-	}
-
-	/**
-	 * 在檔案中找到包含 keyword 的行，並依該行的縮排，在前或後插入 insertContent。
-	 */
-	private static void insertAtMarker(Path javaFile, String keyword, String insertContent, boolean insertAfter) throws IOException {
-		List<String> result = new ArrayList<>();
-
-		List<String> insertLinesRaw = Arrays.asList(insertContent.split("\\R"));
-		try (BufferedReader reader = Files.newBufferedReader(javaFile)) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				String indent = getIndent(line);
-
-				if (!insertAfter && line.contains(keyword)) {
-					for (String insertLine : insertLinesRaw) {
-						result.add(indent + insertLine);
-					}
-				}
-
-				result.add(line);
-
-				if (insertAfter && line.contains(keyword)) {
-					for (String insertLine : insertLinesRaw) {
-						result.add(indent + insertLine);
-					}
-				}
-			}
-		}
-		String fileName = javaFile.toString().substring(javaFile.toString().lastIndexOf('/') + 1);
-		System.out.println("✅ Content successfully written to " + fileName);
-		Files.write(javaFile, result);
-	}
-
-	private static String getIndent(String line) {
-		int index = 0;
-		while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
-			index++;
-		}
-		return line.substring(0, index);
-	}
 }
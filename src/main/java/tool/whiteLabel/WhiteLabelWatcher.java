@@ -0,0 +1,190 @@
+package tool.whiteLabel;
+
+import util.Console;
+import util.TemplateEngine;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * White Label watch 模式
+ * 以 WatchService 監看設定檔與所有模板所在目錄，變動事件經 debounce 合併後只重新產生受影響的 FileConfig。
+ * 模板內容（TemplateEngine）與 placeholder 映射保留在記憶體中，模板變動時不必重建映射。
+ *
+ * 插入既有檔案的項目（isNew = false）不具冪等性，只在啟動時套用一次，watch 期間不會重複插入。
+ */
+public class WhiteLabelWatcher {
+
+	private static final long DEBOUNCE_MS = 300;
+
+	private final Path configPath;
+	private final GenerationCache cache;
+	private final ObjectMapper objectMapper;
+	private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+	private final Set<Path> registeredDirs = new HashSet<>();
+
+	private ReplacementContext context;
+	private Map<Path, List<FileConfig>> templateOwners = new LinkedHashMap<>();
+
+	public WhiteLabelWatcher(Path configPath, ReplacementContext context, GenerationCache cache, ObjectMapper objectMapper) {
+		this.configPath = normalize(configPath);
+		this.context = context;
+		this.cache = cache;
+		this.objectMapper = objectMapper;
+	}
+
+	public void run() throws IOException, InterruptedException {
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			start(watchService);
+			Console.out().println("👀 Watching " + configPath + " and " + templateOwners.size() + " template(s), press Ctrl+C to stop");
+
+			while (true) {
+				handle(watchService, awaitChanges(watchService));
+			}
+		} catch (ClosedWatchServiceException e) {
+			Console.out().println("Watch service closed");
+		}
+	}
+
+	/**
+	 * 註冊設定檔與目前所有模板所在的目錄
+	 */
+	void start(WatchService watchService) throws IOException {
+		register(watchService, configPath.getParent());
+		indexTemplates(watchService);
+	}
+
+	/**
+	 * 等到第一個變動事件，再合併 DEBOUNCE_MS 內陸續到達的事件後回傳變動的路徑
+	 */
+	Set<Path> awaitChanges(WatchService watchService) throws InterruptedException {
+		Set<Path> changed = new LinkedHashSet<>();
+		collect(watchService.take(), changed);
+		// debounce：編輯器存檔常會連續觸發多個事件，等安靜下來再一起處理
+		WatchKey more;
+		while ((more = watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+			collect(more, changed);
+		}
+		return changed;
+	}
+
+	private void collect(WatchKey key, Set<Path> changed) {
+		Path dir = watchedDirs.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// 事件遺失時保守處理：視同設定檔變動，全部重新檢查
+				changed.add(configPath);
+			} else if (dir != null) {
+				changed.add(normalize(dir.resolve((Path) event.context())));
+			}
+		}
+		key.reset();
+	}
+
+	/**
+	 * 依變動的路徑重新載入設定或重新產生受影響的 FileConfig
+	 *
+	 * @return 重新產生的 FileConfig（設定無法讀取或驗證失敗時沿用舊設定並回傳空集合）
+	 */
+	Set<FileConfig> handle(WatchService watchService, Set<Path> changed) throws IOException {
+		long start = System.nanoTime();
+		Set<FileConfig> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		if (changed.contains(configPath)) {
+			WhiteLabelConfig reloaded;
+			try {
+				reloaded = objectMapper.readValue(configPath.toFile(), WhiteLabelConfig.class);
+			} catch (IOException e) {
+				Console.err().println("❌ Config reload failed, keeping previous config: " + e.getMessage());
+				return Collections.emptySet();
+			}
+			List<String> errors = reloaded.validationErrors();
+			if (!errors.isEmpty()) {
+				for (String error : errors) {
+					Console.err().println("❌ " + error);
+				}
+				Console.err().println("❌ Config invalid, keeping previous config");
+				return Collections.emptySet();
+			}
+			Console.out().println("🔄 Config changed: " + configPath.getFileName());
+			// 新的 context 會重建映射，交給產檔快取判斷哪些輸出真的需要重新產生
+			context = new ReplacementContext(reloaded);
+			indexTemplates(watchService);
+			selected.addAll(reloaded.getFiles());
+		}
+
+		for (Path path : changed) {
+			List<FileConfig> owners = templateOwners.get(path);
+			if (owners != null) {
+				Console.out().println("🔄 Template changed: " + path.getFileName());
+				TemplateEngine.invalidate(path.toString());
+				selected.addAll(owners);
+			}
+		}
+		if (selected.isEmpty()) {
+			return selected;
+		}
+
+		List<FileConfig> inserts = new ArrayList<>();
+		for (FileConfig fc : selected) {
+			if (!fc.isNew()) {
+				inserts.add(fc);
+			}
+		}
+		selected.removeAll(inserts);
+		for (FileConfig fc : inserts) {
+			Console.out().println("⚠️  Insert entry '" + fc.getName() + "' is not re-applied in watch mode, rerun without --watch if needed");
+		}
+
+		int failed = WhiteLabelTool.processDynamicFiles(context, cache, selected::contains);
+		cache.save();
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		Console.out().println("🔁 Regenerated " + selected.size() + " file config(s) in " + elapsedMs + " ms"
+			+ (failed > 0 ? ", " + failed + " failed" : ""));
+		return selected;
+	}
+
+	private void indexTemplates(WatchService watchService) throws IOException {
+		Map<Path, List<FileConfig>> owners = new LinkedHashMap<>();
+		for (FileConfig fc : context.getConfig().getFiles()) {
+			for (String template : WhiteLabelTool.resolveTemplatePaths(context, fc)) {
+				Path path = normalize(Paths.get(template));
+				owners.computeIfAbsent(path, p -> new ArrayList<>()).add(fc);
+				register(watchService, path.getParent());
+			}
+		}
+		templateOwners = owners;
+	}
+
+	private void register(WatchService watchService, Path dir) throws IOException {
+		if (dir == null || !registeredDirs.add(dir)) {
+			return;
+		}
+		WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		watchedDirs.put(key, dir);
+	}
+
+	private static Path normalize(Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+}
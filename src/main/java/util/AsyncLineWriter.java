@@ -0,0 +1,242 @@
+package util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 非同步逐行輸出
+ * 呼叫端只把文字放入有界佇列，由單一 writer thread 批次取出，同一目標的連續內容合併為一次 append，整批寫完後每個目標只 flush 一次；
+ * 多個 thread 同時輸出時不會在 PrintStream / Writer 的鎖上互相等待，每一行也不會與其他行交錯。佇列已滿時呼叫端阻塞（backpressure）。
+ * 一個 AsyncLineWriter 可有多個 Channel（例：System.out 與 System.err），共用同一佇列，輸出依呼叫順序寫出。
+ * 不負責關閉目標；寫入失敗時保留第一個錯誤，於 close 拋出。
+ */
+public class AsyncLineWriter implements Closeable {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+	static final int MAX_BATCH = 1024;
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final Entry POISON = new Entry(null, null, null);
+
+	private final BlockingQueue<Entry> queue;
+	private final Thread writer;
+	private final AtomicReference<IOException> error = new AtomicReference<>();
+	private volatile boolean closed;
+
+	public AsyncLineWriter(String threadName) {
+		this(threadName, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity 佇列中尚未寫出的行數上限
+	 */
+	public AsyncLineWriter(String threadName, int capacity) {
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+		this.writer = new Thread(this::drain, threadName);
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * 建立寫往 target 的 Channel；target 實作 Flushable 時每批寫完後 flush
+	 */
+	public Channel channel(Appendable target) {
+		return new Channel(target);
+	}
+
+	/**
+	 * 等到呼叫前已放入佇列的內容都寫出並 flush；已關閉時直接返回
+	 */
+	public void flush() {
+		if (closed) {
+			return;
+		}
+		CountDownLatch done = new CountDownLatch(1);
+		try {
+			queue.put(new Entry(null, null, done));
+			drainIfStopped();
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 寫完佇列中的內容後停止 writer thread；之後的輸出改由呼叫端 thread 直接寫入
+	 *
+	 * @throws IOException 曾經發生的第一個寫入錯誤
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				queue.put(POISON);
+				writer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			drainIfStopped();
+		}
+		IOException e = error.get();
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	private void enqueue(Entry entry) {
+		if (closed) {
+			write(entry);
+			return;
+		}
+		try {
+			queue.put(entry);
+			drainIfStopped();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			write(entry);
+		}
+	}
+
+	/**
+	 * 與 close 同時放入佇列的內容可能排在 POISON 之後，writer thread 已結束時由呼叫端 thread 寫出
+	 */
+	private void drainIfStopped() {
+		if (closed && !writer.isAlive()) {
+			List<Entry> rest = new ArrayList<>();
+			queue.drainTo(rest);
+			write(rest);
+		}
+	}
+
+	private void drain() {
+		List<Entry> batch = new ArrayList<>(MAX_BATCH);
+		while (true) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			queue.drainTo(batch, MAX_BATCH - 1);
+			boolean stop = write(batch);
+			batch.clear();
+			if (stop) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 寫出一批內容，遇到 flush 請求時先把之前的內容寫出並 flush 再通知呼叫端
+	 *
+	 * @return 是否讀到 POISON
+	 */
+	private boolean write(List<Entry> batch) {
+		Set<Channel> touched = new LinkedHashSet<>();
+		StringBuilder chunk = new StringBuilder();
+		Channel current = null;
+		boolean stop = false;
+		for (Entry entry : batch) {
+			if (entry.channel != null) {
+				if (entry.channel != current) {
+					append(current, chunk, touched);
+					current = entry.channel;
+				}
+				chunk.append(entry.text);
+				continue;
+			}
+			append(current, chunk, touched);
+			current = null;
+			flush(touched);
+			if (entry == POISON) {
+				stop = true;
+			} else {
+				entry.flushed.countDown();
+			}
+		}
+		append(current, chunk, touched);
+		flush(touched);
+		return stop;
+	}
+
+	private void write(Entry entry) {
+		List<Entry> single = new ArrayList<>(1);
+		single.add(entry);
+		write(single);
+	}
+
+	private void append(Channel channel, StringBuilder chunk, Set<Channel> touched) {
+		if (channel == null || chunk.length() == 0) {
+			return;
+		}
+		try {
+			channel.target.append(chunk);
+		} catch (IOException e) {
+			error.compareAndSet(null, e);
+		}
+		chunk.setLength(0);
+		touched.add(channel);
+	}
+
+	private void flush(Set<Channel> touched) {
+		for (Channel channel : touched) {
+			if (channel.target instanceof Flushable) {
+				try {
+					((Flushable) channel.target).flush();
+				} catch (IOException e) {
+					error.compareAndSet(null, e);
+				}
+			}
+		}
+		touched.clear();
+	}
+
+	/**
+	 * 寫往單一目標的輸出；可由多個 thread 同時呼叫
+	 */
+	public final class Channel {
+
+		private final Appendable target;
+
+		private Channel(Appendable target) {
+			this.target = target;
+		}
+
+		/**
+		 * 輸出一行（自動加上換行）
+		 */
+		public void println(String line) {
+			enqueue(new Entry(this, line + LINE_SEPARATOR, null));
+		}
+
+		/**
+		 * 輸出不換行的文字；同一 Channel 之後的內容接在後面
+		 */
+		public void print(String text) {
+			enqueue(new Entry(this, text, null));
+		}
+	}
+
+	/**
+	 * channel 為 null 時為 flush 請求（flushed 不為 null）或 POISON
+	 */
+	private static final class Entry {
+		private final Channel channel;
+		private final String text;
+		private final CountDownLatch flushed;
+
+		private Entry(Channel channel, String text, CountDownLatch flushed) {
+			this.channel = channel;
+			this.text = text;
+			this.flushed = flushed;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 主控台輸出，所有工具共用一個 AsyncLineWriter（thread 名稱 console-writer）
+ * 第一次使用時綁定當下的 System.out / System.err，並註冊 shutdown hook 在程序結束前寫完剩餘內容。
+ * 併發的進度與結果輸出使用 out() / err()；主程式開頭呼叫 install() 後，其餘直接呼叫 System.out / System.err 的程式也經由同一佇列輸出，
+ * 兩者維持呼叫順序。
+ */
+public final class Console {
+
+	private static volatile Console instance;
+
+	private final AsyncLineWriter writer;
+	private final AsyncLineWriter.Channel out;
+	private final AsyncLineWriter.Channel err;
+
+	private Console(PrintStream out, PrintStream err) {
+		this.writer = new AsyncLineWriter("console-writer");
+		this.out = writer.channel(out);
+		this.err = writer.channel(err);
+	}
+
+	private static Console get() {
+		Console console = instance;
+		if (console == null) {
+			synchronized (Console.class) {
+				console = instance;
+				if (console == null) {
+					console = new Console(System.out, System.err);
+					AsyncLineWriter writer = console.writer;
+					Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+						try {
+							writer.close();
+						} catch (IOException e) {
+							// PrintStream 不拋出 IOException
+						}
+					}, "console-shutdown"));
+					instance = console;
+				}
+			}
+		}
+		return console;
+	}
+
+	public static AsyncLineWriter.Channel out() {
+		return get().out;
+	}
+
+	public static AsyncLineWriter.Channel err() {
+		return get().err;
+	}
+
+	/**
+	 * 等到目前為止的輸出都已寫出
+	 */
+	public static void flush() {
+		get().writer.flush();
+	}
+
+	/**
+	 * 將 System.out / System.err 換成經由共用佇列輸出的 PrintStream；須在設定好主控台編碼（System.setOut）之後呼叫。
+	 * 每個 thread 的輸出在換行前各自累積，同一行分成多次 print 也不會與其他 thread 的輸出交錯。
+	 */
+	public static synchronized void install() {
+		Console console = get();
+		if (System.out instanceof LinePrintStream) {
+			return;
+		}
+		try {
+			System.setOut(new LinePrintStream(new LineOutputStream(console.out, console.writer)));
+			System.setErr(new LinePrintStream(new LineOutputStream(console.err, console.writer)));
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class LinePrintStream extends PrintStream {
+		private LinePrintStream(LineOutputStream out) throws UnsupportedEncodingException {
+			super(out, false, StandardCharsets.UTF_8.name());
+		}
+	}
+
+	/**
+	 * 依 thread 累積位元組，遇到換行時以一行送出；flush 時送出尚未換行的部分並等到寫出
+	 * 由 LinePrintStream 以 UTF-8 編碼，這裡再以 UTF-8 解回，換行只會出現在完整字元的邊界
+	 */
+	static final class LineOutputStream extends OutputStream {
+
+		private final AsyncLineWriter.Channel channel;
+		private final AsyncLineWriter writer;
+		private final ThreadLocal<ByteArrayOutputStream> pending = ThreadLocal.withInitial(ByteArrayOutputStream::new);
+
+		LineOutputStream(AsyncLineWriter.Channel channel, AsyncLineWriter writer) {
+			this.channel = channel;
+			this.writer = writer;
+		}
+
+		@Override
+		public void write(int b) {
+			if (b == '\n') {
+				channel.println(take());
+			} else {
+				pending.get().write(b);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			ByteArrayOutputStream buffer = pending.get();
+			int start = off;
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == '\n') {
+					buffer.write(b, start, i - start);
+					channel.println(take());
+					start = i + 1;
+				}
+			}
+			buffer.write(b, start, off + len - start);
+		}
+
+		@Override
+		public void flush() {
+			ByteArrayOutputStream buffer = pending.get();
+			if (buffer.size() > 0) {
+				channel.print(take());
+			}
+			writer.flush();
+		}
+
+		/**
+		 * 取出目前 thread 累積的內容，去掉 Windows 換行的 \r（由 println 重新加上系統換行）
+		 */
+		private String take() {
+			ByteArrayOutputStream buffer = pending.get();
+			String text;
+			try {
+				text = buffer.toString(StandardCharsets.UTF_8.name());
+			} catch (UnsupportedEncodingException e) {
+				throw new IllegalStateException(e);
+			}
+			buffer.reset();
+			return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+		}
+	}
+}
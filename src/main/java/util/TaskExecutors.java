@@ -0,0 +1,52 @@
+package util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 阻塞式工作（HTTP 檢查、Jira API 呼叫）使用的執行器
+ * 此為 Java 8 版本：固定大小的 daemon platform thread pool。
+ * 以 Java 21 以上建置時，multi-release JAR 內的 META-INF/versions/21/util/TaskExecutors 會取代此類別，
+ * 改為每個工作一個 virtual thread（見 src/main/java21）。兩個版本的公開 API 必須保持一致。
+ */
+public final class TaskExecutors {
+
+	/**
+	 * platform thread 數上限，避免設定值過大時開出上萬個 thread
+	 */
+	private static final int MAX_PLATFORM_THREADS = 256;
+
+	private TaskExecutors() {
+		throw new UnsupportedOperationException("Utility class cannot be instantiated");
+	}
+
+	/**
+	 * 目前執行環境是否使用 virtual thread
+	 */
+	public static boolean isVirtual() {
+		return false;
+	}
+
+	/**
+	 * 目前執行環境可設定的同時執行數上限
+	 */
+	public static int maxConcurrency() {
+		return MAX_PLATFORM_THREADS;
+	}
+
+	/**
+	 * 建立最多同時執行 maxConcurrency 個工作的執行器
+	 *
+	 * @param namePrefix     thread 名稱前綴
+	 * @param maxConcurrency 同時執行的工作上限，超過 maxConcurrency() 時以 maxConcurrency() 為準，多出的工作在佇列中等待
+	 */
+	public static ExecutorService newBlockingExecutor(String namePrefix, int maxConcurrency) {
+		AtomicInteger threadNo = new AtomicInteger();
+		return Executors.newFixedThreadPool(Math.max(1, Math.min(maxConcurrency, MAX_PLATFORM_THREADS)), r -> {
+			Thread t = new Thread(r, namePrefix + "-" + threadNo.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+}
@@ -1,34 +1,78 @@
 package util;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TemplateEngine {
-	
+
+	/**
+	 * 模板內容快取（以檔案修改時間與大小驗證），多環境產檔與 watch 模式可重複使用，不必每次重新讀檔
+	 */
+	private static final Map<String, CachedTemplate> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
 	public static String fillFile(String filePath, Map<String, String> replacements) {
 		StringBuilder content = new StringBuilder();
-		try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = reader.readLine()) != null) {
-				line = fill(line, replacements);
-				content.append(line).append("\n");
+		try {
+			for (String line : readTemplate(filePath)) {
+				content.append(fill(line, replacements)).append("\n");
 			}
 		} catch (IOException e) {
 			System.err.println("讀取 " + filePath + " 模板發生錯誤: " + e.getMessage());
 		}
 		return content.toString();
 	}
-	
+
+	/**
+	 * 讀取模板的所有行；檔案未變動時直接回傳快取內容
+	 */
+	public static List<String> readTemplate(String filePath) throws IOException {
+		File file = new File(filePath);
+		String cacheKey = cacheKey(filePath);
+		long lastModified = file.lastModified();
+		long length = file.length();
+		CachedTemplate cached = TEMPLATE_CACHE.get(cacheKey);
+		if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+			return cached.lines;
+		}
+
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		}
+		List<String> unmodifiable = Collections.unmodifiableList(lines);
+		TEMPLATE_CACHE.put(cacheKey, new CachedTemplate(lastModified, length, unmodifiable));
+		return unmodifiable;
+	}
+
+	/**
+	 * 移除指定模板的快取（檔案變動通知時使用）
+	 */
+	public static void invalidate(String filePath) {
+		TEMPLATE_CACHE.remove(cacheKey(filePath));
+	}
+
+	private static String cacheKey(String filePath) {
+		return new File(filePath).getAbsoluteFile().toPath().normalize().toString();
+	}
+
 	public static String fill(String line, Map<String, String> replacements) {
 		for (Map.Entry<String, String> entry : replacements.entrySet()) {
 			line = line.replace(entry.getKey(), entry.getValue() != null ? entry.getValue() : "");
 		}
 		return line;
 	}
-	
+
 	public static void writeToFile(String fileName, String content) {
 		try (FileWriter writer = new FileWriter(fileName)) {
 			writer.write(content);
@@ -38,4 +82,16 @@ public class TemplateEngine {
 		}
 	}
 
+	private static class CachedTemplate {
+		final long lastModified;
+		final long length;
+		final List<String> lines;
+
+		CachedTemplate(long lastModified, long length, List<String> lines) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.lines = lines;
+		}
+	}
+
 }
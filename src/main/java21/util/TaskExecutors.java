@@ -0,0 +1,110 @@
+package util;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞式工作（HTTP 檢查、Jira API 呼叫）使用的執行器
+ * 此為 Java 21 版本（multi-release JAR 的 META-INF/versions/21）：每個工作一個 virtual thread，
+ * 阻塞 I/O 只會讓 virtual thread 讓出 carrier thread，不需要調整 thread pool 大小。
+ * 同時執行數仍以 Semaphore 限制，避免一次開啟過多 socket。公開 API 必須與 src/main/java 的版本一致。
+ */
+public final class TaskExecutors {
+
+	private TaskExecutors() {
+		throw new UnsupportedOperationException("Utility class cannot be instantiated");
+	}
+
+	/**
+	 * 目前執行環境是否使用 virtual thread
+	 */
+	public static boolean isVirtual() {
+		return true;
+	}
+
+	/**
+	 * 目前執行環境可設定的同時執行數上限；virtual thread 不受 thread 數限制，由設定檔的上限決定
+	 */
+	public static int maxConcurrency() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * 建立最多同時執行 maxConcurrency 個工作的執行器
+	 *
+	 * @param namePrefix     thread 名稱前綴
+	 * @param maxConcurrency 同時執行的工作上限
+	 */
+	public static ExecutorService newBlockingExecutor(String namePrefix, int maxConcurrency) {
+		ExecutorService virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-", 1).factory());
+		return new BoundedExecutor(virtualThreads, Math.max(1, maxConcurrency));
+	}
+
+	/**
+	 * 在 virtual thread 內取得 permit 後才執行工作；等待 permit 的只有便宜的 virtual thread
+	 */
+	private static final class BoundedExecutor extends AbstractExecutorService {
+		private final ExecutorService delegate;
+		private final Semaphore permits;
+
+		BoundedExecutor(ExecutorService delegate, int maxConcurrency) {
+			this.delegate = delegate;
+			this.permits = new Semaphore(maxConcurrency);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			if (delegate.isShutdown()) {
+				throw new RejectedExecutionException("Executor has been shut down");
+			}
+			delegate.execute(() -> {
+				boolean acquired = false;
+				try {
+					permits.acquire();
+					acquired = true;
+				} catch (InterruptedException e) {
+					// shutdownNow 中斷了等待中的工作：仍執行並保留中斷狀態讓工作儘快失敗，
+					// 否則 CompletableFuture.supplyAsync 等提交端的 future 永遠不會完成
+					Thread.currentThread().interrupt();
+				}
+				try {
+					command.run();
+				} finally {
+					if (acquired) {
+						permits.release();
+					}
+				}
+			});
+		}
+
+		@Override
+		public void shutdown() {
+			delegate.shutdown();
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			return delegate.shutdownNow();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return delegate.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return delegate.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			return delegate.awaitTermination(timeout, unit);
+		}
+	}
+}
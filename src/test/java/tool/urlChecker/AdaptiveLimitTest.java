@@ -0,0 +1,67 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * AdaptiveLimit 測試
+ * 驗證健康時逐步調升、錯誤率過高時乘法下修且不低於下限
+ */
+public class AdaptiveLimitTest {
+
+	private static void complete(AdaptiveLimit limit, CheckResult result, int times) throws InterruptedException {
+		for (int i = 0; i < times; i++) {
+			limit.acquire();
+			limit.release(result);
+		}
+	}
+
+	@Test
+	public void testRelease_HealthyRampsUp() throws InterruptedException {
+		AdaptiveLimit limit = new AdaptiveLimit(2, 1, 4, 1000);
+		complete(limit, CheckResult.ok(0, "u", "h", 200, 10), 3);
+		assertEquals(3, limit.getLimit());
+
+		complete(limit, CheckResult.ok(0, "u", "h", 200, 10), 100);
+		assertEquals(4, limit.getLimit());
+	}
+
+	@Test
+	public void testRelease_CongestionBacksOff() throws InterruptedException {
+		AdaptiveLimit limit = new AdaptiveLimit(20, 2, 20, 1000);
+		complete(limit, CheckResult.failed(0, "u", "h", 503, 10), AdaptiveLimit.WINDOW);
+		assertEquals(14, limit.getLimit());
+
+		complete(limit, CheckResult.ok(0, "u", "h", 200, 5000), AdaptiveLimit.WINDOW * 10);
+		assertEquals(2, limit.getLimit());
+	}
+
+	@Test
+	public void testRelease_OccasionalErrorsKeepLimit() throws InterruptedException {
+		AdaptiveLimit limit = new AdaptiveLimit(8, 1, 8, 1000);
+		complete(limit, CheckResult.error(0, "u", "h", "refused", 1), 3);
+		complete(limit, CheckResult.ok(0, "u", "h", 404, 10), AdaptiveLimit.WINDOW - 3);
+		assertEquals(8, limit.getLimit());
+	}
+
+	@Test
+	public void testAcquire_BlocksAtLimit() throws InterruptedException {
+		AdaptiveLimit limit = new AdaptiveLimit(1, 1, 1, 1000);
+		limit.acquire();
+		Thread waiter = new Thread(() -> {
+			try {
+				limit.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+		waiter.join(200);
+		assertTrue(waiter.isAlive());
+
+		limit.release(CheckResult.ok(0, "u", "h", 200, 10));
+		waiter.join(1000);
+		assertFalse(waiter.isAlive());
+	}
+}
@@ -0,0 +1,114 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * CertInfo 測試
+ * 驗證 SAN 萬用字元比對、沒有 SAN 時改用 CN，以及到期天數
+ * 測試憑證以 keytool 產生：www.abc.com（SAN www.abc.com、*.abc.com，2024-01-01 起 100 年）與 old.def.net（無 SAN，2020-01-01 起 30 天）
+ */
+public class CertInfoTest {
+
+	private static final String VALID_PEM = ""
+		+ "-----BEGIN CERTIFICATE-----\n"
+		+ "MIIDEDCCAfigAwIBAgIIPryIe6heN3UwDQYJKoZIhvcNAQELBQAwJDEMMAoGA1UE\n"
+		+ "ChMDQWJjMRQwEgYDVQQDEwt3d3cuYWJjLmNvbTAgFw0yNDAxMDEwOTM2MDVaGA8y\n"
+		+ "MTIzMTIwODA5MzYwNVowJDEMMAoGA1UEChMDQWJjMRQwEgYDVQQDEwt3d3cuYWJj\n"
+		+ "LmNvbTCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBAKGSx5z6K3ADfcOT\n"
+		+ "1GrDBIM9SrTHC18S8L5qJdUbDlvcks3tmNsiXIA8W+Vfek/Pyd1DYO96vPrBScYF\n"
+		+ "vuX8G9H3SJSnhmzyen+8aUWMIRTX9SU4/P39GPdzr5wHuE4j8rKVePkF6PupptMg\n"
+		+ "GpfZqDFOCsk6y4fgJHAtZz0yYawpgdU+R/vpSzGt84Q7oaaGxP9cTWAuJ4jNW2/8\n"
+		+ "ykNgqWREJXOBsei/C7ESXyEVBbk3K3ctRlo4z2u1NNQXQsAYXbxGhc9r0YyCw34X\n"
+		+ "2txw0qYayJmVWhc79e81dX0CsVvMlj6Bis7S2CGZf56n3xle6CmIbW9bVD2UvMl6\n"
+		+ "K3AjMUUCAwEAAaNEMEIwHQYDVR0OBBYEFKcuLjZ6homdSObQu8ZywcvU980WMCEG\n"
+		+ "A1UdEQQaMBiCC3d3dy5hYmMuY29tggkqLmFiYy5jb20wDQYJKoZIhvcNAQELBQAD\n"
+		+ "ggEBABeXorxgmirkYoZmLezYCA5xIFXKNAabUweC27vvpQQqFJWxv5SDbRXf9C5F\n"
+		+ "3yF3M2utQtv3BMLxQLhL0g2S3B1jqci0jrs/ztiZKbovbRj8vTyIQgrsBy+BHJll\n"
+		+ "QK/SF05jr3fsDmmJjtZpKSyaftubHdznjfVwOG9AO5Fsgu/m2VnL3NRWkbfOBFqM\n"
+		+ "GydbNQYuDN824N2hotnBdkKmVDguf42qtMVSeuLnu0MQ09mBVff3gSiIizA0svgg\n"
+		+ "hyCiMRp2oZHyBQRnz/fRc84lvqkZ0XDFj6lqydQA+qry9iJmd/9qR5/lDIdqN2B7\n"
+		+ "KdDfbNedznly83guSKKe0p1xy1Y=\n"
+		+ "-----END CERTIFICATE-----\n";
+
+	private static final String EXPIRED_PEM = ""
+		+ "-----BEGIN CERTIFICATE-----\n"
+		+ "MIICzzCCAbegAwIBAgIIHYF7Yk7vHEAwDQYJKoZIhvcNAQELBQAwFjEUMBIGA1UE\n"
+		+ "AxMLb2xkLmRlZi5uZXQwHhcNMjAwMTAxMDkzNjA3WhcNMjAwMTMxMDkzNjA3WjAW\n"
+		+ "MRQwEgYDVQQDEwtvbGQuZGVmLm5ldDCCASIwDQYJKoZIhvcNAQEBBQADggEPADCC\n"
+		+ "AQoCggEBAMeJupFGFAo4diQg0sPIndmqn9UR9fTT7twElCtHFaeYQivM1kvdPQjT\n"
+		+ "JzQS/W8b5slqVw9kobrlBd7lj9Q2K9fFcTsrC+Wgh+c/lpGszRuXvPxEhpgxQtVf\n"
+		+ "Vdg8bWuVG458r+CI1vFyxj7y/hG4c7pcr9W8E9uZKfmQFK6y31d5gy/xdc15V1m0\n"
+		+ "pusaGkn8wOJ+xcVoO+hKSHNbkqjI0QqGPbKS0C1xp+hr3YDgl1bWYrEWRe27gaGE\n"
+		+ "R5lDelpWAFgcjeX4+p1MgQ3WuFSRJyT3c6tTVzoCYIvJvx4U1cp4dGYYsrhRSg2T\n"
+		+ "8lJSk/LtZnBSq6rtVz0z+/74p6wDFOMCAwEAAaMhMB8wHQYDVR0OBBYEFAmTcO2k\n"
+		+ "UqyqF0RvGiZVl+AcGU+fMA0GCSqGSIb3DQEBCwUAA4IBAQAbxERQrLSc/DHneUyQ\n"
+		+ "w+wO27LBHWxuKtDD37YsBVR7Ao7EdhVUZeTk/HcAGCGW9Pnvwrt6KOyWUOY6DeyA\n"
+		+ "Dowzj8nhKg6Syi4D851hQENgR6BWLJP0B4NGakHmJbZ4vIjn7rV8WC4I3R/PEWpv\n"
+		+ "dxosfN7X9GMGG4WWY0y2IPjUf+VMsIAp2RfV+wL5q8vKcD6cRSRsW5k8Xj+AmJ4c\n"
+		+ "4k8xD4ohL0UY+18Uc9aDnqsVhjJoXTLYEUh94dFucocCMXuamOP9gW+i8A64DyHd\n"
+		+ "da2EkBsrpth3A0s4w+TkvMXbNaVWOu4Ci9y/l/7Y1opdZnQg5EkTcNi0iNFDXyDo\n"
+		+ "YU9x\n"
+		+ "-----END CERTIFICATE-----\n";
+
+	static X509Certificate parse(String pem) throws Exception {
+		return (X509Certificate) CertificateFactory.getInstance("X.509")
+			.generateCertificate(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	static long date(String yyyyMMdd) throws Exception {
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+		format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		return format.parse(yyyyMMdd).getTime();
+	}
+
+	@Test
+	public void testMatches_Wildcard() {
+		assertTrue(CertInfo.matches("www.abc.com", "*.abc.com"));
+		assertTrue(CertInfo.matches("API.abc.com", "*.ABC.com"));
+		assertFalse(CertInfo.matches("abc.com", "*.abc.com"));
+		assertFalse(CertInfo.matches("a.b.abc.com", "*.abc.com"));
+		assertTrue(CertInfo.matches("abc.com", "abc.com"));
+		assertFalse(CertInfo.matches("abc.com.tw", "abc.com"));
+	}
+
+	@Test
+	public void testOf_SanAndIssuer() throws Exception {
+		X509Certificate[] chain = {parse(VALID_PEM)};
+		CertInfo cert = CertInfo.of(chain, "uat9wapi.abc.com");
+		assertEquals("uat9wapi.abc.com", cert.getHost());
+		assertEquals("www.abc.com", cert.getSubject());
+		assertEquals("www.abc.com", cert.getIssuer());
+		assertEquals(Arrays.asList("www.abc.com", "*.abc.com"), cert.getSans());
+		assertTrue(cert.isHostMatch());
+		assertEquals(1, cert.getChainLength());
+
+		assertFalse(CertInfo.of(chain, "abc.com").isHostMatch());
+		assertNull(CertInfo.of(new X509Certificate[0], "abc.com"));
+	}
+
+	@Test
+	public void testOf_FallsBackToCommonNameAndExpiry() throws Exception {
+		CertInfo cert = CertInfo.of(new X509Certificate[]{parse(EXPIRED_PEM)}, "old.def.net");
+		assertTrue(cert.getSans().isEmpty());
+		assertTrue(cert.isHostMatch());
+		assertTrue(cert.daysToExpiry(date("2020-01-20")) >= 11);
+		assertEquals(-1, cert.daysToExpiry(cert.getNotAfter() + 1));
+		assertTrue(cert.daysToExpiry(date("2026-01-01")) < 0);
+	}
+
+	@Test
+	public void testCommonName() {
+		assertEquals("R3", CertInfo.commonName("CN=R3,O=Let's Encrypt,C=US"));
+		assertEquals("O=Abc", CertInfo.commonName("O=Abc"));
+	}
+}
@@ -0,0 +1,55 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * CertReport 測試
+ * 驗證依緊急程度排序：已過期 → SAN 不符 → 即將到期 → 其餘依到期日，以及轉址到其他 host 時以握手的 host 記錄
+ */
+public class CertReportTest {
+
+	private static final long NOW = TimeUnit.DAYS.toMillis(20000);
+
+	private static CheckResult result(String host, long daysLeft, boolean hostMatch) {
+		return result(host, host, daysLeft, hostMatch);
+	}
+
+	private static CheckResult result(String host, String certHost, long daysLeft, boolean hostMatch) {
+		CertInfo cert = new CertInfo(certHost, certHost, "R3", NOW + TimeUnit.DAYS.toMillis(daysLeft) + 1, Collections.singletonList(certHost), hostMatch,
+			2);
+		return CheckResult.ok(0, "https://" + host, host, 200, 10).withCert(cert);
+	}
+
+	@Test
+	public void testHosts_SortedByUrgency() {
+		CertReport report = new CertReport(Arrays.asList(
+			result("fine.com", 200, true),
+			result("soon.com", 10, true),
+			CheckResult.ok(0, "http://plain.com", "plain.com", 200, 10),
+			result("wrong.com", 300, false),
+			result("later.com", 90, true),
+			result("dead.com", -3, true)), NOW, 30);
+
+		assertEquals(Arrays.asList("dead.com", "wrong.com", "soon.com", "later.com", "fine.com"), report.hosts());
+	}
+
+	@Test
+	public void testHosts_RedirectedCertKeyedByHandshakeHost() {
+		CertReport report = new CertReport(Arrays.asList(
+			result("old.com", "new.com", 200, true),
+			result("fine.com", 200, true)), NOW, 30);
+
+		assertEquals(Arrays.asList("new.com", "fine.com"), report.hosts());
+	}
+
+	@Test
+	public void testIsEmpty_WithoutHttps() {
+		assertTrue(new CertReport(Collections.singletonList(CheckResult.ok(0, "http://a.com", "a.com", 200, 1)), NOW, 30).isEmpty());
+	}
+}
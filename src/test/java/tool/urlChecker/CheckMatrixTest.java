@@ -0,0 +1,70 @@
+package tool.urlChecker;
+
+import constant.EnvEnumType;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * CheckMatrix 測試
+ * 驗證 domain × 環境 × 子網域展開、重複 URL 去除與矩陣報表
+ */
+public class CheckMatrixTest {
+
+	private static UrlCheckerConfig config(String... envs) {
+		UrlCheckerConfig config = new UrlCheckerConfig();
+		config.isHttps = true;
+		config.domainList = Arrays.asList("abc.com", "def.net", "abc.com");
+		config.matrixEnvs = envs.length == 0 ? null : Arrays.asList(envs);
+		return config;
+	}
+
+	@Test
+	public void testUrls_ExpandsSelectedEnvsAndDedupes() {
+		List<String> urls = CheckMatrix.fromConfig(config("uat", "SIM")).urls();
+
+		assertEquals(Arrays.asList(
+			"https://tberwxsjyk.abc.com", "https://uat9wapi.abc.com", "https://www.abc.com", "https://saapipl.abc.com",
+			"https://tberwxsjyk.def.net", "https://uat9wapi.def.net", "https://www.def.net", "https://saapipl.def.net"), urls);
+	}
+
+	@Test
+	public void testUrls_DefaultsToAllEnvs() {
+		assertEquals(2 * 2 * EnvEnumType.values().length, CheckMatrix.fromConfig(config()).urls().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFromConfig_UnknownEnv() {
+		CheckMatrix.fromConfig(config("PROD"));
+	}
+
+	@Test
+	public void testCell() {
+		assertEquals("OK 200", CheckMatrix.cell(CheckResult.ok(0, "u", "h", 200, 1)));
+		assertEquals("FAIL 502", CheckMatrix.cell(CheckResult.failed(0, "u", "h", 502, 1)));
+		assertEquals("ERR DNS", CheckMatrix.cell(CheckResult.phaseError(0, "u", "h", ProbePhase.RESOLVE, "h", 1, null)));
+	}
+
+	@Test
+	public void testPrintGrid() {
+		CheckMatrix matrix = new CheckMatrix(Arrays.asList("abc.com"), Arrays.asList(EnvEnumType.DEV), false);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream original = System.out;
+		System.setOut(new PrintStream(out, true));
+		try {
+			matrix.printGrid(url -> url.contains("dev9wapi") ? "FAIL 502" : "OK 200");
+		} finally {
+			System.setOut(original);
+		}
+
+		String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).trim().split("\\R");
+		assertEquals("domain  DEV static   DEV api", lines[1].trim());
+		assertEquals("abc.com OK 200       FAIL 502", lines[2].trim());
+	}
+}
@@ -0,0 +1,67 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * CheckReport 測試
+ * 驗證邊寫邊累計的摘要，以及多個分片報告合併後的摘要與合併檔
+ */
+public class CheckReportTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testWrite_AccumulatesSummary() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("reports/url-report.jsonl");
+		try (CheckReport report = new CheckReport(file, mapper)) {
+			report.write(1000, CheckResult.ok(0, "http://a.com", "a.com", 200, 30));
+			report.write(1000, CheckResult.failed(1, "http://b.com", "b.com", 502, 10));
+			report.write(1000, CheckResult.error(2, "http://c.com", "c.com", "Connection refused", 1));
+
+			CheckReport.Summary summary = report.getSummary();
+			assertEquals(3, summary.getTotal());
+			assertEquals(2, summary.getFailed());
+			assertEquals(2, summary.getLatency().getCount());
+			assertEquals(Arrays.asList("b.com - Response code: 502", "c.com - Connection failed: Connection refused"), summary.getFailures());
+		}
+		assertEquals(3, Files.readAllLines(file).size());
+	}
+
+	@Test
+	public void testMerge() throws IOException {
+		Path first = folder.getRoot().toPath().resolve(CheckReport.fileName(new Shard(1, 2)));
+		Path second = folder.getRoot().toPath().resolve(CheckReport.fileName(new Shard(2, 2)));
+		assertEquals("url-report.shard-1-of-2.jsonl", first.getFileName().toString());
+		try (CheckReport report = new CheckReport(first, mapper)) {
+			report.write(1000, CheckResult.ok(0, "http://a.com", "a.com", 200, 30));
+		}
+		try (CheckReport report = new CheckReport(second, mapper)) {
+			report.write(2000, CheckResult.failed(0, "http://b.com", "b.com", 404, 50));
+		}
+
+		Path mergedFile = folder.getRoot().toPath().resolve("merged.jsonl");
+		CheckReport.Summary summary;
+		try (CheckReport merged = new CheckReport(mergedFile, mapper)) {
+			summary = CheckReport.merge(Arrays.asList(first, second), mapper, merged);
+		}
+		assertEquals(2, summary.getTotal());
+		assertEquals(1, summary.getFailed());
+		assertEquals(50, summary.getLatency().getMax());
+		assertEquals(Collections.singletonList("b.com - Response code: 404"), summary.getFailures());
+		assertEquals(2, Files.readAllLines(mergedFile).size());
+	}
+}
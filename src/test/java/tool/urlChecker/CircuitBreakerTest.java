@@ -0,0 +1,58 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * CircuitBreaker 測試
+ * 驗證連續失敗後斷開、試探間隔到期才放行，以及試探成功 / 失敗的狀態轉換
+ */
+public class CircuitBreakerTest {
+
+	private static final CheckResult DOWN = CheckResult.error(0, "http://a.com", "a.com", "Connection refused", 1);
+	private static final CheckResult NOT_FOUND = CheckResult.failed(0, "http://a.com", "a.com", 404, 1);
+
+	@Test
+	public void testRecord_OpensAfterConsecutiveErrors() {
+		AtomicLong clock = new AtomicLong();
+		CircuitBreaker breaker = new CircuitBreaker(3, 60_000, clock::get);
+
+		assertFalse(breaker.record("a.com", DOWN));
+		assertFalse(breaker.record("a.com", NOT_FOUND));
+		assertFalse(breaker.record("a.com", DOWN));
+		assertFalse(breaker.record("a.com", DOWN));
+		assertTrue(breaker.allow("a.com"));
+		assertTrue(breaker.record("a.com", DOWN));
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState("a.com"));
+		assertFalse(breaker.allow("a.com"));
+		assertTrue(breaker.allow("b.com"));
+	}
+
+	@Test
+	public void testAllow_ProbesAfterInterval() {
+		AtomicLong clock = new AtomicLong();
+		CircuitBreaker breaker = new CircuitBreaker(1, 60_000, clock::get);
+		breaker.record("a.com", DOWN);
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+		assertFalse(breaker.allow("a.com"));
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertTrue(breaker.allow("a.com"));
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState("a.com"));
+
+		// 試探失敗再斷開一個週期，不視為新的斷路
+		assertFalse(breaker.record("a.com", DOWN));
+		assertFalse(breaker.allow("a.com"));
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+		assertTrue(breaker.allow("a.com"));
+		breaker.record("a.com", NOT_FOUND);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState("a.com"));
+		assertTrue(breaker.allow("a.com"));
+	}
+}
@@ -0,0 +1,101 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * DnsCache 測試
+ * 以假 resolver 與可調整的時鐘驗證快取存活時間、失敗快取與同時查詢只解析一次
+ */
+public class DnsCacheTest {
+
+	private final Map<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+	private final AtomicLong now = new AtomicLong();
+
+	/**
+	 * *.invalid 視為 NXDOMAIN，其餘一律解析為 127.0.0.1；每次查詢前稍候，讓同時查詢有機會重疊
+	 */
+	private final HostResolver fake = host -> {
+		lookups.computeIfAbsent(host, key -> new AtomicInteger()).incrementAndGet();
+		try {
+			Thread.sleep(50);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (host.endsWith(".invalid")) {
+			throw new UnknownHostException(host);
+		}
+		return new InetAddress[]{InetAddress.getByAddress(host, new byte[]{127, 0, 0, 1})};
+	};
+
+	private DnsCache cache() {
+		return new DnsCache(fake, 60_000, 10_000, now::get);
+	}
+
+	private int lookupCount(String host) {
+		AtomicInteger count = lookups.get(host);
+		return count == null ? 0 : count.get();
+	}
+
+	@Test
+	public void testResolve_CachedUntilTtlExpires() throws UnknownHostException {
+		DnsCache cache = cache();
+
+		assertEquals("127.0.0.1", cache.resolve("www.abc.com")[0].getHostAddress());
+		cache.resolve("www.abc.com");
+		assertEquals(1, lookupCount("www.abc.com"));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+		cache.resolve("www.abc.com");
+		assertEquals(2, lookupCount("www.abc.com"));
+	}
+
+	@Test
+	public void testResolve_NegativeResultCachedForShorterTtl() {
+		DnsCache cache = cache();
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				cache.resolve("missing.invalid");
+				fail("expected UnknownHostException");
+			} catch (UnknownHostException e) {
+				assertEquals("missing.invalid", e.getMessage());
+			}
+		}
+		assertEquals(1, lookupCount("missing.invalid"));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+		try {
+			cache.resolve("missing.invalid");
+		} catch (UnknownHostException expected) {
+			// 失敗快取過期後重新解析
+		}
+		assertEquals(2, lookupCount("missing.invalid"));
+	}
+
+	@Test
+	public void testPrefetch_ResolvesDistinctHostsInParallel() {
+		DnsCache cache = cache();
+
+		long start = System.nanoTime();
+		Map<String, String> failures = cache.prefetch(
+			Arrays.asList("www.abc.com", "uat9wapi.abc.com", "www.abc.com", "bad.invalid", "www.def.com"), 8, 5000);
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(1, failures.size());
+		assertEquals("bad.invalid", failures.get("bad.invalid"));
+		assertEquals(1, lookupCount("www.abc.com"));
+		// 四個不重複的 host 各 50 ms，同時解析不會累加
+		assertTrue("elapsed " + elapsedMs + " ms", elapsedMs < 180);
+	}
+}
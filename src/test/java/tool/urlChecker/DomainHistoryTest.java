@@ -0,0 +1,50 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * DomainHistory 測試
+ * 驗證環狀緩衝區覆寫最舊資料，以及只有 UP ⇄ DOWN 改變時才算轉換
+ */
+public class DomainHistoryTest {
+
+	private static CheckResult ok(int code) {
+		return CheckResult.ok(0, "http://abc.com", "abc.com", code, 1);
+	}
+
+	private static CheckResult down(int code) {
+		return CheckResult.failed(0, "http://abc.com", "abc.com", code, 1);
+	}
+
+	@Test
+	public void testRecord_KeepsLatestCapacityResults() {
+		DomainHistory history = new DomainHistory(3);
+		for (int i = 0; i < 5; i++) {
+			history.record(i, down(500 + i));
+		}
+
+		List<CheckResult> snapshot = history.snapshot();
+		assertEquals(3, history.size());
+		assertEquals(502, snapshot.get(0).getStatusCode());
+		assertEquals(504, snapshot.get(2).getStatusCode());
+		assertSame(snapshot.get(2), history.latest());
+	}
+
+	@Test
+	public void testRecord_OnlyStateChangesAreTransitions() {
+		DomainHistory history = new DomainHistory(10);
+
+		assertFalse(history.record(1000, ok(200)));
+		assertFalse(history.record(2000, ok(200)));
+		assertTrue(history.record(3000, down(502)));
+		assertFalse(history.record(4000, down(503)));
+		assertEquals(3000, history.getStateSince());
+		assertTrue(history.record(5000, ok(200)));
+		assertTrue(history.isUp());
+		assertEquals(5000, history.getStateSince());
+	}
+}
@@ -0,0 +1,59 @@
+package tool.urlChecker;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * DomainSource 測試
+ * 驗證 JSON 陣列、含 domainList 的設定檔與逐行文字三種格式
+ */
+public class DomainSourceTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> readAll(String name, String content) throws IOException {
+		Path file = folder.getRoot().toPath().resolve(name);
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		List<String> domains = new ArrayList<>();
+		try (DomainSource source = DomainSource.open(file.toString())) {
+			String domain;
+			while ((domain = source.next()) != null) {
+				domains.add(domain);
+			}
+		}
+		return domains;
+	}
+
+	@Test
+	public void testJsonArray() throws IOException {
+		assertEquals(Arrays.asList("abc.com", "def.net"), readAll("list.json", "[\"abc.com\", \" def.net \", \"\"]"));
+	}
+
+	@Test
+	public void testJsonConfigObject() throws IOException {
+		String config = "{\"subdomain\": \"www\", \"extra\": {\"domainList\": [\"x\"]}, \"domainList\": [\"abc.com\", \"def.net\"], \"isHttps\": true}";
+		assertEquals(Arrays.asList("abc.com", "def.net"), readAll("config.json", config));
+	}
+
+	@Test(expected = IOException.class)
+	public void testJsonWithoutDomainList() throws IOException {
+		readAll("bad.json", "{\"subdomain\": \"www\"}");
+	}
+
+	@Test
+	public void testLines_SkipsBlankAndComments() throws IOException {
+		assertEquals(Arrays.asList("abc.com", "def.net"), readAll("list.txt", "# domains\nabc.com\n\n  def.net  \r\n"));
+	}
+}
@@ -0,0 +1,114 @@
+package tool.urlChecker;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * HistoryStore / HistoryQuery 測試
+ * 驗證 segment 輪替、時間窗查詢、重新開啟後續寫，以及寫到一半的尾端紀錄被截掉
+ */
+public class HistoryStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static List<CheckResult> round(int a, int b) {
+		return Arrays.asList(
+			a == 200 ? CheckResult.ok(0, "http://a.com", "a.com", 200, 20) : CheckResult.failed(0, "http://a.com", "a.com", a, 30),
+			b == 200 ? CheckResult.ok(1, "http://b.com:8080", "b.com", 200, 40)
+				: CheckResult.phaseError(1, "http://b.com:8080", "b.com", ProbePhase.RESOLVE, "b.com", 0, null));
+	}
+
+	private static List<HistoryRecord> scan(HistoryStore store, long from, long to) throws IOException {
+		List<HistoryRecord> records = new ArrayList<>();
+		store.scan(from, to, records::add);
+		return records;
+	}
+
+	private long segmentCount(Path dir) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(path -> path.toString().endsWith(".log")).count();
+		}
+	}
+
+	@Test
+	public void testAppendAndScan_RollsSegmentsAndFiltersWindow() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		try (HistoryStore store = new HistoryStore(dir, 400)) {
+			for (int i = 0; i < 20; i++) {
+				store.append(1000L * i, round(200, 200));
+			}
+
+			assertTrue(segmentCount(dir) > 1);
+			assertEquals(40, scan(store, 0, Long.MAX_VALUE).size());
+
+			List<HistoryRecord> window = scan(store, 5000, 7000);
+			assertEquals(6, window.size());
+			assertEquals(5000, window.get(0).getTimestamp());
+			assertEquals(7000, window.get(5).getTimestamp());
+			assertEquals("http://b.com:8080", window.get(1).getUrl());
+			assertEquals(40, window.get(1).getElapsedMs());
+		}
+	}
+
+	@Test
+	public void testReopen_ContinuesAfterTruncatedTail() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		try (HistoryStore store = new HistoryStore(dir, 1 << 20)) {
+			store.append(1000, round(200, 200));
+		}
+		// 模擬寫到一半中斷
+		Path segment;
+		try (Stream<Path> files = Files.list(dir)) {
+			segment = files.filter(path -> path.toString().endsWith(".log")).collect(Collectors.toList()).get(0);
+		}
+		Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+		try (HistoryStore store = new HistoryStore(dir, 1 << 20)) {
+			store.append(2000, round(503, 404));
+			List<HistoryRecord> records = scan(store, 0, Long.MAX_VALUE);
+
+			assertEquals(4, records.size());
+			assertEquals(ErrorClass.HTTP_STATUS, records.get(2).getErrorClass());
+			assertEquals(ErrorClass.DNS, records.get(3).getErrorClass());
+		}
+		assertEquals(1, segmentCount(dir));
+	}
+
+	@Test
+	public void testQuery_UptimeAndLatencyForHost() throws IOException {
+		long start = TimeUnit.HOURS.toMillis(1000);
+		try (HistoryStore store = new HistoryStore(folder.getRoot().toPath(), 1 << 20)) {
+			for (int i = 0; i < 10; i++) {
+				store.append(start + TimeUnit.MINUTES.toMillis(i), round(i < 8 ? 200 : 500, 200));
+			}
+
+			HistoryQuery query = new HistoryQuery("a.com", start, start + TimeUnit.HOURS.toMillis(1)).run(store);
+			assertEquals(10, query.getChecks());
+			assertEquals(80.0, query.getUptime(), 0.001);
+			assertEquals(30, query.getLatency().getMax());
+
+			assertEquals(10, new HistoryQuery("b.com", start, start + TimeUnit.HOURS.toMillis(1)).run(store).getChecks());
+		}
+	}
+
+	@Test
+	public void testParseDuration() {
+		assertEquals(TimeUnit.MINUTES.toMillis(30), HistoryQuery.parseDuration("30m"));
+		assertEquals(TimeUnit.DAYS.toMillis(7), HistoryQuery.parseDuration("7d"));
+	}
+}
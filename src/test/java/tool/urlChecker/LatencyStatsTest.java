@@ -0,0 +1,79 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * LatencyHistogram / LatencyStats 測試
+ * 驗證 log-linear 分格的誤差範圍、百分位數，以及 JSON 與 Prometheus 匯出內容
+ */
+public class LatencyStatsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testBucketBounds_RelativeErrorWithinSubBucket() {
+		for (long value : new long[]{0, 1, 31, 32, 33, 64, 65, 100, 999, 15000, 120000, LatencyHistogram.MAX_TRACKABLE_MS}) {
+			long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+			assertTrue(value + " -> " + upper, upper >= value);
+			assertTrue(value + " -> " + upper, upper - value <= Math.max(0, value / 32));
+		}
+	}
+
+	@Test
+	public void testValueAtPercentile() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(50, histogram.valueAtPercentile(50));
+		assertTrue(Math.abs(histogram.valueAtPercentile(90) - 90) <= 3);
+		assertEquals(100, histogram.valueAtPercentile(99.9));
+		assertEquals(100, histogram.getMax());
+		assertEquals(0, new LatencyHistogram().valueAtPercentile(50));
+	}
+
+	@Test
+	public void testExport_JsonAndPrometheus() throws IOException {
+		List<String> urls = Arrays.asList("http://a.com", "http://b.com");
+		LatencyStats stats = new LatencyStats(urls);
+		stats.recordAll(Arrays.asList(
+			CheckResult.ok(0, "http://a.com", "a.com", 200, 10),
+			CheckResult.ok(0, "http://a.com", "a.com", 200, 20),
+			CheckResult.failed(1, "http://b.com", "b.com", 503, 300),
+			CheckResult.error(1, "http://b.com", "b.com", "timeout", 15000)));
+
+		Path dir = folder.getRoot().toPath().resolve("metrics");
+		ObjectMapper mapper = new ObjectMapper();
+		stats.export(dir, mapper);
+
+		JsonNode json = mapper.readTree(dir.resolve(LatencyStats.JSON_FILE).toFile());
+		assertEquals(3, json.get("global").get("count").asLong());
+		assertEquals(20, json.get("urls").get("http://a.com").get("max").asLong());
+		assertEquals(1, json.get("urls").get("http://b.com").get("errors").asLong());
+		// 連線失敗不計入延遲
+		assertEquals(300, json.get("urls").get("http://b.com").get("max").asLong());
+
+		String prometheus = new String(Files.readAllBytes(dir.resolve(LatencyStats.PROMETHEUS_FILE)), StandardCharsets.UTF_8);
+		assertTrue(prometheus.contains("# TYPE url_check_latency_ms summary"));
+		assertTrue(prometheus.contains("url_check_latency_ms{url=\"http://a.com\",quantile=\"0.5\"} 10\n"));
+		assertTrue(prometheus.contains("url_check_latency_ms_count{url=\"http://a.com\"} 2\n"));
+		assertTrue(prometheus.contains("url_check_errors_total{url=\"http://b.com\"} 1\n"));
+		assertFalse(Files.exists(dir.resolve(LatencyStats.PROMETHEUS_FILE + ".tmp")));
+	}
+}
@@ -0,0 +1,129 @@
+package tool.urlChecker;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * ProbeCheckEngine 測試
+ * 驗證各階段耗時、失敗階段後不再繼續、HEAD 不被支援時改送 GET、轉址上限，以及連線失敗時改用下一個解析位址
+ */
+public class ProbeCheckEngineTest {
+
+	private HttpServer server;
+	private String base;
+	private final List<String> methods = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			String method = exchange.getRequestMethod();
+			methods.add(method);
+			String path = exchange.getRequestURI().getPath();
+			if (path.startsWith("/loop")) {
+				exchange.getResponseHeaders().set("Location", "/loop");
+				exchange.sendResponseHeaders(302, -1);
+				exchange.close();
+				return;
+			}
+			boolean rejectHead = path.startsWith("/no-head") && "HEAD".equals(method);
+			exchange.sendResponseHeaders(rejectHead ? 405 : 200, -1);
+			exchange.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		base = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private CheckResult probe(String url, boolean headFirst) {
+		try (ProbeCheckEngine engine = new ProbeCheckEngine(1, 2000, 2000, 2000, 2000, headFirst)) {
+			return engine.check(0, url).join();
+		}
+	}
+
+	@Test
+	public void testProbe_RecordsEachPhase() {
+		CheckResult result = probe(base + "/ok", true);
+
+		assertTrue(result.isSuccess());
+		assertNotNull(result.getTimings().get(ProbePhase.RESOLVE));
+		assertNotNull(result.getTimings().get(ProbePhase.CONNECT));
+		assertNotNull(result.getTimings().get(ProbePhase.FIRST_BYTE));
+		// http 不經過 TLS
+		assertNull(result.getTimings().get(ProbePhase.TLS));
+		assertEquals(1, methods.size());
+		assertEquals("HEAD", methods.get(0));
+	}
+
+	@Test
+	public void testProbe_HeadRejectedFallsBackToGet() {
+		CheckResult result = probe(base + "/no-head", true);
+
+		assertTrue(result.isSuccess());
+		assertTrue(result.getTimings().isGetFallback());
+		assertEquals(2, methods.size());
+		assertEquals("GET", methods.get(1));
+	}
+
+	@Test
+	public void testProbe_StopsAfterFailedPhase() {
+		CheckResult result = probe("http://127.0.0.1:1/", false);
+
+		assertTrue(result.isError());
+		assertTrue(result.getReason().startsWith("connect failed: "));
+		assertNotNull(result.getTimings().get(ProbePhase.RESOLVE));
+		assertNull(result.getTimings().get(ProbePhase.CONNECT));
+		assertNull(result.getTimings().get(ProbePhase.FIRST_BYTE));
+	}
+
+	@Test
+	public void testProbe_RedirectLoopStopsAtLimit() {
+		CheckResult result = probe(base + "/loop", false);
+
+		assertFalse(result.isSuccess());
+		assertEquals(302, result.getStatusCode());
+		assertEquals(ProbeCheckEngine.MAX_REDIRECTS + 1, methods.size());
+	}
+
+	@Test
+	public void testProbe_FallsBackToNextAddress() {
+		// 127.0.0.2 沒有服務，連線被拒後改連 127.0.0.1
+		DnsCache dnsCache = new DnsCache(host -> new InetAddress[]{
+			InetAddress.getByAddress(host, new byte[]{127, 0, 0, 2}),
+			InetAddress.getByAddress(host, new byte[]{127, 0, 0, 1})}, 0, 0);
+		String url = "http://multi.stub:" + server.getAddress().getPort() + "/ok";
+		try (ProbeCheckEngine engine = new ProbeCheckEngine(1, 2000, 2000, 2000, 2000, false, dnsCache)) {
+			CheckResult result = engine.check(0, url).join();
+
+			assertTrue(result.getReason(), result.isSuccess());
+			assertEquals(1, methods.size());
+		}
+	}
+
+	@Test
+	public void testParseStatusCode() throws IOException {
+		assertEquals(404, ProbeCheckEngine.parseStatusCode("HTTP/1.1 404 Not Found"));
+		assertEquals(200, ProbeCheckEngine.parseStatusCode("HTTP/2 200"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testParseStatusCode_Malformed() throws IOException {
+		ProbeCheckEngine.parseStatusCode("SSH-2.0-OpenSSH");
+	}
+}
@@ -0,0 +1,137 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import static org.junit.Assert.*;
+
+/**
+ * RetryCheckEngine 測試
+ * 驗證只重試暫時性失敗（含依例外類型分類的非 probe 引擎錯誤）、退避上限，以及慢回應時 hedge 的請求先完成
+ */
+public class RetryCheckEngineTest {
+
+	/**
+	 * 依序回傳預先排好的結果，記錄被呼叫次數
+	 */
+	private static class ScriptedEngine implements CheckEngine {
+		private final Deque<CheckResult> script;
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private ScriptedEngine(CheckResult... results) {
+			this.script = new ArrayDeque<>(Arrays.asList(results));
+		}
+
+		@Override
+		public synchronized CompletableFuture<CheckResult> check(int index, String url) {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(script.size() > 1 ? script.poll() : script.peek());
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	@Test
+	public void testCheck_RetriesTransientFailures() throws Exception {
+		ScriptedEngine scripted = new ScriptedEngine(
+			CheckResult.error(0, "u", "h", "connect timed out", 10),
+			CheckResult.failed(0, "u", "h", 503, 10),
+			CheckResult.ok(0, "u", "h", 200, 10));
+		try (RetryCheckEngine engine = new RetryCheckEngine(scripted, 3, 1, 5, 0)) {
+			assertTrue(engine.check(0, "u").get(5, TimeUnit.SECONDS).isSuccess());
+			assertEquals("Retries: 2, hedged requests: 0", engine.summary().get(0));
+		}
+		assertEquals(3, scripted.calls.get());
+	}
+
+	@Test
+	public void testCheck_StopsAfterRetriesAndSkipsPermanentFailures() throws Exception {
+		ScriptedEngine refused = new ScriptedEngine(CheckResult.error(0, "u", "h", "Connection refused", 1));
+		try (RetryCheckEngine engine = new RetryCheckEngine(refused, 2, 1, 5, 0)) {
+			assertTrue(engine.check(0, "u").get(5, TimeUnit.SECONDS).isError());
+		}
+		assertEquals(3, refused.calls.get());
+
+		ScriptedEngine notFound = new ScriptedEngine(CheckResult.failed(0, "u", "h", 404, 1));
+		try (RetryCheckEngine engine = new RetryCheckEngine(notFound, 2, 1, 5, 0)) {
+			assertEquals(404, engine.check(0, "u").get(5, TimeUnit.SECONDS).getStatusCode());
+		}
+		assertEquals(1, notFound.calls.get());
+
+		assertFalse(RetryCheckEngine.isRetryable(CheckResult.phaseError(0, "u", "h", ProbePhase.RESOLVE, "h", 1, null)));
+		assertFalse(RetryCheckEngine.isRetryable(CheckResult.phaseError(0, "u", "h", ProbePhase.TLS, "bad cert", 1, null)));
+	}
+
+	@Test
+	public void testCheck_ExceptionTypeDecidesRetry() throws Exception {
+		// thread-pool / okhttp 引擎沒有 failedPhase，TLS 錯誤的訊息也不含可辨識的文字
+		ScriptedEngine tls = new ScriptedEngine(CheckResult.error(0, "u", "h",
+			new SSLHandshakeException("PKIX path building failed"), 1));
+		try (RetryCheckEngine engine = new RetryCheckEngine(tls, 2, 1, 5, 0)) {
+			assertEquals(ErrorClass.TLS, ErrorClass.of(engine.check(0, "u").get(5, TimeUnit.SECONDS)));
+		}
+		assertEquals(1, tls.calls.get());
+
+		assertFalse(RetryCheckEngine.isRetryable(CheckResult.error(0, "u", "h", new UnknownHostException("h"), 1)));
+		assertTrue(RetryCheckEngine.isRetryable(CheckResult.error(0, "u", "h", new ConnectException("Connection refused"), 1)));
+		assertTrue(RetryCheckEngine.isRetryable(CheckResult.error(0, "u", "h", new SocketTimeoutException("Read timed out"), 1)));
+	}
+
+	@Test
+	public void testBackoff_CappedWithJitter() {
+		RetryCheckEngine engine = new RetryCheckEngine(new ScriptedEngine(CheckResult.ok(0, "u", "h", 200, 1)), 5, 100, 1000, 0);
+		try {
+			for (int i = 0; i < 200; i++) {
+				assertTrue(engine.backoff(0) <= 100);
+				assertTrue(engine.backoff(10) <= 1000);
+				assertTrue(engine.backoff(10) >= 0);
+			}
+		} finally {
+			engine.close();
+		}
+	}
+
+	@Test
+	public void testCheck_HedgedRequestWinsOverSlowAttempt() throws Exception {
+		ScheduledExecutorService slow = Executors.newSingleThreadScheduledExecutor();
+		AtomicInteger calls = new AtomicInteger();
+		CheckEngine engine = new CheckEngine() {
+			@Override
+			public CompletableFuture<CheckResult> check(int index, String url) {
+				CompletableFuture<CheckResult> future = new CompletableFuture<>();
+				if (calls.incrementAndGet() == 1) {
+					slow.schedule(() -> future.complete(CheckResult.ok(index, url, "h", 200, 2000)), 2, TimeUnit.SECONDS);
+				} else {
+					future.complete(CheckResult.ok(index, url, "h", 201, 5));
+				}
+				return future;
+			}
+
+			@Override
+			public void close() {
+				slow.shutdownNow();
+			}
+		};
+		try (RetryCheckEngine retry = new RetryCheckEngine(engine, 0, 1, 1, 50)) {
+			long start = System.nanoTime();
+			assertEquals(201, retry.check(0, "u").get(5, TimeUnit.SECONDS).getStatusCode());
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+			assertEquals("Retries: 0, hedged requests: 1", retry.summary().get(0));
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Shard 測試
+ * 驗證 i/N 解析，以及各分片互不重疊、合起來涵蓋完整清單且結果固定
+ */
+public class ShardTest {
+
+	@Test
+	public void testContains_PartitionsDisjointAndComplete() {
+		List<String> domains = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			domains.add("host" + i + ".example.com");
+		}
+		Set<String> seen = new HashSet<>();
+		for (int i = 1; i <= 4; i++) {
+			List<String> part = Shard.parse(i + "/4").filter(domains);
+			assertTrue("shard " + i + " size " + part.size(), part.size() > 150 && part.size() < 350);
+			for (String domain : part) {
+				assertTrue(seen.add(domain));
+			}
+		}
+		assertEquals(domains.size(), seen.size());
+	}
+
+	@Test
+	public void testContains_StableAndCaseInsensitive() {
+		Shard shard = new Shard(2, 3);
+		assertEquals(shard.contains("abc.com"), shard.contains(" ABC.com "));
+		// CRC32("abc.com") = 0xF019FC1A，% 3 = 0 → 第 1 片
+		assertTrue(new Shard(1, 3).contains("abc.com"));
+		assertEquals("shard-2-of-3", shard.label());
+	}
+
+	@Test
+	public void testParse_Invalid() {
+		for (String spec : new String[]{"0/4", "5/4", "1/0", "a/b", "1-4"}) {
+			try {
+				Shard.parse(spec);
+				fail(spec);
+			} catch (IllegalArgumentException e) {
+				assertTrue(e.getMessage().startsWith("Invalid shard"));
+			}
+		}
+	}
+}
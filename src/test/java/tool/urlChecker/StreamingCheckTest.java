@@ -0,0 +1,138 @@
+package tool.urlChecker;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * StreamingCheck 測試
+ * 驗證進行中的檢查不超過視窗大小、分片過濾、全部結果都交給 sink 後才回傳，以及引擎異常完成時仍記下錯誤結果
+ */
+public class StreamingCheckTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRun_BoundedWindowAndShard() throws Exception {
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			content.append("host").append(i).append(".example.com\n");
+		}
+		Path file = folder.getRoot().toPath().resolve("domains.txt");
+		Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		CheckEngine engine = new CheckEngine() {
+			@Override
+			public CompletableFuture<CheckResult> check(int index, String url) {
+				maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+				return CompletableFuture.supplyAsync(() -> {
+					try {
+						Thread.sleep(1);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					inFlight.decrementAndGet();
+					return CheckResult.ok(index, url, UrlChecker.hostOf(url), 200, 1);
+				}, pool);
+			}
+
+			@Override
+			public void close() {
+				pool.shutdownNow();
+			}
+		};
+
+		Shard shard = new Shard(1, 2);
+		List<String> results = Collections.synchronizedList(new ArrayList<>());
+		int checked;
+		try (DomainSource source = DomainSource.open(file.toString())) {
+			checked = new StreamingCheck(engine, 5).run(source, shard, domain -> "http://" + domain, result -> results.add(result.getHost()));
+		} finally {
+			engine.close();
+		}
+
+		assertEquals(checked, results.size());
+		assertTrue(maxInFlight.get() <= 5);
+		List<String> all = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			all.add("host" + i + ".example.com");
+		}
+		List<String> expected = shard.filter(all);
+		Collections.sort(expected);
+		Collections.sort(results);
+		assertEquals(expected, results);
+	}
+
+	@Test(expected = IOException.class)
+	public void testRun_SinkFailureIsRethrown() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("domains.txt");
+		Files.write(file, "abc.com\n".getBytes(StandardCharsets.UTF_8));
+		CheckEngine engine = new CheckEngine() {
+			@Override
+			public CompletableFuture<CheckResult> check(int index, String url) {
+				return CompletableFuture.completedFuture(CheckResult.ok(index, url, "abc.com", 200, 1));
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		try (DomainSource source = DomainSource.open(file.toString())) {
+			new StreamingCheck(engine, 2).run(source, null, domain -> "http://" + domain, result -> {
+				throw new UncheckedIOException(new IOException("disk full"));
+			});
+		}
+	}
+
+	@Test
+	public void testRun_EngineFailureRecordedAsError() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("domains.txt");
+		Files.write(file, "abc.com\ndef.com\n".getBytes(StandardCharsets.UTF_8));
+		CheckEngine engine = new CheckEngine() {
+			@Override
+			public CompletableFuture<CheckResult> check(int index, String url) {
+				CompletableFuture<CheckResult> future = new CompletableFuture<>();
+				if (url.contains("def.com")) {
+					future.completeExceptionally(new IllegalStateException("engine bug"));
+				} else {
+					future.complete(CheckResult.ok(index, url, "abc.com", 200, 1));
+				}
+				return future;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		List<CheckResult> results = Collections.synchronizedList(new ArrayList<>());
+		try (DomainSource source = DomainSource.open(file.toString())) {
+			assertEquals(2, new StreamingCheck(engine, 2).run(source, null, domain -> "http://" + domain, results::add));
+		}
+
+		assertEquals(2, results.size());
+		CheckResult failed = results.get(1);
+		assertEquals(1, failed.getIndex());
+		assertEquals("def.com", failed.getHost());
+		assertTrue(failed.isError());
+		assertEquals("Connection failed: engine bug", failed.getReason());
+	}
+}
@@ -0,0 +1,239 @@
+package tool.urlChecker;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+/**
+ * 測試用的本機 HTTP / HTTPS 伺服器，依路徑模擬各種行為，不需連外網
+ * - /ok → 200；/status/{code} → 指定狀態碼；/delay/{ms} → 等待後回 200
+ * - /slow-body/{ms} → 立即回 200，body 在 ms 內分 10 段慢慢送出
+ * - /close → 讀完請求不回應直接關閉連線
+ * - /redirect/{n} → 302 轉址到 /redirect/{n-1}，n 為 0 時回 200
+ * - /forward?{url} → 302 轉址到 query 指定的完整 URL（可轉到其他 host 或 HTTPS）
+ * 另有兩個原始 TCP port：reset（接受後立即以 RST 中斷）與 hang（接受後不讀不寫，模擬卡住的 TLS 握手或回應）。
+ * HTTPS 使用內嵌的自簽憑證（CN=localhost，SAN localhost / 127.0.0.1，2025 起 100 年），以預設信任庫驗證的引擎會在 tls 階段失敗。
+ */
+class StubServer implements Closeable {
+
+	/**
+	 * keytool -J-Dkeystore.pkcs12.legacy -genkeypair -storetype PKCS12 -alias stub -keyalg EC -groupname secp256r1
+	 * -dname "CN=localhost, O=Project-Tool Stub" -ext "SAN=dns:localhost,ip:127.0.0.1" -validity 36500，密碼 changeit
+	 */
+	private static final String KEYSTORE_BASE64 = ""
+		+ "MIIDnAIBAzCCA1UGCSqGSIb3DQEHAaCCA0YEggNCMIIDPjCB2wYJKoZIhvcNAQcBoIHNBIHKMIHHMIHEBgsqhkiG9w0BDAoBAqB3"
+		+ "MHUwKQYKKoZIhvcNAQwBAzAbBBQSppZiEhMaoiNaqa89nYP0kW+uLgIDAMNQBEgcAqAkXzfYDepNC30HelVLEqERnh1725KjKfQ4"
+		+ "ge4uyAU9gEzlcRFacCdBIO9hsS2BrvpbeOzxZJgG24PCreZ3wnp51gHQUpsxPDAXBgkqhkiG9w0BCRQxCh4IAHMAdAB1AGIwIQYJ"
+		+ "KoZIhvcNAQkVMRQEElRpbWUgMTc5MjQwMjY2NDk4MDCCAlwGCSqGSIb3DQEHBqCCAk0wggJJAgEAMIICQgYJKoZIhvcNAQcBMCkG"
+		+ "CiqGSIb3DQEMAQYwGwQU0/E5EbC9JMv6sBjzNahOsb6miBQCAwDDUICCAgjkKaWVpcvsaqTCJqf+3Em2NGb5sGuuGCz4WdLPwfcx"
+		+ "oPyW40+ckvUrMTDHS1MCyaQlSKiDkVVqAQsKOfgbEWWXK1Hjvev2TaBrXcRA/QoATSmK6sNoieUGoR40iVd2BdpbrZnZynjCQCaH"
+		+ "duIAzDFoboVAGPPo+5TIbDfobxTkwk1sK5OFXmFzr806SalwW44qmRkjkIvWPElS3f145Rzf3v5sE1Ro1p10/3VUwQprJXs7hAtQ"
+		+ "YEaMbJ6J9qL+0mvsYi1ymEL+2sIHTNh856WYTzlHvUJa9eCWUAuZfsrb/ea3+rWOkzYw6aHssMNXbgjdb1sXBock7XEjEOTB2n1C"
+		+ "NR+pML8gH6AHKl/4jpzUH/dTy8ckltFFC6dqR1OTQB4c74ISz1q5y3aRt7YknNH2/plPLP6uhW6+9ncMeJAESHA22JBYjKFteQBR"
+		+ "/YGEfB6BSv0zPMxUdc2fzkTIYH9xquZLduSz6+GqaOqgNxouHOt2cAeBvYhgKkLAcK1cFPovK8hmzJL9v4g2Izk0xkIAsugVEWto"
+		+ "A5swg8++VRMp56rH4IuzchrNqaT6FgpIvBcrCfUUcR2VFMWO41FRdnjhv/IHkfRw8eG2Q9H1O1u1IG8G8+FrpqrPZ2KZN7s/fz0V"
+		+ "uU3fvk0kHI2b2UIjVdnbDD5dObA2EK6VvQi9NaIN6VQ6RYecuzXoMD4wITAJBgUrDgMCGgUABBTCtPRrz3Wmow//VD0vMdDEk7OO"
+		+ "eQQUn04ZG6eDwBU8AMaXHE/D4UCCE1ICAwGGoA==";
+	private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+	private static final int BACKLOG = 1024;
+
+	private final HttpServer server;
+	private final ExecutorService handlers = Executors.newCachedThreadPool(r -> {
+		Thread thread = new Thread(r, "stub-http");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ServerSocket resetSocket;
+	private final ServerSocket hangSocket;
+	private final List<Socket> hanging = new CopyOnWriteArrayList<>();
+	private final AtomicInteger requests = new AtomicInteger();
+	private final String scheme;
+
+	private StubServer(boolean https) throws IOException, GeneralSecurityException {
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		if (https) {
+			HttpsServer httpsServer = HttpsServer.create(address, BACKLOG);
+			httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext()));
+			server = httpsServer;
+		} else {
+			server = HttpServer.create(address, BACKLOG);
+		}
+		server.createContext("/", this::handle);
+		server.setExecutor(handlers);
+		server.start();
+		scheme = https ? "https" : "http";
+
+		resetSocket = listen(socket -> {
+			// SO_LINGER 0 使 close 送出 RST 而非 FIN
+			socket.setSoLinger(true, 0);
+			socket.close();
+		});
+		hangSocket = listen(hanging::add);
+	}
+
+	static StubServer http() throws IOException {
+		try {
+			return new StubServer(false);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static StubServer https() throws IOException, GeneralSecurityException {
+		return new StubServer(true);
+	}
+
+	/**
+	 * 所有名稱都解析為 127.0.0.1，用於以虛擬 host 名稱連到此伺服器
+	 */
+	static HostResolver loopbackResolver() {
+		return host -> new InetAddress[]{InetAddress.getByAddress(host, new byte[]{127, 0, 0, 1})};
+	}
+
+	/**
+	 * 例：url("/status/503") → http://127.0.0.1:port/status/503
+	 */
+	String url(String path) {
+		return hostUrl("127.0.0.1", path);
+	}
+
+	/**
+	 * 以指定 host 名稱組成 URL，需搭配 loopbackResolver 解析
+	 */
+	String hostUrl(String host, String path) {
+		return scheme + "://" + host + ":" + server.getAddress().getPort() + path;
+	}
+
+	/**
+	 * 連線後立即被 RST 中斷
+	 */
+	String resetUrl() {
+		return scheme + "://127.0.0.1:" + resetSocket.getLocalPort() + "/";
+	}
+
+	/**
+	 * 連線成功但永遠不回應（HTTPS 時卡在握手）
+	 */
+	String hangUrl() {
+		return scheme + "://127.0.0.1:" + hangSocket.getLocalPort() + "/";
+	}
+
+	int getRequests() {
+		return requests.get();
+	}
+
+	@Override
+	public void close() throws IOException {
+		server.stop(0);
+		handlers.shutdownNow();
+		resetSocket.close();
+		hangSocket.close();
+		for (Socket socket : hanging) {
+			socket.close();
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		String[] parts = exchange.getRequestURI().getPath().split("/");
+		String action = parts.length > 1 ? parts[1] : "ok";
+		int argument = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+		try {
+			switch (action) {
+				case "status":
+					exchange.sendResponseHeaders(argument, -1);
+					break;
+				case "delay":
+					Thread.sleep(argument);
+					exchange.sendResponseHeaders(200, -1);
+					break;
+				case "slow-body":
+					exchange.sendResponseHeaders(200, 0);
+					try (OutputStream body = exchange.getResponseBody()) {
+						for (int i = 0; i < 10; i++) {
+							body.write(new byte[1024]);
+							body.flush();
+							Thread.sleep(argument / 10);
+						}
+					}
+					break;
+				case "close":
+					break;
+				case "redirect":
+					if (argument > 0) {
+						exchange.getResponseHeaders().set("Location", "/redirect/" + (argument - 1));
+						exchange.sendResponseHeaders(302, -1);
+					} else {
+						exchange.sendResponseHeaders(200, -1);
+					}
+					break;
+				case "forward":
+					exchange.getResponseHeaders().set("Location", exchange.getRequestURI().getQuery());
+					exchange.sendResponseHeaders(302, -1);
+					break;
+				default:
+					exchange.sendResponseHeaders(200, -1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			// 用戶端已關閉連線（例：只讀狀態列的 probe 引擎）
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private interface SocketHandler {
+		void accept(Socket socket) throws IOException;
+	}
+
+	private ServerSocket listen(SocketHandler handler) throws IOException {
+		ServerSocket serverSocket = new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(() -> {
+			while (!serverSocket.isClosed()) {
+				try {
+					handler.accept(serverSocket.accept());
+				} catch (IOException e) {
+					// close() 關閉 server socket
+				}
+			}
+		}, "stub-accept-" + serverSocket.getLocalPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+		return serverSocket;
+	}
+
+	private static SSLContext sslContext() throws IOException, GeneralSecurityException {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream in = new ByteArrayInputStream(Base64.getDecoder().decode(KEYSTORE_BASE64))) {
+			keyStore.load(in, KEYSTORE_PASSWORD);
+		}
+		KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagers.init(keyStore, KEYSTORE_PASSWORD);
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(keyManagers.getKeyManagers(), null, null);
+		return context;
+	}
+}
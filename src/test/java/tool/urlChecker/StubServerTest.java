@@ -0,0 +1,145 @@
+package tool.urlChecker;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * 以 StubServer 模擬的各種伺服器行為驗證三種引擎的檢查結果與錯誤分類
+ */
+public class StubServerTest {
+
+	private static final int TIMEOUT = 500;
+
+	private static StubServer http;
+	private static StubServer https;
+
+	@BeforeClass
+	public static void startServers() throws Exception {
+		http = StubServer.http();
+		https = StubServer.https();
+	}
+
+	@AfterClass
+	public static void stopServers() throws IOException {
+		http.close();
+		https.close();
+	}
+
+	private static List<Supplier<CheckEngine>> engines() {
+		return Arrays.asList(
+			() -> new ThreadPoolCheckEngine(4, TIMEOUT, TIMEOUT),
+			() -> new OkHttpCheckEngine(4, 4, TIMEOUT, TIMEOUT),
+			() -> new ProbeCheckEngine(4, TIMEOUT, TIMEOUT, TIMEOUT, TIMEOUT, false));
+	}
+
+	private static CheckResult check(Supplier<CheckEngine> factory, String url) {
+		try (CheckEngine engine = factory.get()) {
+			return engine.check(0, url).join();
+		}
+	}
+
+	@Test
+	public void testStatusCodes() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			assertTrue(check(engine, http.url("/ok")).isSuccess());
+			assertEquals(503, check(engine, http.url("/status/503")).getStatusCode());
+			assertEquals(ErrorClass.HTTP_STATUS, ErrorClass.of(check(engine, http.url("/status/404"))));
+		}
+	}
+
+	@Test
+	public void testRedirectsFollowed() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, http.url("/redirect/3"));
+			assertTrue(result.getReason(), result.isSuccess());
+			assertEquals(200, result.getStatusCode());
+		}
+	}
+
+	@Test
+	public void testDelayBeyondReadTimeout() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, http.url("/delay/" + TIMEOUT * 4));
+			assertEquals(result.getReason(), ErrorClass.TIMEOUT, ErrorClass.of(result));
+		}
+	}
+
+	@Test
+	public void testSlowBodyDoesNotDelayCheck() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, http.url("/slow-body/3000"));
+			assertTrue(result.isSuccess());
+			assertTrue(result.getUrl() + " took " + result.getElapsedMs() + " ms", result.getElapsedMs() < 1500);
+		}
+	}
+
+	@Test
+	public void testUnknownHostNotRetried() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, "http://no-such-host.invalid/");
+			assertEquals(result.getReason(), ErrorClass.DNS, ErrorClass.of(result));
+			assertFalse(RetryCheckEngine.isRetryable(result));
+		}
+	}
+
+	@Test
+	public void testResetAndClosedConnection() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			assertTrue(check(engine, http.resetUrl()).isError());
+			assertTrue(check(engine, http.url("/close")).isError());
+		}
+	}
+
+	@Test
+	public void testHangingTlsHandshake() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, https.hangUrl());
+			assertTrue(result.isError());
+			if (result.getFailedPhase() != null) {
+				assertEquals(ProbePhase.TLS, result.getFailedPhase());
+			} else {
+				assertEquals(result.getReason(), ErrorClass.TIMEOUT, ErrorClass.of(result));
+			}
+		}
+	}
+
+	@Test
+	public void testSelfSignedCertificateCapturedByAllEngines() {
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, https.url("/ok"));
+
+			assertTrue(result.isError());
+			assertNotNull(result.getReason(), result.getCert());
+			assertEquals("localhost", result.getCert().getSubject());
+			assertTrue(result.getCert().isHostMatch());
+			assertEquals(result.getReason(), ErrorClass.TLS, ErrorClass.of(result));
+			assertFalse(RetryCheckEngine.isRetryable(result));
+		}
+		assertEquals(0, https.getRequests());
+	}
+
+	@Test
+	public void testCrossHostRedirectCertKeyedByHandshakeHost() {
+		int captured = 0;
+		for (Supplier<CheckEngine> engine : engines()) {
+			CheckResult result = check(engine, http.url("/forward?" + https.hostUrl("localhost", "/ok")));
+			if (result.getCert() == null) {
+				// HttpURLConnection 不跟隨 http → https 的轉址
+				continue;
+			}
+			captured++;
+			assertEquals(result.getReason(), "localhost", result.getCert().getHost());
+			assertEquals(Collections.singletonList("localhost"), new CertReport(Collections.singletonList(result), 0, 30).hosts());
+		}
+		assertTrue(captured > 0);
+	}
+}
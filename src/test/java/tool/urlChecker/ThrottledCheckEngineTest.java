@@ -0,0 +1,157 @@
+package tool.urlChecker;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * ThrottledCheckEngine 測試
+ * 驗證可註冊網域的判定、每網域 / 每 IP 速率限制、等待中的網域不會擋住其他網域、check 不等待 DNS，以及閒置 bucket 的清理
+ */
+public class ThrottledCheckEngineTest {
+
+	/**
+	 * 記錄各 URL 送出時間後立即回傳 200
+	 */
+	private static class RecordingEngine implements CheckEngine {
+		private final List<String> urls = Collections.synchronizedList(new ArrayList<>());
+		private final List<Long> times = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public CompletableFuture<CheckResult> check(int index, String url) {
+			urls.add(url);
+			times.add(System.nanoTime());
+			return CompletableFuture.completedFuture(CheckResult.ok(index, url, UrlChecker.hostOf(url), 200, 1));
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	private static DnsCache dnsCache() {
+		return new DnsCache(host -> new InetAddress[]{InetAddress.getByAddress(host, new byte[]{10, 0, 0, 1})}, 60_000, 1_000);
+	}
+
+	@Test
+	public void testRegistrableDomain() {
+		assertEquals("abc.com", ThrottledCheckEngine.registrableDomain("www.abc.com"));
+		assertEquals("abc.com", ThrottledCheckEngine.registrableDomain("a.b.ABC.com"));
+		assertEquals("abc.com.tw", ThrottledCheckEngine.registrableDomain("uat9wapi.abc.com.tw"));
+		assertEquals("abc.co.uk", ThrottledCheckEngine.registrableDomain("www.abc.co.uk"));
+		assertEquals("localhost", ThrottledCheckEngine.registrableDomain("localhost"));
+		assertEquals("127.0.0.1", ThrottledCheckEngine.registrableDomain("127.0.0.1"));
+	}
+
+	@Test
+	public void testDomainRate_SpacesRequestsWithoutBlockingOtherDomains() throws Exception {
+		RecordingEngine recording = new RecordingEngine();
+		List<CompletableFuture<CheckResult>> futures = new ArrayList<>();
+		try (ThrottledCheckEngine engine = new ThrottledCheckEngine(recording, dnsCache(), 10, 1, 0, 1, null)) {
+			futures.add(engine.check(0, "http://www.abc.com"));
+			futures.add(engine.check(1, "http://api.abc.com"));
+			futures.add(engine.check(2, "http://img.abc.com"));
+			futures.add(engine.check(3, "http://www.def.net"));
+			for (CompletableFuture<CheckResult> future : futures) {
+				assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+			}
+		}
+
+		// def.net 不需等待 abc.com 的 token
+		assertTrue(recording.urls.indexOf("http://www.def.net") < recording.urls.indexOf("http://img.abc.com"));
+		long spanMs = TimeUnit.NANOSECONDS.toMillis(recording.times.get(3) - recording.times.get(0));
+		assertTrue("span " + spanMs + " ms", spanMs >= 180);
+	}
+
+	@Test
+	public void testIpRate_SharedAcrossDomains() throws Exception {
+		RecordingEngine recording = new RecordingEngine();
+		try (ThrottledCheckEngine engine = new ThrottledCheckEngine(recording, dnsCache(), 0, 1, 10, 1, null)) {
+			CompletableFuture<CheckResult> first = engine.check(0, "http://abc.com");
+			CompletableFuture<CheckResult> second = engine.check(1, "http://def.net");
+			first.get(5, TimeUnit.SECONDS);
+			second.get(5, TimeUnit.SECONDS);
+		}
+
+		long gapMs = TimeUnit.NANOSECONDS.toMillis(recording.times.get(1) - recording.times.get(0));
+		assertTrue("gap " + gapMs + " ms", gapMs >= 90);
+	}
+
+	@Test
+	public void testClose_CompletesPendingChecks() throws Exception {
+		ThrottledCheckEngine engine = new ThrottledCheckEngine(new RecordingEngine(), dnsCache(), 0.1, 1, 0, 1, null);
+		engine.check(0, "http://www.abc.com").get(5, TimeUnit.SECONDS);
+		CompletableFuture<CheckResult> pending = engine.check(1, "http://api.abc.com");
+		engine.close();
+
+		CheckResult result = pending.get(5, TimeUnit.SECONDS);
+		assertFalse(result.isSuccess());
+		assertEquals("Connection failed: Engine closed", result.getReason());
+	}
+
+	/**
+	 * 解析等到 gate 開啟才回傳
+	 */
+	private static DnsCache blockedDnsCache(CountDownLatch gate) {
+		return new DnsCache(host -> {
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new InetAddress[]{InetAddress.getByAddress(host, new byte[]{10, 0, 0, 1})};
+		}, 60_000, 1_000);
+	}
+
+	@Test
+	public void testIpRate_CheckDoesNotWaitForDns() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		try (ThrottledCheckEngine engine = new ThrottledCheckEngine(new RecordingEngine(), blockedDnsCache(gate), 0, 1, 10, 1, null)) {
+			long start = System.nanoTime();
+			CompletableFuture<CheckResult> future = engine.check(0, "http://slow-dns.com");
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+			assertFalse(future.isDone());
+
+			gate.countDown();
+			assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+		}
+	}
+
+	@Test
+	public void testClose_CompletesChecksWaitingForDns() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		ThrottledCheckEngine engine = new ThrottledCheckEngine(new RecordingEngine(), blockedDnsCache(gate), 0, 1, 10, 1, null);
+		CompletableFuture<CheckResult> pending = engine.check(0, "http://slow-dns.com");
+		engine.close();
+		gate.countDown();
+
+		assertEquals("Connection failed: Engine closed", pending.get(5, TimeUnit.SECONDS).getReason());
+	}
+
+	@Test
+	public void testPrune_RemovesOnlyRefilledBuckets() {
+		Map<String, TokenBucket> buckets = new HashMap<>();
+		TokenBucket idle = new TokenBucket(1, 1, 0);
+		TokenBucket drained = new TokenBucket(1, 1, 0);
+		drained.take(0);
+		buckets.put("idle.com", idle);
+		buckets.put("busy.com", drained);
+
+		ThrottledCheckEngine.prune(buckets, TimeUnit.MILLISECONDS.toNanos(500));
+		assertEquals(Collections.singleton("busy.com"), buckets.keySet());
+
+		// 補滿後同樣移除
+		ThrottledCheckEngine.prune(buckets, TimeUnit.SECONDS.toNanos(2));
+		assertTrue(buckets.isEmpty());
+	}
+}
@@ -0,0 +1,72 @@
+package tool.urlChecker;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以 StubServer 上數千個虛擬 host 量測各引擎的吞吐量（checks/s）與尾端延遲，不需連外網
+ * 預設略過，執行方式：mvn test -Dtest=UrlCheckerBenchmark -Dbenchmark=true [-Dbenchmark.hosts=2000 -Dbenchmark.delay=20 -Dbenchmark.concurrency=64]
+ * okhttp / probe 以虛擬 host 名稱（h{i}.stub，經 DnsCache 解析為 127.0.0.1）連線；thread-pool 使用 HttpURLConnection 無法指定解析，
+ * 改以 127.0.0.1 加上不同的查詢字串。sequential 為 concurrency 1 的 thread-pool，只跑前 SEQUENTIAL_LIMIT 筆。
+ */
+public class UrlCheckerBenchmark {
+
+	private static final int SEQUENTIAL_LIMIT = 200;
+	private static final int TIMEOUT = 15000;
+
+	@Test
+	public void benchmarkEngines() throws Exception {
+		Assume.assumeTrue("set -Dbenchmark=true to run", Boolean.getBoolean("benchmark"));
+		run(Integer.getInteger("benchmark.hosts", 2000), Integer.getInteger("benchmark.delay", 20),
+			Integer.getInteger("benchmark.concurrency", 64));
+	}
+
+	public static void main(String[] args) throws Exception {
+		run(args.length > 0 ? Integer.parseInt(args[0]) : 2000, args.length > 1 ? Integer.parseInt(args[1]) : 20,
+			args.length > 2 ? Integer.parseInt(args[2]) : 64);
+	}
+
+	/**
+	 * @param delayMs 伺服器每個請求的處理時間，模擬真實網站的回應延遲
+	 */
+	static void run(int hosts, int delayMs, int concurrency) throws Exception {
+		try (StubServer server = StubServer.http()) {
+			List<String> ipUrls = new ArrayList<>(hosts);
+			List<String> hostUrls = new ArrayList<>(hosts);
+			for (int i = 0; i < hosts; i++) {
+				ipUrls.add(server.url("/delay/" + delayMs + "?h=" + i));
+				hostUrls.add(server.hostUrl("h" + i + ".stub", "/delay/" + delayMs));
+			}
+			DnsCache dnsCache = new DnsCache(StubServer.loopbackResolver(), TimeUnit.MINUTES.toMillis(10), 0);
+
+			System.out.println("\nBenchmark: " + hosts + " hosts, " + delayMs + " ms server delay, concurrency " + concurrency);
+			System.out.println(String.format("%-12s %7s %7s %10s %7s %7s %7s %7s", "engine", "checks", "failed", "checks/s", "p50", "p90", "p99", "max"));
+			measure("sequential", new ThreadPoolCheckEngine(1, TIMEOUT, TIMEOUT), ipUrls.subList(0, Math.min(hosts, SEQUENTIAL_LIMIT)));
+			measure("thread-pool", new ThreadPoolCheckEngine(concurrency, TIMEOUT, TIMEOUT), ipUrls);
+			measure("okhttp", new OkHttpCheckEngine(concurrency, concurrency, TIMEOUT, TIMEOUT, dnsCache), hostUrls);
+			measure("probe", new ProbeCheckEngine(concurrency, TIMEOUT, TIMEOUT, TIMEOUT, TIMEOUT, false, dnsCache), hostUrls);
+		}
+	}
+
+	private static void measure(String name, CheckEngine engine, List<String> urls) {
+		LatencyHistogram latency = new LatencyHistogram();
+		int failed = 0;
+		long start = System.nanoTime();
+		try (CheckEngine e = engine) {
+			for (CheckResult result : UrlChecker.checkAll(urls, e, Collections.emptyMap(), false)) {
+				latency.record(result.getElapsedMs());
+				if (!result.isSuccess()) {
+					failed++;
+				}
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format("%-12s %7d %7d %10.1f %7d %7d %7d %7d", name, urls.size(), failed, urls.size() / seconds,
+			latency.valueAtPercentile(50), latency.valueAtPercentile(90), latency.valueAtPercentile(99), latency.getMax()));
+	}
+}
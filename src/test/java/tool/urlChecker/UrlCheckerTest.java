@@ -0,0 +1,156 @@
+package tool.urlChecker;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * UrlChecker 測試
+ * 以本機 HttpServer 驗證同時檢查時的結果順序與總耗時
+ */
+public class UrlCheckerTest {
+
+	private HttpServer server;
+	private String base;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			try {
+				if (path.startsWith("/slow")) {
+					Thread.sleep(500);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(path.startsWith("/missing") ? 404 : 200, -1);
+			exchange.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		base = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private List<CheckResult> checkAll(CheckEngine engine, List<String> urls) {
+		return checkAll(engine, urls, Collections.emptyMap());
+	}
+
+	private List<CheckResult> checkAll(CheckEngine engine, List<String> urls, Map<String, String> dnsFailures) {
+		try (CheckEngine e = engine) {
+			return UrlChecker.checkAll(urls, e, dnsFailures);
+		}
+	}
+
+	@Test
+	public void testCheckAll_ResultsInInputOrder() {
+		List<String> urls = Arrays.asList(base + "/slow1", base + "/ok", base + "/missing", base + "/slow2");
+
+		List<CheckResult> results = checkAll(new ThreadPoolCheckEngine(4, 5000, 5000), urls);
+
+		assertEquals(4, results.size());
+		for (int i = 0; i < urls.size(); i++) {
+			assertEquals(i, results.get(i).getIndex());
+			assertEquals(urls.get(i), results.get(i).getUrl());
+		}
+		assertTrue(results.get(0).isSuccess());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals(404, results.get(2).getStatusCode());
+	}
+
+	@Test
+	public void testCheckAll_WallTimeCloseToSlowestCheck() {
+		List<String> urls = Arrays.asList(base + "/slow1", base + "/slow2", base + "/slow3", base + "/slow4");
+
+		long start = System.nanoTime();
+		List<CheckResult> results = checkAll(new ThreadPoolCheckEngine(4, 5000, 5000), urls);
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		for (CheckResult result : results) {
+			assertTrue(result.isSuccess());
+		}
+		assertTrue("elapsed " + elapsedMs + " ms", elapsedMs < 1500);
+	}
+
+	@Test
+	public void testCheckAll_ConnectionErrorIsReported() {
+		List<CheckResult> results = checkAll(new ThreadPoolCheckEngine(1, 2000, 2000), Arrays.asList("http://127.0.0.1:1"));
+
+		assertTrue(results.get(0).isError());
+		assertTrue(results.get(0).getReason().startsWith("Connection failed: "));
+	}
+
+	@Test
+	public void testCheckAll_DnsFailureSkipsEngine() {
+		List<String> urls = Arrays.asList(base + "/ok", "http://gone.invalid/", base + "/missing");
+		List<String> checked = new CopyOnWriteArrayList<>();
+		CheckEngine engine = new ThreadPoolCheckEngine(2, 2000, 2000) {
+			@Override
+			public CompletableFuture<CheckResult> check(int index, String url) {
+				checked.add(url);
+				return super.check(index, url);
+			}
+		};
+
+		List<CheckResult> results = checkAll(engine, urls, Collections.singletonMap("gone.invalid", "gone.invalid"));
+
+		assertEquals(Arrays.asList(base + "/ok", base + "/missing"), checked);
+		assertTrue(results.get(1).isError());
+		assertEquals("resolve failed: gone.invalid", results.get(1).getReason());
+		assertEquals(404, results.get(2).getStatusCode());
+	}
+
+	@Test
+	public void testOkHttpEngine_ResultsInInputOrder() {
+		List<String> urls = Arrays.asList(base + "/slow1", base + "/ok", base + "/missing", "http://127.0.0.1:1", base + "/slow2");
+
+		// 建立 client 的類別載入時間不計入
+		OkHttpCheckEngine engine = new OkHttpCheckEngine(8, 8, 2000, 5000);
+		long start = System.nanoTime();
+		List<CheckResult> results = checkAll(engine, urls);
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		for (int i = 0; i < urls.size(); i++) {
+			assertEquals(urls.get(i), results.get(i).getUrl());
+		}
+		assertTrue(results.get(0).isSuccess());
+		assertEquals(404, results.get(2).getStatusCode());
+		assertTrue(results.get(3).isError());
+		assertTrue(results.get(4).isSuccess());
+		assertTrue("elapsed " + elapsedMs + " ms", elapsedMs < 1500);
+	}
+
+	@Test
+	public void testOkHttpEngine_MaxRequestsPerHostQueuesCalls() {
+		List<String> urls = Arrays.asList(base + "/slow1", base + "/slow2", base + "/slow3");
+
+		long start = System.nanoTime();
+		List<CheckResult> results = checkAll(new OkHttpCheckEngine(8, 1, 2000, 5000), urls);
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+		for (CheckResult result : results) {
+			assertTrue(result.isSuccess());
+		}
+		// 同一 host 一次只允許一個請求，三個 500 ms 的請求依序執行
+		assertTrue("elapsed " + elapsedMs + " ms", elapsedMs >= 1400);
+	}
+}
@@ -0,0 +1,80 @@
+package tool.urlChecker;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * UrlMonitor 測試
+ * 以短間隔重複檢查本機 HttpServer，中途切換回應狀態，驗證各輪結果寫入歷史並偵測到轉換
+ */
+public class UrlMonitorTest {
+
+	private HttpServer server;
+	private String url;
+	private final AtomicInteger status = new AtomicInteger(200);
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			exchange.sendResponseHeaders(status.get(), -1);
+			exchange.close();
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	private void awaitRounds(UrlMonitor monitor, int rounds) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (monitor.getRounds() < rounds && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue("rounds " + monitor.getRounds(), monitor.getRounds() >= rounds);
+	}
+
+	@Test
+	public void testMonitor_RecordsRoundsAndTransitions() throws InterruptedException {
+		List<String> urls = Collections.singletonList(url);
+		try (CheckEngine engine = new ThreadPoolCheckEngine(2, 2000, 2000)) {
+			UrlMonitor monitor = new UrlMonitor(urls, engine, new DnsCache(HostResolver.SYSTEM, 60_000, 10_000), 2, 2000, 50, 10, 4);
+			monitor.start();
+			try {
+				awaitRounds(monitor, 2);
+				assertTrue(monitor.getHistory(url).isUp());
+
+				status.set(503);
+				int seen = monitor.getRounds();
+				awaitRounds(monitor, seen + 2);
+				assertFalse(monitor.getHistory(url).isUp());
+				assertEquals(503, monitor.getHistory(url).latest().getStatusCode());
+			} finally {
+				monitor.stop();
+			}
+			assertTrue(monitor.getHistory(url).size() <= 4);
+		}
+	}
+
+	@Test
+	public void testFormatDuration() {
+		assertEquals("45s", UrlMonitor.formatDuration(45_000));
+		assertEquals("2m 5s", UrlMonitor.formatDuration(125_000));
+		assertEquals("1h 1m", UrlMonitor.formatDuration(3_660_000));
+	}
+}
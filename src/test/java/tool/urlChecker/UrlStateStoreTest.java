@@ -0,0 +1,79 @@
+package tool.urlChecker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * UrlStateStore 測試
+ * 驗證 --only-failed / --stale-after 的挑選規則、合併後存檔再讀回，以及狀態檔損毀時從空白開始
+ */
+public class UrlStateStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static final List<String> URLS = Arrays.asList("http://a.com", "http://b.com", "http://c.com", "http://new.com");
+
+	private UrlStateStore store(Path file) throws IOException {
+		UrlStateStore store = new UrlStateStore(file, new ObjectMapper());
+		long now = TimeUnit.HOURS.toMillis(1);
+		store.merge(now - TimeUnit.MINUTES.toMillis(2), Arrays.asList(
+			CheckResult.ok(0, "http://a.com", "a.com", 200, 10),
+			CheckResult.failed(1, "http://b.com", "b.com", 502, 10)));
+		store.merge(now - TimeUnit.MINUTES.toMillis(30), Collections.singletonList(
+			CheckResult.ok(2, "http://c.com", "c.com", 200, 10)));
+		return store;
+	}
+
+	@Test
+	public void testPlan_SelectsFailedStaleAndUnknown() throws IOException {
+		UrlStateStore store = store(folder.getRoot().toPath().resolve("state.json"));
+		long now = TimeUnit.HOURS.toMillis(1);
+
+		assertEquals(Arrays.asList("http://b.com", "http://new.com"), store.plan(URLS, true, null, now));
+		assertEquals(Arrays.asList("http://c.com", "http://new.com"), store.plan(URLS, false, TimeUnit.MINUTES.toMillis(10), now));
+		assertEquals(Arrays.asList("http://b.com", "http://c.com", "http://new.com"),
+			store.plan(URLS, true, TimeUnit.MINUTES.toMillis(10), now));
+	}
+
+	@Test
+	public void testSave_ReloadsMergedResults() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("state/url-state.json");
+		UrlStateStore store = store(file);
+		store.merge(TimeUnit.HOURS.toMillis(1), Collections.singletonList(CheckResult.ok(1, "http://b.com", "b.com", 200, 5)));
+		store.save();
+
+		UrlStateStore reloaded = new UrlStateStore(file, new ObjectMapper());
+		assertTrue(reloaded.get("http://b.com").isSuccess());
+		assertEquals(TimeUnit.HOURS.toMillis(1), reloaded.get("http://b.com").getCheckedAt());
+		assertEquals(Collections.singletonList("http://new.com"), reloaded.plan(URLS, true, null, TimeUnit.HOURS.toMillis(1)));
+	}
+
+	@Test
+	public void testOpen_UnreadableFileStartsEmpty() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("url-state.json");
+		Files.write(file, "{\"http://a.com\": {".getBytes(StandardCharsets.UTF_8));
+
+		UrlStateStore store = new UrlStateStore(file, new ObjectMapper());
+		assertNull(store.get("http://a.com"));
+		assertEquals(URLS, store.plan(URLS, true, null, 0));
+
+		// 下次存檔覆寫損毀的檔案
+		store.merge(1, Collections.singletonList(CheckResult.ok(0, "http://a.com", "a.com", 200, 5)));
+		store.save();
+		assertTrue(new UrlStateStore(file, new ObjectMapper()).get("http://a.com").isSuccess());
+	}
+}
@@ -0,0 +1,101 @@
+package tool.whiteLabel;
+
+import constant.EnvEnumType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * ApiDomainSqlGenerator 測試
+ * 驗證資料列內容、UAT 內建 domain 處理及多列 INSERT 分段
+ */
+public class ApiDomainSqlGeneratorTest {
+
+	private GroupInfo groupInfo(List<String> privateIp, List<String> backup) {
+		GroupInfo groupInfo = new GroupInfo();
+		groupInfo.setPrivateIp(privateIp);
+		groupInfo.setBackup(backup);
+		return groupInfo;
+	}
+
+	private int count(String text, String token) {
+		int count = 0;
+		for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+			count++;
+		}
+		return count;
+	}
+
+	@Test
+	public void testSingleChunk_RowsAndSeparators() {
+		Map<String, String> result = new ApiDomainSqlGenerator("A48", EnvEnumType.DEV, null)
+			.generate(groupInfo(Arrays.asList("a.xyz"), Arrays.asList("c.live", "d.live", "e.live")));
+
+		assertEquals("\n\t(apidomainname_id_seq_nextval(), 'A48', 'a.xyz', 1, 1, 'SYSTEM', 0, NOW(6), NOW(6)),"
+				+ "\n\t(apidomainname_id_seq_nextval(), 'A48', 'c.live', 1, 1, 'SYSTEM', 1, sysdate(6), sysdate(6)),"
+				+ "\n\t(apidomainname_id_seq_nextval(), 'A48', 'd.live', 1, 2, 'SYSTEM', 1, sysdate(6), sysdate(6)),"
+				+ "\n\t(apidomainname_id_seq_nextval(), 'A48', 'e.live', 0, 3, 'SYSTEM', 1, sysdate(6), sysdate(6));",
+			result.get("{$apiDomainValues}"));
+		assertEquals("\n\t('c.live', 1, 'devnginx', 'dev9wapi', sysdate(6), sysdate(6)),"
+				+ "\n\t('d.live', 1, 'devnginx', 'dev9wapi', sysdate(6), sysdate(6)),"
+				+ "\n\t('e.live', 1, 'devnginx', 'dev9wapi', sysdate(6), sysdate(6));",
+			result.get("{$corsDomainValues}"));
+		assertEquals("\n\t\t\"a.xyz\": 1,\n\t\t\"c.live\": 1,\n\t\t\"d.live\": 1,\n\t\t\"e.live\": 1",
+			result.get("{$enableFrontendBackendSeparationByDomainValues}"));
+		assertEquals("\n\t\t\"c.live\": 1,\n\t\t\"d.live\": 1,\n\t\t\"e.live\": 1",
+			result.get("{$enableDesktopFrontendBackendSeparationByDomainValues}"));
+	}
+
+	@Test
+	public void testUat_BuiltInDomains() {
+		Map<String, String> result = new ApiDomainSqlGenerator("A48", EnvEnumType.UAT, null)
+			.generate(groupInfo(Arrays.asList("a.xyz"), Arrays.asList("c.live")));
+
+		String values = result.get("{$apiDomainValues}");
+		assertTrue(values.contains("'a.xyz', 0, 1, 'SYSTEM', 0"));
+		assertTrue(values.contains("'cckk77.net', 1, 2, 'SYSTEM', 0"));
+		assertTrue(values.contains("'cckk77.live', 1, 3, 'SYSTEM', 0"));
+		assertTrue(values.contains("'c.live', 0, 1, 'SYSTEM', 1"));
+		assertTrue(values.endsWith("'ppkk77.net', 1, 4, 'SYSTEM', 1, sysdate(6), sysdate(6));"));
+		assertFalse(result.get("{$enableFrontendBackendSeparationByDomainValues}").contains("cckk77"));
+	}
+
+	@Test
+	public void testChunking_SplitsIntoMultipleInserts() {
+		List<String> backup = new ArrayList<>();
+		for (int i = 0; i < 2500; i++) {
+			backup.add("bk" + i + ".live");
+		}
+		Map<String, String> result = new ApiDomainSqlGenerator("A48", EnvEnumType.SIM, 1000)
+			.generate(groupInfo(Arrays.asList("a.xyz", "b.xyz"), backup));
+
+		// 2 private + 2500 backup = 2502 列 -> 3 段，模板提供第一段開頭
+		String values = result.get("{$apiDomainValues}");
+		assertEquals(2502, count(values, "apidomainname_id_seq_nextval()"));
+		assertEquals(2, count(values, ApiDomainSqlGenerator.API_DOMAIN_INSERT));
+		assertEquals(3, count(values, ";"));
+		assertTrue(values.contains("sysdate(6));\n\n" + ApiDomainSqlGenerator.API_DOMAIN_INSERT + "\n\t("));
+		assertFalse(values.contains(",;"));
+
+		String cors = result.get("{$corsDomainValues}");
+		assertEquals(2500, count(cors, "('bk"));
+		assertEquals(2, count(cors, ApiDomainSqlGenerator.CORS_DOMAIN_INSERT));
+		assertTrue(cors.endsWith("sysdate(6));"));
+	}
+
+	@Test
+	public void testChunking_ExactMultipleHasNoEmptyInsert() {
+		Map<String, String> result = new ApiDomainSqlGenerator("A48", EnvEnumType.DEV, 2)
+			.generate(groupInfo(Arrays.asList("a.xyz"), Arrays.asList("c.live", "d.live", "e.live")));
+
+		String values = result.get("{$apiDomainValues}");
+		assertEquals(1, count(values, ApiDomainSqlGenerator.API_DOMAIN_INSERT));
+		assertTrue(values.endsWith("sysdate(6));"));
+		assertEquals(1, count(result.get("{$corsDomainValues}"), ApiDomainSqlGenerator.CORS_DOMAIN_INSERT));
+	}
+}
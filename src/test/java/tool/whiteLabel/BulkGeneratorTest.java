@@ -0,0 +1,133 @@
+package tool.whiteLabel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.junit.Assert.*;
+
+/**
+ * BulkGenerator 測試
+ * 驗證 CSV 欄位展開、設定合併，以及單列失敗不影響其他列
+ */
+public class BulkGeneratorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private ObjectNode layout(Path template, Path outDir) {
+		ObjectNode layout = objectMapper.createObjectNode();
+		layout.put("ticketNo", "T-1");
+		layout.put("jiraSummary", "bulk");
+		layout.put("host", "default.com");
+		ObjectNode file = layout.putArray("files").addObject();
+		file.put("name", "{$className}.txt");
+		file.put("isNew", true);
+		file.put("location", outDir.toString());
+		file.put("template", template.toString());
+		return layout;
+	}
+
+	@Test
+	public void testExpandCsvRow_NestedPathsAndJsonValues() throws IOException {
+		ObjectNode csvRow = objectMapper.createObjectNode();
+		csvRow.put("webSiteName", "ABC_SITE");
+		csvRow.put("apiWalletInfo.group", "A48");
+		csvRow.put("apiWalletInfo.groupInfo.backup", "[\"a.live\", \"b.live\"]");
+		csvRow.put("host", "");
+
+		ObjectNode row = BulkGenerator.expandCsvRow(csvRow, objectMapper);
+
+		assertEquals("ABC_SITE", row.get("webSiteName").asText());
+		assertEquals("A48", row.at("/apiWalletInfo/group").asText());
+		assertEquals(2, row.at("/apiWalletInfo/groupInfo/backup").size());
+		assertFalse("空白欄位沿用設定檔的值", row.has("host"));
+	}
+
+	@Test
+	public void testMerge_RowOverridesNestedFields() throws IOException {
+		ObjectNode base = (ObjectNode) objectMapper.readTree("{\"a\": 1, \"nested\": {\"x\": 1, \"y\": 2}}");
+		BulkGenerator.merge(base, objectMapper.readTree("{\"nested\": {\"y\": 3}, \"b\": 4}"));
+
+		assertEquals(objectMapper.readTree("{\"a\": 1, \"nested\": {\"x\": 1, \"y\": 3}, \"b\": 4}"), base);
+	}
+
+	@Test
+	public void testRun_FailedRowIsIsolated() throws Exception {
+		Path template = folder.newFile("template.txt").toPath();
+		Files.write(template, Arrays.asList("{$webSiteName}={$webSiteValue}@{$url}"), StandardCharsets.UTF_8);
+		Path outDir = folder.newFolder("out").toPath();
+		Path rows = folder.getRoot().toPath().resolve("rows.csv");
+		Files.write(rows, Arrays.asList(
+			"webSiteName,webSiteValue,host",
+			"ABC_SITE,101,abc.com",
+			"BAD_SITE,0,bad.com",
+			"XYZ_SITE,103,"), StandardCharsets.UTF_8);
+
+		BulkGenerator.Summary summary = new BulkGenerator(objectMapper, layout(template, outDir), GenerationCache.disabled(), 2)
+			.run(rows);
+
+		assertEquals(3, summary.getTotal());
+		assertEquals(2, summary.getSucceeded());
+		assertEquals(1, summary.getFailed());
+		assertEquals(Arrays.asList("ABCSITE=101@abc.com"), Files.readAllLines(outDir.resolve("AbcSite.txt")));
+		assertEquals(Arrays.asList("XYZSITE=103@default.com"), Files.readAllLines(outDir.resolve("XyzSite.txt")));
+		assertFalse(Files.exists(outDir.resolve("BadSite.txt")));
+	}
+
+	@Test
+	public void testRun_WriteFailureCountedInSummary() throws Exception {
+		Path template = folder.newFile("template.txt").toPath();
+		Files.write(template, Arrays.asList("{$webSiteName}"), StandardCharsets.UTF_8);
+		Path outDir = folder.newFolder("out").toPath();
+		// 輸出路徑已是目錄，寫檔失敗
+		Files.createDirectories(outDir.resolve("AbcSite.txt"));
+		Path rows = folder.getRoot().toPath().resolve("rows.csv");
+		Files.write(rows, Arrays.asList(
+			"webSiteName,webSiteValue,host",
+			"ABC_SITE,101,abc.com",
+			"XYZ_SITE,103,xyz.com"), StandardCharsets.UTF_8);
+
+		BulkGenerator.Summary summary = new BulkGenerator(objectMapper, layout(template, outDir), GenerationCache.disabled(), 2)
+			.run(rows);
+
+		assertEquals(0, summary.getFailed());
+		assertEquals(1, summary.getFailedFiles());
+		assertTrue(summary.hasFailures());
+		assertEquals(Arrays.asList("XYZSITE"), Files.readAllLines(outDir.resolve("XyzSite.txt")));
+	}
+
+	@Test
+	public void testRun_MissingInsertTargetFailsRow() throws Exception {
+		Path template = folder.newFile("template.txt").toPath();
+		Files.write(template, Arrays.asList("{$webSiteName}"), StandardCharsets.UTF_8);
+		Path outDir = folder.newFolder("out").toPath();
+		ObjectNode layout = layout(template, outDir);
+		ObjectNode insert = layout.withArray("files").addObject();
+		insert.put("name", "Registry.java");
+		insert.put("isNew", false);
+		insert.put("location", outDir.resolve("missing/Registry.java").toString());
+		insert.put("template", template.toString());
+		Path rows = folder.getRoot().toPath().resolve("rows.csv");
+		Files.write(rows, Arrays.asList(
+			"webSiteName,webSiteValue,host",
+			"ABC_SITE,101,abc.com"), StandardCharsets.UTF_8);
+
+		BulkGenerator.Summary summary = new BulkGenerator(objectMapper, layout, GenerationCache.disabled(), 2).run(rows);
+
+		assertEquals(0, summary.getSucceeded());
+		assertEquals(1, summary.getFailed());
+		assertTrue(summary.hasFailures());
+	}
+}
@@ -0,0 +1,189 @@
+package tool.whiteLabel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FileEditPlanner 測試
+ * 驗證多筆插入與 import 合併後的結果與逐筆套用一致
+ */
+public class FileEditPlannerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path write(String name, String... lines) throws IOException {
+		Path path = folder.getRoot().toPath().resolve(name);
+		Files.write(path, Arrays.asList(lines), StandardCharsets.UTF_8);
+		return path;
+	}
+
+	private FileEditPlanner newPlanner() {
+		return new FileEditPlanner(folder.getRoot().toPath().resolve("index"));
+	}
+
+	private List<String> read(Path path) throws IOException {
+		return Files.readAllLines(path, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testMarkerInsert_BeforeAndAfterOrdering() throws IOException {
+		Path target = write("SiteEnum.java",
+			"public enum SiteEnum {",
+			"\tA(1),",
+			"\t// insert New White Label",
+			"\t;",
+			"}");
+
+		FileEditPlanner planner = newPlanner();
+		planner.addMarkerInsert(target, "// insert New White Label", "B(2),", false);
+		planner.addMarkerInsert(target, "// insert New White Label", "C(3),", false);
+		planner.addMarkerInsert(target, "// insert New White Label", "X(9),", true);
+		planner.addMarkerInsert(target, "// insert New White Label", "Y(8),", true);
+		planner.applyAll();
+
+		assertEquals(Arrays.asList(
+			"public enum SiteEnum {",
+			"\tA(1),",
+			"\tB(2),",
+			"\tC(3),",
+			"\t// insert New White Label",
+			"\tY(8),",
+			"\tX(9),",
+			"\t;",
+			"}"), read(target));
+	}
+
+	@Test
+	public void testImports_MergedIntoSortedBlock() throws IOException {
+		Path target = write("Constants.java",
+			"package demo;",
+			"",
+			"import java.util.List;",
+			"import org.apache.commons.lang3.StringUtils;",
+			"import com.foo.Bar;",
+			"",
+			"public class Constants {",
+			"\t// insert New White Label",
+			"}");
+
+		FileEditPlanner planner = newPlanner();
+		planner.addImport(target, "com.foo.Alpha");
+		planner.addImport(target, "java.util.Map;");
+		planner.addImport(target, "import java.util.List;");
+		planner.addImport(target, "zzz.Last");
+		planner.addMarkerInsert(target, "// insert New White Label", "int X = 1;", false);
+		planner.applyAll();
+
+		assertEquals(Arrays.asList(
+			"package demo;",
+			"",
+			"import java.util.List;",
+			"import java.util.Map;",
+			"import org.apache.commons.lang3.StringUtils;",
+			"import com.foo.Alpha;",
+			"import com.foo.Bar;",
+			"import zzz.Last;",
+			"",
+			"public class Constants {",
+			"\tint X = 1;",
+			"\t// insert New White Label",
+			"}"), read(target));
+	}
+
+	@Test
+	public void testImports_NoExistingBlock() throws IOException {
+		Path target = write("Empty.java",
+			"package demo;",
+			"",
+			"public class Empty {",
+			"}");
+
+		FileEditPlanner planner = newPlanner();
+		planner.addImport(target, "java.util.List");
+		planner.addImport(target, "com.foo.Bar");
+		planner.applyAll();
+
+		assertEquals(Arrays.asList(
+			"package demo;",
+			"",
+			"",
+			"import java.util.List;",
+			"import com.foo.Bar;",
+			"public class Empty {",
+			"}"), read(target));
+	}
+
+	@Test
+	public void testSplice_PreservesUntouchedBytesAndLineSeparator() throws IOException {
+		Path target = folder.getRoot().toPath().resolve("config.js");
+		String original = "const SITES = {\r\n    A: 1, // 中文註解\r\n    // insert New White Label\r\n};";
+		Files.write(target, original.getBytes(StandardCharsets.UTF_8));
+
+		FileEditPlanner planner = newPlanner();
+		planner.addMarkerInsert(target, "// insert New White Label", "B: 2,", false);
+		planner.addMarkerInsert(target, "};", "// end", true);
+		planner.applyAll();
+
+		String expected = "const SITES = {\r\n    A: 1, // 中文註解\r\n    B: 2,\r\n    // insert New White Label\r\n};\r\n// end\r\n";
+		assertEquals(expected, new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testIndex_ReusedAcrossRunsAndInvalidatedOnExternalChange() throws IOException {
+		Path target = write("Constants.java",
+			"package demo;",
+			"",
+			"import java.util.List;",
+			"",
+			"public class Constants {",
+			"\t// insert New White Label",
+			"}");
+
+		FileEditPlanner first = newPlanner();
+		first.addMarkerInsert(target, "// insert New White Label", "int A = 1;", false);
+		first.applyAll();
+		assertEquals(1, folder.getRoot().toPath().resolve("index").toFile().list().length);
+
+		// 第二次執行走索引：offset 需已依第一次的插入平移
+		FileEditPlanner second = newPlanner();
+		second.addImport(target, "java.util.Map");
+		second.addMarkerInsert(target, "// insert New White Label", "int B = 2;", false);
+		second.applyAll();
+
+		assertEquals(Arrays.asList(
+			"package demo;",
+			"",
+			"import java.util.List;",
+			"import java.util.Map;",
+			"",
+			"public class Constants {",
+			"\tint A = 1;",
+			"\tint B = 2;",
+			"\t// insert New White Label",
+			"}"), read(target));
+
+		// 外部修改後索引失效，需重新掃描
+		List<String> edited = read(target);
+		edited.add(5, "\t// external comment");
+		Files.write(target, edited, StandardCharsets.UTF_8);
+
+		FileEditPlanner third = newPlanner();
+		third.addMarkerInsert(target, "// insert New White Label", "int C = 3;", true);
+		third.applyAll();
+
+		List<String> result = read(target);
+		assertEquals("\t// insert New White Label", result.get(result.size() - 3));
+		assertEquals("\tint C = 3;", result.get(result.size() - 2));
+	}
+}
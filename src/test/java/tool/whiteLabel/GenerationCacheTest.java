@@ -0,0 +1,172 @@
+package tool.whiteLabel;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * GenerationCache 測試
+ * 驗證 key 只隨模板、用到的 placeholder、FileConfig 與輸出路徑改變，isFresh 對輸出檔修改的判斷，以及 LRU 淘汰
+ */
+public class GenerationCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path cacheDir;
+	private Path template;
+	private Path output;
+	private FileConfig fc;
+	private Map<String, String> replacements;
+
+	@Before
+	public void setUp() throws IOException {
+		cacheDir = folder.getRoot().toPath().resolve("cache");
+		template = folder.getRoot().toPath().resolve("template.txt");
+		write(template, "{$webSiteName}={$webSiteValue}");
+		output = folder.getRoot().toPath().resolve("out.txt");
+		fc = new FileConfig();
+		fc.setName("{$className}.txt");
+		fc.setLocation("out");
+		fc.setTemplate(template.toString());
+		replacements = new HashMap<>();
+		replacements.put("{$webSiteName}", "ABC");
+		replacements.put("{$webSiteValue}", "101");
+		replacements.put("{$host}", "abc.com");
+	}
+
+	private static void write(Path path, String content) throws IOException {
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String key(GenerationCache cache) throws IOException {
+		return cache.key(fc, template.toString(), replacements, output, null);
+	}
+
+	/**
+	 * 模擬 pipeline 寫檔後的回呼
+	 */
+	private void recordOutput(GenerationCache cache, String key, Path path, String content) throws IOException {
+		write(path, content);
+		cache.record(key, path, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testKey_ChangesWithTemplate() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String before = key(cache);
+		write(template, "{$webSiteName}:{$webSiteValue}");
+		assertNotEquals(before, key(cache));
+	}
+
+	@Test
+	public void testKey_ChangesWithUsedPlaceholder() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String before = key(cache);
+		replacements.put("{$webSiteValue}", "102");
+		assertNotEquals(before, key(cache));
+	}
+
+	@Test
+	public void testKey_IgnoresUnusedPlaceholder() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String before = key(cache);
+		replacements.put("{$host}", "xyz.com");
+		replacements.put("{$apiGroup}", "A48");
+		assertEquals(before, key(cache));
+	}
+
+	@Test
+	public void testKey_ChangesWithFileConfigAndOutputPath() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String before = key(cache);
+		fc.setLocation("other");
+		String relocated = key(cache);
+		assertNotEquals(before, relocated);
+
+		assertNotEquals(relocated, cache.key(fc, template.toString(), replacements, output.resolveSibling("other.txt"), null));
+		assertNotEquals(relocated, cache.key(fc, template.toString(), replacements, output, "DEV"));
+	}
+
+	@Test
+	public void testIsFresh_RejectsEditedFile() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String key = key(cache);
+		assertFalse(cache.isFresh(key, output));
+		recordOutput(cache, key, output, "ABC=101");
+		assertTrue(cache.isFresh(key, output));
+
+		// 大小相同但內容不同
+		write(output, "ABC=999");
+		Files.setLastModifiedTime(output, FileTime.fromMillis(Files.getLastModifiedTime(output).toMillis() + 5000));
+		assertFalse(cache.isFresh(key, output));
+
+		Files.delete(output);
+		assertFalse(cache.isFresh(key, output));
+	}
+
+	@Test
+	public void testIsFresh_AcceptsTouchedFileWithSameContent() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		String key = key(cache);
+		recordOutput(cache, key, output, "ABC=101");
+
+		Files.setLastModifiedTime(output, FileTime.fromMillis(Files.getLastModifiedTime(output).toMillis() + 5000));
+		assertTrue(cache.isFresh(key, output));
+	}
+
+	@Test
+	public void testRecord_EvictsLeastRecentlyUsed() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 2);
+		Path a = folder.getRoot().toPath().resolve("a.txt");
+		Path b = folder.getRoot().toPath().resolve("b.txt");
+		Path c = folder.getRoot().toPath().resolve("c.txt");
+		recordOutput(cache, "a", a, "a");
+		recordOutput(cache, "b", b, "b");
+		// 使用 a 後，最久未使用的是 b
+		assertTrue(cache.isFresh("a", a));
+		recordOutput(cache, "c", c, "c");
+
+		assertTrue(cache.isFresh("a", a));
+		assertFalse(cache.isFresh("b", b));
+		assertTrue(cache.isFresh("c", c));
+	}
+
+	@Test
+	public void testOpen_EvictsToSmallerLimit() throws IOException {
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		Path a = folder.getRoot().toPath().resolve("a.txt");
+		Path b = folder.getRoot().toPath().resolve("b.txt");
+		Path c = folder.getRoot().toPath().resolve("c.txt");
+		recordOutput(cache, "a", a, "a");
+		recordOutput(cache, "b", b, "b");
+		recordOutput(cache, "c", c, "c");
+		cache.save();
+
+		GenerationCache reopened = GenerationCache.open(cacheDir, 2);
+		assertFalse(reopened.isFresh("a", a));
+		assertTrue(reopened.isFresh("b", b));
+		assertTrue(reopened.isFresh("c", c));
+	}
+
+	@Test
+	public void testOpen_UnreadableIndexStartsEmpty() throws IOException {
+		Files.createDirectories(cacheDir);
+		write(cacheDir.resolve("cache-index.json"), "{not json");
+
+		GenerationCache cache = GenerationCache.open(cacheDir, 10);
+		assertTrue(cache.isEnabled());
+		assertFalse(cache.isFresh("a", output));
+	}
+}
@@ -0,0 +1,171 @@
+package tool.whiteLabel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * GenerationPipeline 測試
+ * 驗證所有提交的檔案都會寫出、容量 1 的佇列不會死結、render / 寫檔 / 回呼失敗只計入失敗數而不影響其他檔案，以及 close 被中斷時 writer thread 仍會結束
+ */
+public class GenerationPipelineTest {
+
+	private static final long TIMEOUT_MS = 10_000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), Charset.defaultCharset());
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testSubmit_WritesEveryFile() throws IOException {
+		Path dir = folder.getRoot().toPath().resolve("out");
+		GenerationPipeline pipeline = new GenerationPipeline(4, 8);
+		try {
+			for (int i = 0; i < 50; i++) {
+				String content = "file " + i;
+				pipeline.submit(dir.resolve("f" + i + ".txt"), null, () -> content);
+			}
+		} finally {
+			pipeline.close();
+		}
+
+		assertEquals(50, pipeline.getWrittenCount());
+		assertEquals(0, pipeline.getFailedCount());
+		for (int i = 0; i < 50; i++) {
+			assertEquals("file " + i, read(dir.resolve("f" + i + ".txt")));
+		}
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testCapacityOne_BackpressureDoesNotDeadlock() {
+		Path dir = folder.getRoot().toPath();
+		AtomicInteger callbacks = new AtomicInteger();
+		GenerationPipeline pipeline = new GenerationPipeline(8, 1);
+		try {
+			for (int i = 0; i < 200; i++) {
+				pipeline.submit(dir.resolve("f" + i + ".txt"), "DEV", () -> "x", (path, content) -> callbacks.incrementAndGet());
+			}
+		} finally {
+			pipeline.close();
+		}
+
+		assertEquals(200, pipeline.getWrittenCount());
+		assertEquals(200, callbacks.get());
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testFailingRenderer_CountedAndOthersWritten() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		GenerationPipeline pipeline = new GenerationPipeline(2, 1);
+		try {
+			pipeline.submit(dir.resolve("a.txt"), null, () -> "a");
+			pipeline.submit(dir.resolve("bad.txt"), null, () -> {
+				throw new IllegalStateException("template missing");
+			});
+			pipeline.submit(dir.resolve("b.txt"), null, () -> "b");
+		} finally {
+			pipeline.close();
+		}
+
+		assertEquals(2, pipeline.getWrittenCount());
+		assertEquals(1, pipeline.getFailedCount());
+		assertFalse(Files.exists(dir.resolve("bad.txt")));
+		assertEquals("b", read(dir.resolve("b.txt")));
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testFailingWrite_CountedAndWriterKeepsDraining() throws IOException {
+		Path dir = folder.getRoot().toPath();
+		// 父目錄是一般檔案，寫檔時拋出 IOException
+		Path blocker = Files.write(dir.resolve("blocker"), new byte[0]);
+		GenerationPipeline pipeline = new GenerationPipeline(1, 1);
+		try {
+			pipeline.submit(blocker.resolve("a.txt"), null, () -> "a");
+			for (int i = 0; i < 20; i++) {
+				pipeline.submit(dir.resolve("f" + i + ".txt"), null, () -> "x");
+			}
+		} finally {
+			pipeline.close();
+		}
+
+		assertEquals(1, pipeline.getFailedCount());
+		assertEquals(20, pipeline.getWrittenCount());
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testFailingCallback_CountedAndWriterKeepsDraining() {
+		Path dir = folder.getRoot().toPath();
+		GenerationPipeline pipeline = new GenerationPipeline(1, 1);
+		try {
+			pipeline.submit(dir.resolve("a.txt"), null, () -> "a", (path, content) -> {
+				throw new IllegalStateException("cache index broken");
+			});
+			for (int i = 0; i < 20; i++) {
+				pipeline.submit(dir.resolve("f" + i + ".txt"), null, () -> "x");
+			}
+		} finally {
+			pipeline.close();
+		}
+
+		assertEquals(1, pipeline.getFailedCount());
+		assertEquals(20, pipeline.getWrittenCount());
+	}
+
+	private static boolean writerAlive() {
+		for (Thread t : Thread.getAllStackTraces().keySet()) {
+			if ("wl-writer".equals(t.getName()) && t.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test(timeout = TIMEOUT_MS)
+	public void testClose_InterruptedStillStopsWriter() throws Exception {
+		Path dir = folder.getRoot().toPath();
+		CountDownLatch rendering = new CountDownLatch(1);
+		GenerationPipeline pipeline = new GenerationPipeline(1, 1);
+		pipeline.submit(dir.resolve("a.txt"), null, () -> "a");
+		pipeline.submit(dir.resolve("slow.txt"), null, () -> {
+			rendering.countDown();
+			try {
+				// 只有 close 的 shutdownNow 會中斷這個 renderer
+				new CountDownLatch(1).await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted");
+			}
+			return "slow";
+		});
+		rendering.await();
+
+		AtomicBoolean interruptedAfterClose = new AtomicBoolean();
+		Thread closer = new Thread(() -> {
+			pipeline.close();
+			interruptedAfterClose.set(Thread.currentThread().isInterrupted());
+		}, "closer");
+		closer.start();
+		closer.interrupt();
+		closer.join();
+
+		assertTrue(interruptedAfterClose.get());
+		while (writerAlive()) {
+			Thread.sleep(10);
+		}
+		assertEquals("a", read(dir.resolve("a.txt")));
+		assertFalse(Files.exists(dir.resolve("slow.txt")));
+	}
+}
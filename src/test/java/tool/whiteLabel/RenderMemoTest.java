@@ -0,0 +1,65 @@
+package tool.whiteLabel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * RenderMemo 測試
+ * 驗證相同模板 + context 版本 + 變體只 render 一次，任一項改變即重新 render
+ */
+public class RenderMemoTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ReplacementContext context() {
+		WhiteLabelConfig config = new WhiteLabelConfig();
+		config.setWebSiteName("ABC_SITE");
+		return new ReplacementContext(config);
+	}
+
+	@Test
+	public void testRender_SameKeyIsShared() throws IOException {
+		Path template = folder.newFile("enum.txt").toPath();
+		Files.write(template, Arrays.asList("\t{$name}(1),"), StandardCharsets.UTF_8);
+		Map<String, String> replacements = Collections.singletonMap("{$name}", "ABC");
+		ReplacementContext context = context();
+
+		RenderMemo memo = new RenderMemo();
+		String backend = memo.render(template.toString(), context, null, replacements);
+		String frontend = memo.render(template.toString(), context, null, replacements);
+
+		assertEquals("\tABC(1),\n", backend);
+		assertSame(backend, frontend);
+		assertEquals(1, memo.getHits());
+	}
+
+	@Test
+	public void testRender_VersionVariantOrTemplateChangeRendersAgain() throws IOException {
+		Path template = folder.newFile("enum.txt").toPath();
+		Files.write(template, Arrays.asList("{$name}"), StandardCharsets.UTF_8);
+		ReplacementContext context = context();
+
+		RenderMemo memo = new RenderMemo();
+		assertEquals("A\n", memo.render(template.toString(), context, null, Collections.singletonMap("{$name}", "A")));
+		assertEquals("B\n", memo.render(template.toString(), context(), null, Collections.singletonMap("{$name}", "B")));
+		assertEquals("C\n", memo.render(template.toString(), context, "UAT", Collections.singletonMap("{$name}", "C")));
+
+		Files.write(template, Arrays.asList("{$name}!"), StandardCharsets.UTF_8);
+		Files.setLastModifiedTime(template, FileTime.fromMillis(Files.getLastModifiedTime(template).toMillis() + 2000));
+		assertEquals("A!\n", memo.render(template.toString(), context, null, Collections.singletonMap("{$name}", "A")));
+		assertEquals(0, memo.getHits());
+	}
+}
@@ -0,0 +1,168 @@
+package tool.whiteLabel;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.junit.Assert.*;
+
+/**
+ * WhiteLabelWatcher 測試
+ * 直接呼叫 handle / awaitChanges 驗證：只重新產生模板有變動的 FileConfig、設定檔重新載入與驗證失敗時沿用舊設定，以及 debounce 合併連續事件
+ */
+public class WhiteLabelWatcherTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private Path configPath;
+	private Path templateA;
+	private Path templateB;
+	private Path outDir;
+
+	@Before
+	public void setUp() throws IOException {
+		Path root = folder.getRoot().toPath().toAbsolutePath().normalize();
+		configPath = root.resolve("config.json");
+		templateA = root.resolve("a.txt");
+		templateB = root.resolve("b.txt");
+		outDir = root.resolve("out");
+		write(templateA, "A:{$webSiteName}={$webSiteValue}");
+		write(templateB, "B:{$webSiteName}={$webSiteValue}");
+		writeConfig("101");
+	}
+
+	private static void write(Path path, String content) throws IOException {
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+	}
+
+	private void writeConfig(String webSiteValue) throws IOException {
+		ObjectNode config = objectMapper.createObjectNode();
+		config.put("ticketNo", "T-1");
+		config.put("jiraSummary", "watch");
+		config.put("host", "abc.com");
+		config.put("webSiteName", "ABC_SITE");
+		config.put("webSiteValue", webSiteValue);
+		addFile(config, "{$className}A.txt", templateA);
+		addFile(config, "{$className}B.txt", templateB);
+		objectMapper.writeValue(configPath.toFile(), config);
+	}
+
+	private void addFile(ObjectNode config, String name, Path template) {
+		ObjectNode file = config.withArray("files").addObject();
+		file.put("name", name);
+		file.put("isNew", true);
+		file.put("location", outDir.toString());
+		file.put("template", template.toString());
+	}
+
+	private WhiteLabelWatcher watcher() throws IOException {
+		WhiteLabelConfig config = objectMapper.readValue(configPath.toFile(), WhiteLabelConfig.class);
+		return new WhiteLabelWatcher(configPath, new ReplacementContext(config), GenerationCache.disabled(), objectMapper);
+	}
+
+	private static Set<String> templates(Set<FileConfig> configs) {
+		Set<String> templates = new HashSet<>();
+		for (FileConfig fc : configs) {
+			templates.add(fc.getTemplate());
+		}
+		return templates;
+	}
+
+	@Test
+	public void testHandle_TemplateChangeRegeneratesOnlyItsOwners() throws Exception {
+		WhiteLabelWatcher watcher = watcher();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			watcher.start(watchService);
+			write(templateA, "A2:{$webSiteName}={$webSiteValue}");
+
+			Set<FileConfig> regenerated = watcher.handle(watchService, Collections.singleton(templateA));
+
+			assertEquals(Collections.singleton(templateA.toString()), templates(regenerated));
+			assertEquals("A2:ABCSITE=101", read(outDir.resolve("AbcSiteA.txt")));
+			assertFalse(Files.exists(outDir.resolve("AbcSiteB.txt")));
+		}
+	}
+
+	@Test
+	public void testHandle_UnrelatedChangeRegeneratesNothing() throws Exception {
+		WhiteLabelWatcher watcher = watcher();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			watcher.start(watchService);
+			Set<FileConfig> regenerated = watcher.handle(watchService, Collections.singleton(folder.getRoot().toPath().resolve("notes.txt")));
+
+			assertTrue(regenerated.isEmpty());
+			assertFalse(Files.exists(outDir));
+		}
+	}
+
+	@Test
+	public void testHandle_ConfigReloadRegeneratesAllWithNewValues() throws Exception {
+		WhiteLabelWatcher watcher = watcher();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			watcher.start(watchService);
+			writeConfig("202");
+
+			Set<FileConfig> regenerated = watcher.handle(watchService, Collections.singleton(configPath));
+
+			assertEquals(new HashSet<>(Arrays.asList(templateA.toString(), templateB.toString())), templates(regenerated));
+			assertEquals("A:ABCSITE=202", read(outDir.resolve("AbcSiteA.txt")));
+			assertEquals("B:ABCSITE=202", read(outDir.resolve("AbcSiteB.txt")));
+		}
+	}
+
+	@Test
+	public void testHandle_InvalidConfigKeepsPreviousConfig() throws Exception {
+		WhiteLabelWatcher watcher = watcher();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			watcher.start(watchService);
+			writeConfig("0");
+			assertTrue(watcher.handle(watchService, Collections.singleton(configPath)).isEmpty());
+
+			write(configPath, "{broken");
+			assertTrue(watcher.handle(watchService, Collections.singleton(configPath)).isEmpty());
+
+			// 之後的模板變動仍以原本的設定產生
+			watcher.handle(watchService, Collections.singleton(templateA));
+			assertEquals("A:ABCSITE=101", read(outDir.resolve("AbcSiteA.txt")));
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void testAwaitChanges_DebouncesBurstIntoOneBatch() throws Exception {
+		WhiteLabelWatcher watcher = watcher();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			watcher.start(watchService);
+			write(templateA, "A2");
+			Thread.sleep(50);
+			write(templateB, "B2");
+			Thread.sleep(50);
+			write(templateA, "A3");
+
+			Set<Path> changed = watcher.awaitChanges(watchService);
+
+			assertEquals(new HashSet<>(Arrays.asList(templateA, templateB)), changed);
+		}
+	}
+}
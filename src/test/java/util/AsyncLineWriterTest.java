@@ -0,0 +1,188 @@
+package util;
+
+import org.junit.Test;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * AsyncLineWriter 測試
+ * 驗證多 thread 輸出不交錯、flush 等到寫出、批次 flush、close 後改為同步寫入與寫入錯誤的回報
+ */
+public class AsyncLineWriterTest {
+
+	private static final String NL = System.lineSeparator();
+
+	@Test
+	public void testPrintln_ConcurrentLinesStayIntact() throws Exception {
+		StringWriter target = new StringWriter();
+		int threads = 8;
+		int perThread = 500;
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-writer", 64)) {
+			AsyncLineWriter.Channel channel = writer.channel(target);
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			CountDownLatch start = new CountDownLatch(1);
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				executor.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < perThread; i++) {
+						channel.println("thread-" + thread + " line-" + i);
+					}
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+
+		String[] lines = target.toString().split(NL);
+		assertEquals(threads * perThread, lines.length);
+		// 每個 thread 的輸出依呼叫順序出現
+		int[] next = new int[threads];
+		for (String line : lines) {
+			assertTrue(line, line.matches("thread-\\d+ line-\\d+"));
+			int thread = Integer.parseInt(line.substring("thread-".length(), line.indexOf(' ')));
+			assertEquals("thread-" + thread + " line-" + next[thread], line);
+			next[thread]++;
+		}
+	}
+
+	@Test
+	public void testFlush_WaitsUntilWritten() throws IOException {
+		StringWriter target = new StringWriter();
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-writer")) {
+			AsyncLineWriter.Channel channel = writer.channel(target);
+			channel.println("first");
+			channel.print("second");
+			channel.print(" part");
+			writer.flush();
+			assertEquals("first" + NL + "second part", target.toString());
+		}
+	}
+
+	@Test
+	public void testChannels_ShareQueueAndFlushOncePerBatch() throws Exception {
+		CountDownLatch gate = new CountDownLatch(1);
+		CountingTarget blocked = new CountingTarget(gate);
+		CountingTarget out = new CountingTarget(null);
+		CountingTarget err = new CountingTarget(null);
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-writer")) {
+			// writer thread 卡在第一行時其餘輸出都進入佇列，之後整批寫出
+			writer.channel(blocked).println("gate");
+			assertTrue(blocked.entered.await(5, TimeUnit.SECONDS));
+			AsyncLineWriter.Channel outChannel = writer.channel(out);
+			AsyncLineWriter.Channel errChannel = writer.channel(err);
+			for (int i = 0; i < 100; i++) {
+				outChannel.println("out-" + i);
+				errChannel.println("err-" + i);
+			}
+			gate.countDown();
+			writer.flush();
+		}
+		String[] outLines = out.text.toString().split(NL);
+		assertEquals(100, outLines.length);
+		assertEquals("out-99", outLines[99]);
+		assertEquals(100, err.text.toString().split(NL).length);
+		assertEquals(1, out.flushes);
+		assertEquals(1, err.flushes);
+	}
+
+	@Test
+	public void testClose_LaterOutputWrittenDirectly() throws IOException {
+		StringWriter target = new StringWriter();
+		AsyncLineWriter writer = new AsyncLineWriter("test-writer");
+		AsyncLineWriter.Channel channel = writer.channel(target);
+		channel.println("before");
+		writer.close();
+		assertEquals("before" + NL, target.toString());
+
+		channel.println("after");
+		writer.flush();
+		assertEquals("before" + NL + "after" + NL, target.toString());
+	}
+
+	@Test
+	public void testClose_ThrowsFirstWriteError() {
+		AsyncLineWriter writer = new AsyncLineWriter("test-writer");
+		AsyncLineWriter.Channel channel = writer.channel(new FailingTarget());
+		channel.println("lost");
+		try {
+			writer.close();
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertEquals("disk full", e.getMessage());
+		}
+	}
+
+	private static class CountingTarget implements Appendable, Flushable {
+		private final CountDownLatch gate;
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final StringBuilder text = new StringBuilder();
+		private volatile int flushes;
+
+		/**
+		 * @param gate 不為 null 時 append 等到 gate 開啟
+		 */
+		private CountingTarget(CountDownLatch gate) {
+			this.gate = gate;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			if (gate != null) {
+				entered.countDown();
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			text.append(csq);
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			return append(csq.subSequence(start, end));
+		}
+
+		@Override
+		public Appendable append(char c) {
+			return append(String.valueOf(c));
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+	}
+
+	private static class FailingTarget implements Appendable {
+		@Override
+		public Appendable append(CharSequence csq) throws IOException {
+			throw new IOException("disk full");
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) throws IOException {
+			throw new IOException("disk full");
+		}
+
+		@Override
+		public Appendable append(char c) throws IOException {
+			throw new IOException("disk full");
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Console 測試
+ * 以 install() 使用的 LineOutputStream 驗證：同一行分多次 print 不會與其他 thread 交錯、換行與非 ASCII 字元的處理，以及 flush 送出未換行的內容
+ */
+public class ConsoleTest {
+
+	private static final String NL = System.lineSeparator();
+
+	@Test
+	public void testLineStream_SplitPrintsStayOnOneLine() throws Exception {
+		StringWriter target = new StringWriter();
+		int threads = 8;
+		int perThread = 200;
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-console")) {
+			PrintStream out = printStream(writer, target);
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			CountDownLatch start = new CountDownLatch(1);
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				executor.execute(() -> {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < perThread; i++) {
+						// 一行拆成三次呼叫，模擬 print(...) 後再 println(...)
+						out.print("[" + thread + "] ");
+						out.print("Checking " + i + " ... ");
+						out.println("OK");
+					}
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+
+		String[] lines = target.toString().split(NL);
+		assertEquals(threads * perThread, lines.length);
+		for (String line : lines) {
+			assertTrue(line, line.matches("\\[\\d] Checking \\d+ \\.\\.\\. OK"));
+		}
+	}
+
+	@Test
+	public void testLineStream_KeepsUtf8AndNormalizesLineEnds() throws IOException {
+		StringWriter target = new StringWriter();
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-console")) {
+			PrintStream out = printStream(writer, target);
+			out.print("✅ 已建立\r\n");
+			out.print("第二行\n");
+			writer.flush();
+			assertEquals("✅ 已建立" + NL + "第二行" + NL, target.toString());
+		}
+	}
+
+	@Test
+	public void testLineStream_FlushWritesPartialLine() throws IOException {
+		StringWriter target = new StringWriter();
+		try (AsyncLineWriter writer = new AsyncLineWriter("test-console")) {
+			PrintStream out = printStream(writer, target);
+			out.print("Enter value: ");
+			writer.flush();
+			assertEquals("", target.toString());
+
+			out.flush();
+			assertEquals("Enter value: ", target.toString());
+		}
+	}
+
+	private static PrintStream printStream(AsyncLineWriter writer, StringWriter target) throws IOException {
+		return new PrintStream(new Console.LineOutputStream(writer.channel(target), writer), false, "UTF-8");
+	}
+}